@@ -0,0 +1,126 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.spatial.AABB;
+import civitas.celestis.spatial.BVH;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>BVHBenchmark</h2>
+ * <p>Compares overlap queries and ray casts over a {@link BVH} against linear scans, and measures building and refitting it.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BVHBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    private AABB[] boxes;
+    private BVH bvh;
+    private AABB[] queries;
+    private Vector3[] origins;
+    private Vector3 direction;
+    private int found;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        boxes = new AABB[size];
+
+        for (int i = 0; i < size; i++) {
+            boxes[i] = AABB.around(random(random), new Vector3(random.nextDouble(), random.nextDouble(), random.nextDouble()));
+        }
+
+        bvh = new BVH(boxes);
+        queries = new AABB[64];
+        origins = new Vector3[64];
+
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = AABB.around(random(random), new Vector3(2, 2, 2));
+            origins[i] = new Vector3(random.nextDouble() * 100, random.nextDouble() * 100, -10);
+        }
+
+        direction = new Vector3(0.1, 0.2, 1).normalize();
+    }
+
+    private static Vector3 random(Random random) {
+        return new Vector3(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+    }
+
+    @Benchmark
+    public int overlapScan() {
+        int count = 0;
+
+        for (final AABB q : queries) {
+            for (final AABB b : boxes) {
+                if (b.intersects(q)) count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int overlapBVH() {
+        found = 0;
+
+        for (final AABB q : queries) {
+            bvh.forEachIntersecting(q, id -> found++);
+        }
+
+        return found;
+    }
+
+    @Benchmark
+    public int raycastScan() {
+        int sum = 0;
+
+        for (final Vector3 o : origins) {
+            double best = Double.POSITIVE_INFINITY;
+            int hit = -1;
+
+            for (int i = 0; i < boxes.length; i++) {
+                final double t = boxes[i].intersectRay(o, direction, 1000);
+
+                if (t < best) {
+                    best = t;
+                    hit = i;
+                }
+            }
+
+            sum += hit;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int raycastBVH() {
+        int sum = 0;
+
+        for (final Vector3 o : origins) {
+            sum += bvh.raycast(o, direction, 1000);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public BVH build() {
+        return new BVH(boxes);
+    }
+
+    @Benchmark
+    public BVH refit() {
+        bvh.refit();
+        return bvh;
+    }
+}
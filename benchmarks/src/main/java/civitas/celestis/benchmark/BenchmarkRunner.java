@@ -0,0 +1,36 @@
+package civitas.celestis.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <h2>BenchmarkRunner</h2>
+ * <p>
+ * Entry point of the benchmark jar.
+ * Runs every benchmark matching the command line (all benchmarks by default)
+ * with the GC profiler attached, so that each result reports both throughput
+ * and allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ * </p>
+ */
+public final class BenchmarkRunner {
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args Standard JMH command line arguments
+     * @throws CommandLineOptionException When the arguments are invalid
+     * @throws RunnerException            When a benchmark fails to run
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
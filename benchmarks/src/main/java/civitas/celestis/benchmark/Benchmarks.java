@@ -0,0 +1,25 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+
+import java.util.Random;
+
+/**
+ * <h2>Benchmarks</h2>
+ * <p>Input generators shared by the benchmarks.</p>
+ */
+final class Benchmarks {
+    /**
+     * Generates a random rotation with a random axis and an angle in {@code [0, 2pi)}.
+     *
+     * @param random Source of randomness
+     * @return Random rotation
+     */
+    @Nonnull
+    static Rotation randomRotation(@Nonnull Random random) {
+        final Vector3 axis = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        return new Rotation(axis, random.nextDouble() * 2 * Math.PI);
+    }
+}
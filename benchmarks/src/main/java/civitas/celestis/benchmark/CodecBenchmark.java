@@ -0,0 +1,92 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.io.VectorCodec;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>CodecBenchmark</h2>
+ * <p>Compares saving and loading a snapshot of vectors with default serialization against {@link VectorCodec}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CodecBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    private Vector3[] objects;
+    private Vector3Array array;
+    private byte[] serialized;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42);
+
+        objects = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        array = new Vector3Array(objects);
+        serialized = saveSerializable();
+        buffer = ByteBuffer.allocateDirect(size * VectorCodec.VECTOR3_BYTES);
+        VectorCodec.put(buffer, objects);
+    }
+
+    @Benchmark
+    public byte[] saveSerializable() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(objects);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object loadSerializable() throws IOException, ClassNotFoundException {
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer saveCodec() {
+        buffer.clear();
+        VectorCodec.put(buffer, objects);
+        return buffer;
+    }
+
+    @Benchmark
+    public Vector3[] loadCodec() {
+        buffer.clear();
+        return VectorCodec.getVector3s(buffer, size);
+    }
+
+    @Benchmark
+    public ByteBuffer saveCodecArray() {
+        buffer.clear();
+        VectorCodec.put(buffer, array, 0, size);
+        return buffer;
+    }
+
+    @Benchmark
+    public Vector3Array loadCodecArray() {
+        buffer.clear();
+        VectorCodec.get(buffer, array, 0, size);
+        return array;
+    }
+}
@@ -0,0 +1,76 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.io.SmallestThreeCodec;
+import civitas.celestis.io.VectorCodec;
+import civitas.celestis.math.quaternion.Quaternion;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>CompressionBenchmark</h2>
+ * <p>Compares encoding orientations with {@link SmallestThreeCodec} against the uncompressed layout of {@link VectorCodec}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompressionBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    @Param({"32", "48"})
+    private int bits;
+
+    private Quaternion[] quaternions;
+    private SmallestThreeCodec codec;
+    private ByteBuffer raw;
+    private ByteBuffer compressed;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        quaternions = new Quaternion[size];
+
+        for (int i = 0; i < size; i++) {
+            quaternions[i] = Benchmarks.randomRotation(random).quaternion();
+        }
+
+        codec = new SmallestThreeCodec(bits);
+        raw = ByteBuffer.allocateDirect(size * VectorCodec.VECTOR4_BYTES);
+        compressed = ByteBuffer.allocateDirect(size * codec.bytes());
+        VectorCodec.put(raw, quaternions);
+        codec.put(compressed, quaternions);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeRaw() {
+        raw.clear();
+        VectorCodec.put(raw, quaternions);
+        return raw;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeCompressed() {
+        compressed.clear();
+        codec.put(compressed, quaternions);
+        return compressed;
+    }
+
+    @Benchmark
+    public Quaternion[] decodeRaw() {
+        raw.clear();
+        return VectorCodec.getQuaternions(raw, size);
+    }
+
+    @Benchmark
+    public Quaternion[] decodeCompressed() {
+        compressed.clear();
+        return codec.get(compressed, size);
+    }
+}
@@ -0,0 +1,77 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.io.DirectQuaternionStore;
+import civitas.celestis.io.DirectVector3Store;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>DirectStoreBenchmark</h2>
+ * <p>Compares an integration step over off-heap {@link DirectVector3Store}s against the same step over heap {@link Vector3Array}s.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DirectStoreBenchmark {
+    @Param({"1000000"})
+    private int size;
+
+    private Vector3Array positions;
+    private Vector3Array velocities;
+    private DirectVector3Store directPositions;
+    private DirectVector3Store directVelocities;
+    private DirectQuaternionStore orientations;
+    private Quaternion spin;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        positions = new Vector3Array(size);
+        velocities = new Vector3Array(size);
+
+        for (int i = 0; i < size; i++) {
+            positions.set(i, random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+            velocities.set(i, random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        directPositions = DirectVector3Store.of(positions);
+        directVelocities = DirectVector3Store.of(velocities);
+        orientations = DirectQuaternionStore.allocate(size);
+        orientations.fill(Quaternion.IDENTITY);
+        spin = Benchmarks.randomRotation(random).quaternion();
+    }
+
+    @TearDown
+    public void tearDown() {
+        directPositions.close();
+        directVelocities.close();
+        orientations.close();
+    }
+
+    @Benchmark
+    public Vector3Array integrateHeap() {
+        positions.addScaled(velocities, 1e-3);
+        return positions;
+    }
+
+    @Benchmark
+    public DirectVector3Store integrateDirect() {
+        directPositions.addScaled(directVelocities, 1e-3);
+        return directPositions;
+    }
+
+    @Benchmark
+    public DirectQuaternionStore spinDirect() {
+        orientations.multiply(spin);
+        orientations.normalize();
+        return orientations;
+    }
+}
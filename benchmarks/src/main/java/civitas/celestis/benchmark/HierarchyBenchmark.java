@@ -0,0 +1,113 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector4;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>HierarchyBenchmark</h2>
+ * <p>
+ * Measures call sites typed as {@link Vector4} which see {@link Vector4}, {@link Quaternion} and {@link Rotation}.
+ * The {@code mixed} cases should match the {@code uniform} cases for the final accessors and metrics,
+ * while the overridden {@code add} shows the cost of a polymorphic call for comparison.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HierarchyBenchmark {
+    private static final int SIZE = 1024;
+
+    private Vector4[] uniform;
+    private Vector4[] mixed;
+    private double s;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        uniform = new Vector4[SIZE];
+        mixed = new Vector4[SIZE];
+
+        for (int i = 0; i < SIZE; i++) {
+            final Rotation r = Benchmarks.randomRotation(random);
+            final Quaternion q = r.quaternion();
+
+            uniform[i] = new Vector4(q.w(), q.x(), q.y(), q.z());
+            mixed[i] = switch (i % 3) {
+                case 0 -> uniform[i];
+                case 1 -> q;
+                default -> r;
+            };
+        }
+
+        s = random.nextDouble();
+    }
+
+    @Benchmark
+    public double magnitude2Uniform() {
+        return magnitude2(uniform);
+    }
+
+    @Benchmark
+    public double magnitude2Mixed() {
+        return magnitude2(mixed);
+    }
+
+    @Benchmark
+    public double distance2Uniform() {
+        return distance2(uniform);
+    }
+
+    @Benchmark
+    public double distance2Mixed() {
+        return distance2(mixed);
+    }
+
+    @Benchmark
+    public double addUniform() {
+        return add(uniform);
+    }
+
+    @Benchmark
+    public double addMixed() {
+        return add(mixed);
+    }
+
+    private static double magnitude2(Vector4[] vectors) {
+        double sum = 0;
+
+        for (final Vector4 v : vectors) {
+            sum += v.magnitude2();
+        }
+
+        return sum;
+    }
+
+    private static double distance2(Vector4[] vectors) {
+        double sum = 0;
+
+        for (int i = 1; i < vectors.length; i++) {
+            sum += vectors[i].distance2(vectors[i - 1]);
+        }
+
+        return sum;
+    }
+
+    private double add(Vector4[] vectors) {
+        double sum = 0;
+
+        for (final Vector4 v : vectors) {
+            sum += v.add(s).w();
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.MutableVector3;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>IntegrationBenchmark</h2>
+ * <p>
+ * Measures one explicit Euler step over a set of bodies,
+ * using immutable {@link Vector3} and in-place {@link MutableVector3} state.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IntegrationBenchmark {
+    @Param({"1000", "100000"})
+    private int bodies;
+
+    private Vector3[] positions;
+    private Vector3[] velocities;
+    private MutableVector3[] mutablePositions;
+    private MutableVector3[] mutableVelocities;
+    private Vector3 acceleration;
+    private double dt;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        positions = new Vector3[bodies];
+        velocities = new Vector3[bodies];
+        mutablePositions = new MutableVector3[bodies];
+        mutableVelocities = new MutableVector3[bodies];
+
+        for (int i = 0; i < bodies; i++) {
+            positions[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+            velocities[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+            mutablePositions[i] = new MutableVector3(positions[i]);
+            mutableVelocities[i] = new MutableVector3(velocities[i]);
+        }
+
+        acceleration = new Vector3(0, -9.8, 0);
+        dt = 1d / 60;
+    }
+
+    @Benchmark
+    public Vector3[] immutable() {
+        for (int i = 0; i < bodies; i++) {
+            velocities[i] = velocities[i].add(acceleration.multiply(dt));
+            positions[i] = positions[i].add(velocities[i].multiply(dt));
+        }
+
+        return positions;
+    }
+
+    @Benchmark
+    public MutableVector3[] mutable() {
+        for (int i = 0; i < bodies; i++) {
+            mutableVelocities[i].addScaledAssign(acceleration, dt);
+            mutablePositions[i].addScaledAssign(mutableVelocities[i], dt);
+        }
+
+        return mutablePositions;
+    }
+}
@@ -0,0 +1,103 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import civitas.celestis.spatial.KdTree3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>KdTreeBenchmark</h2>
+ * <p>Compares nearest neighbor queries over a {@link KdTree3} against a linear scan, and measures building it.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class KdTreeBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    private Vector3[] objects;
+    private Vector3Array points;
+    private KdTree3 tree;
+    private Vector3[] queries;
+    private int[] ids;
+    private double[] distances;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        objects = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).multiply(100);
+        }
+
+        points = new Vector3Array(objects);
+        tree = new KdTree3(points);
+        queries = new Vector3[64];
+
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).multiply(100);
+        }
+
+        ids = new int[16];
+        distances = new double[16];
+    }
+
+    @Benchmark
+    public int nearestScan() {
+        int sum = 0;
+
+        for (final Vector3 q : queries) {
+            double best = Double.POSITIVE_INFINITY;
+            int hit = -1;
+
+            for (int i = 0; i < objects.length; i++) {
+                final double d2 = objects[i].distance2(q);
+
+                if (d2 < best) {
+                    best = d2;
+                    hit = i;
+                }
+            }
+
+            sum += hit;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int nearestTree() {
+        int sum = 0;
+
+        for (final Vector3 q : queries) {
+            sum += tree.nearest(q);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public int kNearestTree() {
+        int sum = 0;
+
+        for (final Vector3 q : queries) {
+            sum += tree.nearest(q, ids.length, ids, distances);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public KdTree3 build() {
+        return new KdTree3(points);
+    }
+}
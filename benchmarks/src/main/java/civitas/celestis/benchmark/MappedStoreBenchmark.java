@@ -0,0 +1,88 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.io.MappedVector3Store;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>MappedStoreBenchmark</h2>
+ * <p>Compares bulk kernels over a memory-mapped {@link MappedVector3Store} against the same kernels over a heap {@link Vector3Array}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MappedStoreBenchmark {
+    @Param({"1000000"})
+    private int size;
+
+    private Path path;
+    private MappedVector3Store store;
+    private Vector3Array array;
+    private Quaternion rotation;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42);
+
+        array = new Vector3Array(size);
+
+        for (int i = 0; i < size; i++) {
+            array.set(i, random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        path = Files.createTempFile("vectors", ".bin");
+        store = MappedVector3Store.create(path, size);
+        store.write(0, array, 0, size);
+        rotation = Benchmarks.randomRotation(random).quaternion();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public Vector3Array rotateHeap() {
+        array.rotate(rotation);
+        return array;
+    }
+
+    @Benchmark
+    public MappedVector3Store rotateMapped() {
+        store.rotate(rotation);
+        return store;
+    }
+
+    @Benchmark
+    public Vector3 sumHeap() {
+        final double[] x = array.xs();
+        final double[] y = array.ys();
+        final double[] z = array.zs();
+        double sx = 0, sy = 0, sz = 0;
+
+        for (int i = 0; i < size; i++) {
+            sx += x[i];
+            sy += y[i];
+            sz += z[i];
+        }
+
+        return new Vector3(sx, sy, sz);
+    }
+
+    @Benchmark
+    public Vector3 sumMapped() {
+        return store.sum();
+    }
+}
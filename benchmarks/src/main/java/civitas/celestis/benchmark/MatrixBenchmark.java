@@ -0,0 +1,61 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.matrix.Matrix3;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>MatrixBenchmark</h2>
+ * <p>Compares rotating many vectors by a {@link Rotation} against a precomputed {@link Matrix3}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MatrixBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Vector3[] vertices;
+    private Rotation rotation;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        vertices = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            vertices[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        rotation = Benchmarks.randomRotation(random);
+    }
+
+    @Benchmark
+    public Vector3[] rotation() {
+        final Vector3[] result = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            result[i] = vertices[i].rotate(rotation);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Vector3[] matrix() {
+        return Matrix3.rotation(rotation).transform(vertices);
+    }
+
+    @Benchmark
+    public Matrix3 multiply() {
+        return Matrix3.rotation(rotation).multiply(Matrix3.rotation(rotation));
+    }
+}
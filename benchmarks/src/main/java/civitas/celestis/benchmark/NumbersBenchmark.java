@@ -0,0 +1,62 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.SqrtStrategy;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>NumbersBenchmark</h2>
+ * <p>
+ * Measures the numerical utilities of {@link Numbers} under each {@link SqrtStrategy},
+ * both called directly and through the global strategy used by the vector classes.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NumbersBenchmark {
+    @Param({"exact", "float", "fast:1", "fast:2", "fast:3", "fast:4"})
+    private String strategy;
+
+    private SqrtStrategy implementation;
+    private double x;
+    private Vector3 v;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        implementation = SqrtStrategy.parseStrategy(strategy);
+        Numbers.setSqrtStrategy(implementation);
+
+        x = 1 + random.nextDouble() * 1000;
+        v = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+    }
+
+    @Benchmark
+    public double isqrt() {
+        return implementation.isqrt(x);
+    }
+
+    @Benchmark
+    public double sqrt() {
+        return implementation.sqrt(x);
+    }
+
+    @Benchmark
+    public double magnitude() {
+        return v.magnitude();
+    }
+
+    @Benchmark
+    public Vector3 normalize() {
+        return v.normalize();
+    }
+}
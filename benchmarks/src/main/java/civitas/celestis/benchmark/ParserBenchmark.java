@@ -0,0 +1,58 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.VectorParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>ParserBenchmark</h2>
+ * <p>
+ * Measures parsing of the string forms of vectors.
+ * {@code Rotation} is the last type in the dispatch order of the original parser, so it shows the cost of dispatch.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParserBenchmark {
+    private String vector;
+    private String shortVector;
+    private String rotation;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        vector = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian()).toString();
+        shortVector = new Vector3(1.5, -20.25, 0.125).toString();
+        rotation = Benchmarks.randomRotation(random).toString();
+    }
+
+    @Benchmark
+    public Vector3 parseVector3() {
+        return Vector3.parseVector(vector);
+    }
+
+    @Benchmark
+    public Vector3 parseShortVector3() {
+        return VectorParser.parseVector3(shortVector);
+    }
+
+    @Benchmark
+    public Vector parseRotation() {
+        return Vector.parse(rotation);
+    }
+
+    @Benchmark
+    public Rotation parseRotationDirect() {
+        return VectorParser.parseRotation(rotation);
+    }
+}
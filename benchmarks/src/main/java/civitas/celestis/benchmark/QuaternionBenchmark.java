@@ -0,0 +1,86 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.Vector4;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>QuaternionBenchmark</h2>
+ * <p>
+ * Measures the arithmetic of {@link Quaternion}.
+ * The scalar and component-wise operations are paired with their {@link Vector4} equivalents,
+ * which they should match in both time and bytes allocated per operation.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QuaternionBenchmark {
+    private Quaternion p;
+    private Quaternion q;
+    private Vector4 pv;
+    private Vector4 qv;
+    private double s;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        p = Benchmarks.randomRotation(random).quaternion();
+        q = Benchmarks.randomRotation(random).quaternion();
+        pv = new Vector4(p.w(), p.x(), p.y(), p.z());
+        qv = new Vector4(q.w(), q.x(), q.y(), q.z());
+        s = random.nextDouble();
+    }
+
+    @Benchmark
+    public Quaternion multiply() {
+        return p.multiply(q);
+    }
+
+    @Benchmark
+    public Quaternion scale() {
+        return p.scale(s);
+    }
+
+    @Benchmark
+    public Quaternion inverse() {
+        return p.inverse();
+    }
+
+    @Benchmark
+    public Quaternion addScalar() {
+        return p.add(s);
+    }
+
+    @Benchmark
+    public Vector4 addScalarVector4() {
+        return pv.add(s);
+    }
+
+    @Benchmark
+    public Quaternion multiplyScalar() {
+        return p.multiply(s);
+    }
+
+    @Benchmark
+    public Vector4 multiplyScalarVector4() {
+        return pv.multiply(s);
+    }
+
+    @Benchmark
+    public Quaternion add() {
+        return p.add(q);
+    }
+
+    @Benchmark
+    public Vector4 addVector4() {
+        return pv.add(qv);
+    }
+}
@@ -0,0 +1,46 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>RotationBenchmark</h2>
+ * <p>Measures the conversions and composition of {@link Rotation}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RotationBenchmark {
+    private Rotation a;
+    private Rotation b;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        a = Benchmarks.randomRotation(random);
+        b = Benchmarks.randomRotation(random);
+    }
+
+    @Benchmark
+    public Quaternion quaternion() {
+        return a.quaternion();
+    }
+
+    @Benchmark
+    public Quaternion quaternionUncached() {
+        return new Rotation(a).quaternion();
+    }
+
+    @Benchmark
+    public Rotation rotate() {
+        return a.rotate(b);
+    }
+}
@@ -0,0 +1,115 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>SerializationBenchmark</h2>
+ * <p>
+ * Compares the serialization proxies of the math types against default reflective serialization,
+ * which is reproduced by {@link DefaultVector3}, a class with the same fields as {@link Vector3} and no proxy.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SerializationBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    private DefaultVector3[] defaults;
+    private Vector3[] proxies;
+    private Vector3Array array;
+    private byte[] serializedDefaults;
+    private byte[] serializedProxies;
+    private byte[] serializedArray;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42);
+
+        defaults = new DefaultVector3[size];
+        proxies = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            final double x = random.nextGaussian(), y = random.nextGaussian(), z = random.nextGaussian();
+
+            defaults[i] = new DefaultVector3(x, y, z);
+            proxies[i] = new Vector3(x, y, z);
+        }
+
+        array = new Vector3Array(proxies);
+        serializedDefaults = save(defaults);
+        serializedProxies = save(proxies);
+        serializedArray = save(array);
+    }
+
+    @Benchmark
+    public byte[] saveDefault() throws IOException {
+        return save(defaults);
+    }
+
+    @Benchmark
+    public byte[] saveProxy() throws IOException {
+        return save(proxies);
+    }
+
+    @Benchmark
+    public byte[] saveArray() throws IOException {
+        return save(array);
+    }
+
+    @Benchmark
+    public Object loadDefault() throws IOException, ClassNotFoundException {
+        return load(serializedDefaults);
+    }
+
+    @Benchmark
+    public Object loadProxy() throws IOException, ClassNotFoundException {
+        return load(serializedProxies);
+    }
+
+    @Benchmark
+    public Object loadArray() throws IOException, ClassNotFoundException {
+        return load(serializedArray);
+    }
+
+    private static byte[] save(Object o) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Object load(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * A vector serialized in the default form.
+     */
+    private static final class DefaultVector3 implements Serializable {
+        private DefaultVector3(double x, double y, double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        private final double x;
+        private final double y;
+        private final double z;
+    }
+}
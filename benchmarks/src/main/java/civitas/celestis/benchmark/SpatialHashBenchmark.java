@@ -0,0 +1,91 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import civitas.celestis.spatial.SpatialHashGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>SpatialHashBenchmark</h2>
+ * <p>Compares radius queries over a {@link SpatialHashGrid} against a linear scan, and measures a per-frame update of every object.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SpatialHashBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    private Vector3[] objects;
+    private Vector3Array positions;
+    private Vector3Array velocities;
+    private SpatialHashGrid grid;
+    private Vector3[] queries;
+    private int[] found;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        // Objects spread over a cube 100 units wide, moving up to a tenth of a unit per frame
+        objects = new Vector3[size];
+        positions = new Vector3Array(size);
+        velocities = new Vector3Array(size);
+        grid = new SpatialHashGrid(2, size);
+
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Vector3(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+            positions.set(i, objects[i].x(), objects[i].y(), objects[i].z());
+            velocities.set(i, random.nextGaussian() * 0.05, random.nextGaussian() * 0.05, random.nextGaussian() * 0.05);
+            grid.insert(i, objects[i]);
+        }
+
+        queries = new Vector3[64];
+
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new Vector3(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+        }
+
+        found = new int[size];
+    }
+
+    @Benchmark
+    public int scan() {
+        int count = 0;
+
+        for (final Vector3 q : queries) {
+            for (final Vector3 v : objects) {
+                if (v.distance2(q) <= 4) count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int grid() {
+        int count = 0;
+
+        for (final Vector3 q : queries) {
+            count += grid.within(q, 2, found);
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public SpatialHashGrid update() {
+        // Objects drift back and forth, so positions stay within the same region across iterations
+        velocities.scale(-1);
+        positions.add(velocities);
+        grid.moveAll(positions);
+
+        return grid;
+    }
+}
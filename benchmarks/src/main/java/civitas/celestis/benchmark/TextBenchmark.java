@@ -0,0 +1,70 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>TextBenchmark</h2>
+ * <p>Compares exporting vectors as text through {@link Vector3#toString()} against appending them to a reused builder.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    private Vector3[] objects;
+    private Vector3Array array;
+    private StringBuilder sb;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        objects = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        array = new Vector3Array(objects);
+        sb = new StringBuilder(size * 64);
+    }
+
+    @Benchmark
+    public StringBuilder concatenate() {
+        sb.setLength(0);
+
+        for (final Vector3 v : objects) {
+            sb.append(v.toString()).append('\n');
+        }
+
+        return sb;
+    }
+
+    @Benchmark
+    public StringBuilder appendTo() {
+        sb.setLength(0);
+
+        for (final Vector3 v : objects) {
+            v.appendTo(sb).append('\n');
+        }
+
+        return sb;
+    }
+
+    @Benchmark
+    public StringBuilder appendLines() throws IOException {
+        sb.setLength(0);
+        return array.appendLines(sb, 0, size);
+    }
+}
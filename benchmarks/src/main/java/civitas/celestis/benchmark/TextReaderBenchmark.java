@@ -0,0 +1,94 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.io.Vector3TextReader;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>TextReaderBenchmark</h2>
+ * <p>Compares reading a CSV file of vectors line by line through {@link String#split(String)} against {@link Vector3TextReader}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextReaderBenchmark {
+    @Param({"1000000"})
+    private int size;
+
+    private Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42);
+        final Vector3Array array = new Vector3Array(size);
+
+        for (int i = 0; i < size; i++) {
+            array.set(i, random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        path = Files.createTempFile("vectors", ".csv");
+
+        try (final Writer writer = Files.newBufferedWriter(path)) {
+            array.appendCsv(writer, 0, size);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public Vector3Array split() throws IOException {
+        final Vector3Array result = new Vector3Array(0);
+
+        try (final BufferedReader reader = Files.newBufferedReader(path)) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                final String[] fields = line.split(",");
+                final Vector3 v = new Vector3(
+                        Double.parseDouble(fields[0]),
+                        Double.parseDouble(fields[1]),
+                        Double.parseDouble(fields[2])
+                );
+
+                result.append(v.x(), v.y(), v.z());
+            }
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Vector3Array channel() throws IOException {
+        final Vector3Array result = new Vector3Array(0);
+
+        try (final FileChannel channel = FileChannel.open(path)) {
+            Vector3TextReader.read(channel, result);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public Vector3Array mapped() throws IOException {
+        return Vector3TextReader.read(path);
+    }
+
+    @Benchmark
+    public Vector3Array parallel() throws IOException {
+        return Vector3TextReader.readParallel(path);
+    }
+}
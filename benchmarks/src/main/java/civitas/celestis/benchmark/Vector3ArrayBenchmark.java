@@ -0,0 +1,99 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.quaternion.FloatQuaternion;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.FloatVector3Array;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>Vector3ArrayBenchmark</h2>
+ * <p>Compares bulk operations on {@code Vector3[]} against {@link Vector3Array} and {@link FloatVector3Array}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Vector3ArrayBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Vector3[] objects;
+    private Vector3[] objectVelocities;
+    private Vector3Array array;
+    private Vector3Array arrayVelocities;
+    private FloatVector3Array floatArray;
+    private FloatVector3Array floatArrayVelocities;
+    private Quaternion rq;
+    private FloatQuaternion floatRq;
+    private double dt;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        objects = new Vector3[size];
+        objectVelocities = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            objects[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+            objectVelocities[i] = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        }
+
+        array = new Vector3Array(objects);
+        arrayVelocities = new Vector3Array(objectVelocities);
+        floatArray = new FloatVector3Array(array);
+        floatArrayVelocities = new FloatVector3Array(arrayVelocities);
+        rq = Benchmarks.randomRotation(random).quaternion();
+        floatRq = new FloatQuaternion(rq);
+        dt = 1d / 60;
+    }
+
+    @Benchmark
+    public Vector3[] integrateObjects() {
+        for (int i = 0; i < size; i++) {
+            objects[i] = objects[i].add(objectVelocities[i].multiply(dt));
+        }
+
+        return objects;
+    }
+
+    @Benchmark
+    public Vector3Array integrateArray() {
+        array.addScaled(arrayVelocities, dt);
+        return array;
+    }
+
+    @Benchmark
+    public FloatVector3Array integrateFloatArray() {
+        floatArray.addScaled(floatArrayVelocities, (float) dt);
+        return floatArray;
+    }
+
+    @Benchmark
+    public Vector3[] rotateObjects() {
+        for (int i = 0; i < size; i++) {
+            objects[i] = objects[i].rotate(rq);
+        }
+
+        return objects;
+    }
+
+    @Benchmark
+    public Vector3Array rotateArray() {
+        array.rotate(rq);
+        return array;
+    }
+
+    @Benchmark
+    public FloatVector3Array rotateFloatArray() {
+        floatArray.rotate(floatRq);
+        return floatArray;
+    }
+}
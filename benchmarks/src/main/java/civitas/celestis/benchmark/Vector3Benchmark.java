@@ -0,0 +1,68 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>Vector3Benchmark</h2>
+ * <p>Measures the single-vector operations of {@link Vector3}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Vector3Benchmark {
+    private Vector3 a;
+    private Vector3 b;
+    private Quaternion rq;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        a = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        b = new Vector3(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        rq = Benchmarks.randomRotation(random).quaternion();
+    }
+
+    @Benchmark
+    public Vector3 construct() {
+        return new Vector3(a.x(), a.y(), a.z());
+    }
+
+    @Benchmark
+    public Vector3 constructUnchecked() {
+        return Vector3.unchecked(a.x(), a.y(), a.z());
+    }
+
+    @Benchmark
+    public Vector3 add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Vector3 cross() {
+        return a.cross(b);
+    }
+
+    @Benchmark
+    public double dot() {
+        return a.dot(b);
+    }
+
+    @Benchmark
+    public Vector3 normalize() {
+        return a.normalize();
+    }
+
+    @Benchmark
+    public Vector3 rotate() {
+        return a.rotate(rq);
+    }
+}
@@ -0,0 +1,68 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import civitas.celestis.math.vector.Vector3IntMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>Vector3IntMapBenchmark</h2>
+ * <p>Compares vertex deduplication with {@code HashMap<Vector3, Integer>} against {@link Vector3IntMap}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Vector3IntMapBenchmark {
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Vector3Array vertices;
+    private Vector3[] objects;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        final int grid = (int) Math.cbrt(size);
+
+        // Points on a grid, so that roughly half of the vertices are duplicates
+        vertices = new Vector3Array(size);
+
+        for (int i = 0; i < size; i++) {
+            vertices.set(i, random.nextInt(grid), random.nextInt(grid), random.nextInt(grid));
+        }
+
+        objects = vertices.toArray();
+    }
+
+    @Benchmark
+    public int deduplicateHashMap() {
+        final HashMap<Vector3, Integer> indices = new HashMap<>();
+
+        for (final Vector3 v : objects) {
+            indices.putIfAbsent(v, indices.size());
+        }
+
+        return indices.size();
+    }
+
+    @Benchmark
+    public int deduplicateVector3IntMap() {
+        final Vector3IntMap indices = new Vector3IntMap();
+        final double[] x = vertices.xs();
+        final double[] y = vertices.ys();
+        final double[] z = vertices.zs();
+
+        for (int i = 0; i < size; i++) {
+            indices.putIfAbsent(x[i], y[i], z[i], indices.size());
+        }
+
+        return indices.size();
+    }
+}
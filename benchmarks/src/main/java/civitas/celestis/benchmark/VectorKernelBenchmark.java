@@ -0,0 +1,86 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.math.kernel.VectorKernel;
+import civitas.celestis.math.kernel.VectorKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>VectorKernelBenchmark</h2>
+ * <p>Compares the scalar and SIMD {@link VectorKernel} implementations.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class VectorKernelBenchmark {
+    @Param({"scalar", "simd"})
+    private String kernel;
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    private VectorKernel implementation;
+    private double[] aw, ax, ay, az;
+    private double[] bw, bx, by, bz;
+    private double[] cw, cx, cy, cz;
+    private double[] dest;
+
+    @Setup
+    public void setup() {
+        implementation = kernel.equals("simd")
+                ? Objects.requireNonNull(VectorKernels.simd(), "The Vector API is not available.")
+                : VectorKernels.scalar();
+
+        final Random random = new Random(42);
+
+        aw = random.doubles(size).toArray();
+        ax = random.doubles(size).toArray();
+        ay = random.doubles(size).toArray();
+        az = random.doubles(size).toArray();
+        bw = random.doubles(size).toArray();
+        bx = random.doubles(size).toArray();
+        by = random.doubles(size).toArray();
+        bz = random.doubles(size).toArray();
+        cw = new double[size];
+        cx = new double[size];
+        cy = new double[size];
+        cz = new double[size];
+        dest = new double[size];
+    }
+
+    @Benchmark
+    public double[] dot3() {
+        implementation.dot3(ax, ay, az, bx, by, bz, dest, 0, size);
+        return dest;
+    }
+
+    @Benchmark
+    public double[] normalize3() {
+        implementation.normalize3(ax, ay, az, 0, size);
+        return ax;
+    }
+
+    @Benchmark
+    public double[] rotate3() {
+        implementation.rotate3(0.5, 0.5, 0.5, 0.5, ax, ay, az, 0, size);
+        return ax;
+    }
+
+    @Benchmark
+    public double[] multiply4() {
+        implementation.multiply4(aw, ax, ay, az, bw, bx, by, bz, cw, cx, cy, cz, 0, size);
+        return cw;
+    }
+
+    @Benchmark
+    public double[] normalize4() {
+        implementation.normalize4(aw, ax, ay, az, 0, size);
+        return aw;
+    }
+}
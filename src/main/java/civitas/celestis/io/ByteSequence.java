@@ -0,0 +1,93 @@
+package civitas.celestis.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * <h2>ByteSequence</h2>
+ * <p>
+ * A view of the bytes of a buffer as characters, one character per byte.
+ * This lets the character-level parsers read ASCII text directly from a buffer,
+ * without decoding it into a {@link String} first. Bytes are read with absolute gets,
+ * so the position and limit of the buffer are ignored and left untouched.
+ * </p>
+ */
+final class ByteSequence implements CharSequence {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new view of the first {@code length} bytes of a buffer.
+     *
+     * @param buffer Buffer to view
+     * @param length Number of bytes to view
+     */
+    ByteSequence(@Nonnull ByteBuffer buffer, int length) {
+        reset(buffer, length);
+    }
+
+    //
+    // Variables
+    //
+
+    private ByteBuffer buffer;
+    private int length;
+
+    /**
+     * Points this view to the first {@code length} bytes of a buffer.
+     *
+     * @param buffer Buffer to view
+     * @param length Number of bytes to view
+     */
+    void reset(@Nonnull ByteBuffer buffer, int length) {
+        Objects.checkFromToIndex(0, length, buffer.capacity());
+
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    //
+    // CharSequence
+    //
+
+    @Override
+    public int length() {return length;}
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(Objects.checkIndex(index, length)) & 0xFF);
+    }
+
+    @Override
+    @Nonnull
+    public CharSequence subSequence(int start, int end) {
+        return toString(start, end);
+    }
+
+    /**
+     * Decodes a range of this view into a string.
+     *
+     * @param start Index of first character (inclusive)
+     * @param end   Index of last character (exclusive)
+     * @return Decoded string
+     */
+    @Nonnull
+    String toString(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+
+        final byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        return toString(0, length);
+    }
+}
@@ -0,0 +1,400 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static civitas.celestis.io.Vector3Store.CHUNK_MASK;
+import static civitas.celestis.io.Vector3Store.CHUNK_SHIFT;
+import static civitas.celestis.io.Vector3Store.CHUNK_VECTORS;
+import static civitas.celestis.io.VectorCodec.DOUBLE;
+import static civitas.celestis.io.VectorCodec.VECTOR3_BYTES;
+import static civitas.celestis.io.VectorCodec.VECTOR4_BYTES;
+
+/**
+ * <h2>DirectQuaternionStore</h2>
+ * <p>
+ * A fixed-size array of quaternions stored in direct memory, indexed by {@code long}.
+ * This is the quaternion counterpart of {@link DirectVector3Store}, typically holding the orientations
+ * of the particles whose positions are held by a {@link Vector3Store} of the same size.
+ * </p>
+ * <p>
+ * Quaternions use the layout of {@link VectorCodec} and are chunked like the vectors of a {@link Vector3Store},
+ * so the same index lies in the same chunk of both. Components are not validated when they are written.
+ * Closing a store drops its references to the memory, which the JDK then frees when the buffers are collected.
+ * </p>
+ */
+public final class DirectQuaternionStore implements Closeable {
+    //
+    // Factories
+    //
+
+    /**
+     * Allocates a new store of zero quaternions.
+     * Use {@link #fill(Quaternion)} to initialize it to {@link Quaternion#IDENTITY}.
+     *
+     * @param size Number of quaternions
+     * @return Allocated store
+     * @throws OutOfMemoryError When the direct memory limit is reached
+     */
+    @Nonnull
+    public static DirectQuaternionStore allocate(long size) {
+        final ByteBuffer[] chunks = new ByteBuffer[Vector3Store.chunkCount(size)];
+
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect((int) Math.min(CHUNK_VECTORS, size - ((long) i << CHUNK_SHIFT)) * VECTOR4_BYTES);
+        }
+
+        return new DirectQuaternionStore(chunks, size);
+    }
+
+    //
+    // Constructors
+    //
+
+    private DirectQuaternionStore(ByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    //
+    // Variables
+    //
+
+    private ByteBuffer[] chunks;
+    private final long size;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of quaternions in this store.
+     *
+     * @return Number of quaternions
+     */
+    public long size() {return size;}
+
+    /**
+     * Gets the W value of the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @return W value
+     */
+    public double w(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i));
+    }
+
+    /**
+     * Gets the X value of the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @return X value
+     */
+    public double x(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i) + 8);
+    }
+
+    /**
+     * Gets the Y value of the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @return Y value
+     */
+    public double y(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i) + 16);
+    }
+
+    /**
+     * Gets the Z value of the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @return Z value
+     */
+    public double z(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i) + 24);
+    }
+
+    /**
+     * Gets the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @return Quaternion at given index
+     * @throws IllegalArgumentException When the stored quaternion is not finite
+     */
+    @Nonnull
+    public Quaternion get(long i) {
+        return VectorCodec.getQuaternion(chunk(i), offset(i));
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @param w W value
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     */
+    public void set(long i, double w, double x, double y, double z) {
+        final ByteBuffer c = chunk(i);
+        final int p = offset(i);
+
+        DOUBLE.set(c, p, w);
+        DOUBLE.set(c, p + 8, x);
+        DOUBLE.set(c, p + 16, y);
+        DOUBLE.set(c, p + 24, z);
+    }
+
+    /**
+     * Sets the quaternion at given index.
+     *
+     * @param i Index of quaternion
+     * @param q Quaternion to set
+     */
+    public void set(long i, @Nonnull Quaternion q) {
+        set(i, q.w(), q.x(), q.y(), q.z());
+    }
+
+    /**
+     * Sets every quaternion in this store to given quaternion.
+     *
+     * @param q Quaternion to set
+     */
+    public void fill(@Nonnull Quaternion q) {
+        fill(q, 0, size);
+    }
+
+    /**
+     * Sets every quaternion in given range to given quaternion.
+     *
+     * @param q    Quaternion to set
+     * @param from Index of first quaternion (inclusive)
+     * @param to   Index of last quaternion (exclusive)
+     */
+    public void fill(@Nonnull Quaternion q, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        final double w = q.w();
+        final double x = q.x();
+        final double y = q.y();
+        final double z = q.z();
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR4_BYTES) {
+                DOUBLE.set(c, p, w);
+                DOUBLE.set(c, p + 8, x);
+                DOUBLE.set(c, p + 16, y);
+                DOUBLE.set(c, p + 24, z);
+            }
+
+            i += count;
+        }
+    }
+
+    //
+    // Bulk Arithmetic
+    //
+
+    /**
+     * Multiplies every quaternion in this store by a quaternion.
+     *
+     * @param q Quaternion to multiply with
+     */
+    public void multiply(@Nonnull Quaternion q) {
+        multiply(q, 0, size);
+    }
+
+    /**
+     * Multiplies every quaternion in given range by a quaternion.
+     * The result is identical to {@link Quaternion#multiply(Quaternion)}.
+     *
+     * @param q    Quaternion to multiply with
+     * @param from Index of first quaternion (inclusive)
+     * @param to   Index of last quaternion (exclusive)
+     */
+    public void multiply(@Nonnull Quaternion q, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        final double w2 = q.w();
+        final double x2 = q.x();
+        final double y2 = q.y();
+        final double z2 = q.z();
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR4_BYTES) {
+                final double w1 = (double) DOUBLE.get(c, p);
+                final double x1 = (double) DOUBLE.get(c, p + 8);
+                final double y1 = (double) DOUBLE.get(c, p + 16);
+                final double z1 = (double) DOUBLE.get(c, p + 24);
+
+                // w = w1 * w2 - v1 . v2, v = v2 * w1 + v1 * w2 + v2 x v1
+                DOUBLE.set(c, p, w1 * w2 - (x1 * x2 + y1 * y2 + z1 * z2));
+                DOUBLE.set(c, p + 8, x2 * w1 + x1 * w2 + (y2 * z1 - z2 * y1));
+                DOUBLE.set(c, p + 16, y2 * w1 + y1 * w2 + (z2 * x1 - x2 * z1));
+                DOUBLE.set(c, p + 24, z2 * w1 + z1 * w2 + (x2 * y1 - y2 * x1));
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Normalizes every quaternion in this store. Zero quaternions are left unchanged.
+     */
+    public void normalize() {
+        normalize(0, size);
+    }
+
+    /**
+     * Normalizes every quaternion in given range. Zero quaternions are left unchanged.
+     * Renormalizing periodically keeps integrated orientations from drifting away from unit length.
+     *
+     * @param from Index of first quaternion (inclusive)
+     * @param to   Index of last quaternion (exclusive)
+     */
+    public void normalize(long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR4_BYTES) {
+                final double w = (double) DOUBLE.get(c, p);
+                final double x = (double) DOUBLE.get(c, p + 8);
+                final double y = (double) DOUBLE.get(c, p + 16);
+                final double z = (double) DOUBLE.get(c, p + 24);
+
+                final double m2 = w * w + x * x + y * y + z * z;
+                if (m2 == 0) continue;
+
+                final double isqrt = 1 / Math.sqrt(m2);
+
+                DOUBLE.set(c, p, w * isqrt);
+                DOUBLE.set(c, p + 8, x * isqrt);
+                DOUBLE.set(c, p + 16, y * isqrt);
+                DOUBLE.set(c, p + 24, z * isqrt);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Rotates every vector of a store by the quaternion of this store at the same index.
+     *
+     * @param v Store of vectors to rotate
+     */
+    public void rotate(@Nonnull Vector3Store v) {
+        rotate(v, 0, size);
+    }
+
+    /**
+     * Rotates every vector of a store in given range by the quaternion of this store at the same index.
+     * The result is identical to {@link civitas.celestis.math.vector.Vector3#rotate(Quaternion)}.
+     *
+     * @param v    Store of vectors to rotate
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void rotate(@Nonnull Vector3Store v, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+        Objects.checkFromToIndex(from, to, v.size());
+        v.checkOpen();
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+            final ByteBuffer d = v.chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i), q = Vector3Store.offset(i); k < count; k++, p += VECTOR4_BYTES, q += VECTOR3_BYTES) {
+                final double w = (double) DOUBLE.get(c, p);
+                final double qx = (double) DOUBLE.get(c, p + 8);
+                final double qy = (double) DOUBLE.get(c, p + 16);
+                final double qz = (double) DOUBLE.get(c, p + 24);
+
+                final double x = (double) DOUBLE.get(d, q);
+                final double y = (double) DOUBLE.get(d, q + 8);
+                final double z = (double) DOUBLE.get(d, q + 16);
+
+                // t = 2 * (v x q)
+                final double tx = 2 * (y * qz - z * qy);
+                final double ty = 2 * (z * qx - x * qz);
+                final double tz = 2 * (x * qy - y * qx);
+
+                // v' = v + w * t + t x q
+                DOUBLE.set(d, q, x + w * tx + (ty * qz - tz * qy));
+                DOUBLE.set(d, q + 8, y + w * ty + (tz * qx - tx * qz));
+                DOUBLE.set(d, q + 16, z + w * tz + (tx * qy - ty * qx));
+            }
+
+            i += count;
+        }
+    }
+
+    //
+    // Lifecycle
+    //
+
+    /**
+     * Releases this store. Any further access throws an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        chunks = Vector3Store.RELEASED;
+    }
+
+    //
+    // Helpers
+    //
+
+    private ByteBuffer chunk(long i) {
+        Objects.checkIndex(i, size);
+        checkOpen();
+        return chunks[(int) (i >>> CHUNK_SHIFT)];
+    }
+
+    private void checkOpen() {
+        if (chunks == Vector3Store.RELEASED) throw new IllegalStateException("This store has been released.");
+    }
+
+    private static int offset(long i) {
+        return (int) (i & CHUNK_MASK) * VECTOR4_BYTES;
+    }
+
+    private int run(long i, long to) {
+        checkOpen();
+        return (int) Math.min(to - i, CHUNK_VECTORS - (i & CHUNK_MASK));
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this store to a string.
+     *
+     * @return Stringified store
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "DirectQuaternionStore{" +
+                "size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * <h2>DirectVector3Store</h2>
+ * <p>
+ * A {@link Vector3Store} backed by direct memory, for simulation state too large to keep on the heap.
+ * The vectors are invisible to the garbage collector: they are never scanned or copied,
+ * so a store of tens of millions of vectors adds nothing to the duration of collections.
+ * </p>
+ * <p>
+ * Closing a store drops its references to the memory, which the JDK then frees when the buffers are collected.
+ * Stores should be closed as soon as they are no longer needed, preferably with try-with-resources.
+ * </p>
+ */
+public final class DirectVector3Store extends Vector3Store implements Closeable {
+    //
+    // Factories
+    //
+
+    /**
+     * Allocates a new store of zero vectors.
+     *
+     * @param size Number of vectors
+     * @return Allocated store
+     * @throws OutOfMemoryError When the direct memory limit is reached
+     */
+    @Nonnull
+    public static DirectVector3Store allocate(long size) {
+        final ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes(size, i));
+        }
+
+        return new DirectVector3Store(chunks, size);
+    }
+
+    /**
+     * Allocates a new store holding a copy of an array.
+     *
+     * @param vectors Array to copy
+     * @return Allocated store
+     * @throws OutOfMemoryError When the direct memory limit is reached
+     */
+    @Nonnull
+    public static DirectVector3Store of(@Nonnull Vector3Array vectors) {
+        final DirectVector3Store store = allocate(vectors.size());
+        store.write(0, vectors, 0, vectors.size());
+        return store;
+    }
+
+    //
+    // Constructors
+    //
+
+    private DirectVector3Store(ByteBuffer[] chunks, long size) {
+        super(chunks, size);
+    }
+
+    //
+    // Lifecycle
+    //
+
+    /**
+     * Releases this store. Any further access throws an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        chunks = RELEASED;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this store to a string.
+     *
+     * @return Stringified store
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "DirectVector3Store{" +
+                "size=" + size() +
+                '}';
+    }
+}
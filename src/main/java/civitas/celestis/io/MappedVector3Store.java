@@ -0,0 +1,155 @@
+package civitas.celestis.io;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static civitas.celestis.io.VectorCodec.VECTOR3_BYTES;
+
+/**
+ * <h2>MappedVector3Store</h2>
+ * <p>
+ * A {@link Vector3Store} backed by a memory-mapped file.
+ * The file is a plain sequence of vectors in the layout of {@link VectorCodec}, with no header,
+ * so it can also be produced or consumed by {@link VectorCodec} directly.
+ * </p>
+ * <p>
+ * Opening a store only maps the file; pages are loaded by the operating system when they are first accessed
+ * and may be evicted under memory pressure, so files larger than the heap or physical memory can be processed.
+ * </p>
+ */
+public final class MappedVector3Store extends Vector3Store implements Closeable {
+    //
+    // Factories
+    //
+
+    /**
+     * Creates a new file of zero vectors and maps it for reading and writing.
+     * An existing file at given path is overwritten.
+     *
+     * @param path Path of file to create
+     * @param size Number of vectors
+     * @return Created store
+     * @throws IOException When the file cannot be created or mapped
+     */
+    @Nonnull
+    public static MappedVector3Store create(@Nonnull Path path, long size) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new MappedVector3Store(map(channel, FileChannel.MapMode.READ_WRITE, size), size, true);
+        }
+    }
+
+    /**
+     * Maps an existing file of vectors.
+     *
+     * @param path     Path of file to open
+     * @param writable {@code true} to map the file for reading and writing, {@code false} to map it read-only
+     * @return Opened store
+     * @throws IOException When the file cannot be opened or mapped, or its size is not a whole number of vectors
+     */
+    @Nonnull
+    public static MappedVector3Store open(@Nonnull Path path, boolean writable) throws IOException {
+        try (final FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            final long bytes = channel.size();
+            if (bytes % VECTOR3_BYTES != 0) throw new IOException("File size is not a multiple of " + VECTOR3_BYTES + " bytes.");
+
+            final long size = bytes / VECTOR3_BYTES;
+            final FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+
+            return new MappedVector3Store(map(channel, mode, size), size, writable);
+        }
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long size) throws IOException {
+        final ByteBuffer[] chunks = new ByteBuffer[chunkCount(size)];
+
+        for (int i = 0; i < chunks.length; i++) {
+            final long position = ((long) i << CHUNK_SHIFT) * VECTOR3_BYTES;
+            chunks[i] = channel.map(mode, position, chunkBytes(size, i));
+        }
+
+        return chunks;
+    }
+
+    //
+    // Constructors
+    //
+
+    private MappedVector3Store(ByteBuffer[] chunks, long size, boolean writable) {
+        super(chunks, size);
+        this.writable = writable;
+    }
+
+    //
+    // Variables
+    //
+
+    private final boolean writable;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Checks if this store was mapped for writing.
+     * Writing to a read-only store throws {@link java.nio.ReadOnlyBufferException}.
+     *
+     * @return {@code true} if this store is writable
+     */
+    public boolean isWritable() {return writable;}
+
+    //
+    // Lifecycle
+    //
+
+    /**
+     * Writes every modification of this store to the underlying file.
+     * Does nothing for read-only stores.
+     */
+    public void force() {
+        if (!writable) return;
+
+        for (final ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    /**
+     * Writes every modification to the underlying file and releases this store.
+     * The mappings themselves are released by the garbage collector once they are unreachable,
+     * as the JDK offers no way to unmap a {@link MappedByteBuffer} explicitly.
+     */
+    @Override
+    public void close() {
+        force();
+        chunks = RELEASED;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this store to a string.
+     *
+     * @return Stringified store
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "MappedVector3Store{" +
+                "size=" + size() +
+                ", writable=" + writable +
+                '}';
+    }
+}
@@ -0,0 +1,359 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static civitas.celestis.io.VectorCodec.reserve;
+
+/**
+ * <h2>SmallestThreeCodec</h2>
+ * <p>
+ * Compresses rotation quaternions into {@code 29} to {@code 48} bits using the smallest-three encoding.
+ * Of the four components of a unit quaternion, only the three smallest are stored, quantized uniformly
+ * over {@code [-1/sqrt(2), 1/sqrt(2)]}, together with the two-bit index of the largest component,
+ * which is recovered from the unit length. As {@code q} and {@code -q} represent the same rotation,
+ * quaternions are negated when needed so that the largest component is positive.
+ * </p>
+ * <p>
+ * A codec of {@code n} bits stores each of the three components in {@code (n - 2) / 3} bits,
+ * leaving any remaining bits at zero. Codes fit in a {@code long}, and are written to buffers as the
+ * {@code ceil(n / 8)} low bytes of the code in little-endian order, so {@code 32} bits cut a quaternion
+ * from {@value VectorCodec#VECTOR4_BYTES} bytes to {@code 4}, and {@code 48} bits to {@code 6}.
+ * </p>
+ * <p>
+ * The angle between a quaternion and its decoded counterpart never exceeds {@link #maxAngularError()}:
+ * </p>
+ * <ul>
+ *     <li>{@code 29} to {@code 31} bits (9 per component): {@code 0.55} degrees</li>
+ *     <li>{@code 32} to {@code 34} bits (10 per component): {@code 0.27} degrees</li>
+ *     <li>{@code 38} to {@code 40} bits (12 per component): {@code 0.069} degrees</li>
+ *     <li>{@code 47} to {@code 48} bits (15 per component): {@code 0.0086} degrees</li>
+ * </ul>
+ * <p>
+ * Quaternions are normalized before they are encoded, so drifted rotation quaternions can be encoded directly.
+ * Identity quaternions are encoded exactly.
+ * </p>
+ */
+public final class SmallestThreeCodec {
+    /**
+     * The smallest supported number of bits per quaternion.
+     */
+    public static final int MIN_BITS = 29;
+
+    /**
+     * The largest supported number of bits per quaternion.
+     */
+    public static final int MAX_BITS = 48;
+
+    /**
+     * The largest magnitude of any component other than the largest component of a unit quaternion.
+     */
+    private static final double RANGE = Math.sqrt(0.5);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new codec.
+     *
+     * @param bits Number of bits per quaternion, from {@value #MIN_BITS} to {@value #MAX_BITS}
+     * @throws IllegalArgumentException When the number of bits is out of range
+     */
+    public SmallestThreeCodec(int bits) {
+        if (bits < MIN_BITS || bits > MAX_BITS) {
+            throw new IllegalArgumentException("Bits must be between " + MIN_BITS + " and " + MAX_BITS + ".");
+        }
+
+        this.bits = bits;
+        this.componentBits = (bits - 2) / 3;
+        this.bytes = (bits + 7) >>> 3;
+
+        // Using an even number of levels keeps zero exactly representable
+        final long levels = (1L << componentBits) - 2;
+
+        this.componentMask = (1L << componentBits) - 1;
+        this.levels = levels;
+        this.step = 2 * RANGE / levels;
+        this.scale = levels / (2 * RANGE);
+    }
+
+    //
+    // Variables
+    //
+
+    private final int bits;
+    private final int componentBits;
+    private final int bytes;
+    private final long componentMask;
+    private final long levels;
+    private final double step;
+    private final double scale;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of bits per quaternion.
+     *
+     * @return Number of bits
+     */
+    public int bits() {return bits;}
+
+    /**
+     * Gets the number of bits of each of the three stored components.
+     *
+     * @return Number of bits per component
+     */
+    public int componentBits() {return componentBits;}
+
+    /**
+     * Gets the number of bytes each quaternion occupies in a buffer.
+     *
+     * @return Number of bytes
+     */
+    public int bytes() {return bytes;}
+
+    /**
+     * Gets an upper bound of the angle between a rotation quaternion and its decoded counterpart.
+     *
+     * @return Maximum angular error in radians
+     */
+    public double maxAngularError() {
+        // Each stored component is off by at most half a step, and rebuilding the largest component,
+        // which is at least 1/2, at most doubles the length of the error; the angle is twice that length
+        return 2 * Math.sqrt(3) * step;
+    }
+
+    //
+    // Encoding
+    //
+
+    /**
+     * Encodes a rotation quaternion.
+     *
+     * @param q Quaternion to encode
+     * @return Code of the quaternion
+     * @throws IllegalArgumentException When the quaternion is zero
+     */
+    public long encode(@Nonnull Quaternion q) {
+        return encode(q.w(), q.x(), q.y(), q.z());
+    }
+
+    /**
+     * Encodes a rotation quaternion given by its components.
+     *
+     * @param w W value of quaternion
+     * @param x X value of quaternion
+     * @param y Y value of quaternion
+     * @param z Z value of quaternion
+     * @return Code of the quaternion
+     * @throws IllegalArgumentException When the quaternion is zero or not finite
+     */
+    public long encode(double w, double x, double y, double z) {
+        final double m2 = w * w + x * x + y * y + z * z;
+        if (!(m2 > 0 && m2 < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Cannot encode a zero or non-finite quaternion.");
+        }
+
+        final double aw = Math.abs(w), ax = Math.abs(x), ay = Math.abs(y), az = Math.abs(z);
+
+        final int largest;
+        final double a, b, c, max;
+
+        if (aw >= ax && aw >= ay && aw >= az) {
+            largest = 0; max = w; a = x; b = y; c = z;
+        } else if (ax >= ay && ax >= az) {
+            largest = 1; max = x; a = w; b = y; c = z;
+        } else if (ay >= az) {
+            largest = 2; max = y; a = w; b = x; c = z;
+        } else {
+            largest = 3; max = z; a = w; b = x; c = y;
+        }
+
+        // Normalize, and negate so that the dropped component is positive
+        final double s = (max < 0 ? -1 : 1) / Math.sqrt(m2);
+
+        return (long) largest << (3 * componentBits)
+                | quantize(c * s) << (2 * componentBits)
+                | quantize(b * s) << componentBits
+                | quantize(a * s);
+    }
+
+    /**
+     * Decodes a rotation quaternion.
+     *
+     * @param code Code of the quaternion
+     * @return Decoded quaternion
+     */
+    @Nonnull
+    public Quaternion decode(long code) {
+        final double a = dequantize(code);
+        final double b = dequantize(code >>> componentBits);
+        final double c = dequantize(code >>> (2 * componentBits));
+        final double max = Math.sqrt(Math.max(0, 1 - (a * a + b * b + c * c)));
+
+        return switch ((int) (code >>> (3 * componentBits)) & 3) {
+            case 0 -> Quaternion.unchecked(max, a, b, c);
+            case 1 -> Quaternion.unchecked(a, max, b, c);
+            case 2 -> Quaternion.unchecked(a, b, max, c);
+            default -> Quaternion.unchecked(a, b, c, max);
+        };
+    }
+
+    /**
+     * Encodes an array of rotation quaternions.
+     *
+     * @param quaternions Quaternions to encode
+     * @return Codes of the quaternions
+     * @throws IllegalArgumentException When any quaternion is zero
+     */
+    @Nonnull
+    public long[] encode(@Nonnull Quaternion... quaternions) {
+        final long[] codes = new long[quaternions.length];
+
+        for (int i = 0; i < quaternions.length; i++) {
+            codes[i] = encode(quaternions[i]);
+        }
+
+        return codes;
+    }
+
+    /**
+     * Decodes an array of rotation quaternions.
+     *
+     * @param codes Codes of the quaternions
+     * @return Decoded quaternions
+     */
+    @Nonnull
+    public Quaternion[] decode(@Nonnull long... codes) {
+        final Quaternion[] quaternions = new Quaternion[codes.length];
+
+        for (int i = 0; i < codes.length; i++) {
+            quaternions[i] = decode(codes[i]);
+        }
+
+        return quaternions;
+    }
+
+    //
+    // ByteBuffer
+    //
+
+    /**
+     * Encodes a rotation quaternion at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to write to
+     * @param q      Quaternion to encode
+     * @throws BufferOverflowException When the buffer has fewer than {@link #bytes()} bytes remaining
+     */
+    public void put(@Nonnull ByteBuffer buffer, @Nonnull Quaternion q) {
+        final int p = reserve(buffer, bytes, true);
+        write(buffer, p, encode(q));
+        buffer.position(p + bytes);
+    }
+
+    /**
+     * Encodes rotation quaternions at the position of a buffer, advancing the position.
+     *
+     * @param buffer      Buffer to write to
+     * @param quaternions Quaternions to encode
+     * @throws BufferOverflowException When the buffer cannot hold the encoded quaternions
+     */
+    public void put(@Nonnull ByteBuffer buffer, @Nonnull Quaternion... quaternions) {
+        final int start = reserve(buffer, (long) quaternions.length * bytes, true);
+
+        for (int i = 0; i < quaternions.length; i++) {
+            write(buffer, start + i * bytes, encode(quaternions[i]));
+        }
+
+        buffer.position(start + quaternions.length * bytes);
+    }
+
+    /**
+     * Decodes a rotation quaternion at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @return Decoded quaternion
+     * @throws BufferUnderflowException When the buffer has fewer than {@link #bytes()} bytes remaining
+     */
+    @Nonnull
+    public Quaternion get(@Nonnull ByteBuffer buffer) {
+        final int p = reserve(buffer, bytes, false);
+        final Quaternion q = decode(read(buffer, p));
+        buffer.position(p + bytes);
+        return q;
+    }
+
+    /**
+     * Decodes rotation quaternions at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param count  Number of quaternions to read
+     * @return Decoded quaternions
+     * @throws BufferUnderflowException When the buffer does not hold enough quaternions
+     */
+    @Nonnull
+    public Quaternion[] get(@Nonnull ByteBuffer buffer, int count) {
+        final int start = reserve(buffer, (long) count * bytes, false);
+        final Quaternion[] quaternions = new Quaternion[count];
+
+        for (int i = 0; i < count; i++) {
+            quaternions[i] = decode(read(buffer, start + i * bytes));
+        }
+
+        buffer.position(start + count * bytes);
+        return quaternions;
+    }
+
+    //
+    // Helpers
+    //
+
+    private long quantize(double v) {
+        // Rounding can push a component slightly past the range
+        return Math.min(levels, Math.max(0, Math.round((v + RANGE) * scale)));
+    }
+
+    private double dequantize(long code) {
+        return (code & componentMask) * step - RANGE;
+    }
+
+    private void write(ByteBuffer buffer, int offset, long code) {
+        for (int i = 0; i < bytes; i++) {
+            buffer.put(offset + i, (byte) (code >>> (i << 3)));
+        }
+    }
+
+    private long read(ByteBuffer buffer, int offset) {
+        long code = 0;
+
+        for (int i = 0; i < bytes; i++) {
+            code |= (buffer.get(offset + i) & 0xFFL) << (i << 3);
+        }
+
+        return code;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this codec to a string.
+     *
+     * @return Stringified codec
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "SmallestThreeCodec{" +
+                "bits=" + bits +
+                '}';
+    }
+}
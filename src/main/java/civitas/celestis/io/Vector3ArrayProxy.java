@@ -0,0 +1,100 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.io.*;
+
+/**
+ * <h2>Vector3ArrayProxy</h2>
+ * <p>
+ * The serialized form of a {@link Vector3Array}: its size followed by its vectors in the layout of
+ * {@link VectorCodec}, written in large chunks. Serializing an array of vectors this way writes no
+ * per-element object headers or handles, and reads back without creating a {@link civitas.celestis.math.vector.Vector3}
+ * per element.
+ * </p>
+ * <p>
+ * This class is public only because {@link Externalizable} requires it; it is not meant to be used directly.
+ * </p>
+ */
+public final class Vector3ArrayProxy implements Externalizable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates an empty proxy to deserialize into. Required by {@link Externalizable}.
+     */
+    public Vector3ArrayProxy() {}
+
+    /**
+     * Creates a proxy of an array.
+     *
+     * @param array Array to serialize
+     */
+    public Vector3ArrayProxy(@Nonnull Vector3Array array) {
+        this.array = array;
+    }
+
+    //
+    // Variables
+    //
+
+    private Vector3Array array;
+
+    //
+    // Externalizable
+    //
+
+    /**
+     * Writes the size and the vectors of the proxied array.
+     *
+     * @param out Stream to write to
+     * @throws IOException When an I/O error occurs
+     */
+    @Override
+    public void writeExternal(@Nonnull ObjectOutput out) throws IOException {
+        out.writeInt(array.size());
+        VectorCodec.write(out, array, 0, array.size());
+    }
+
+    /**
+     * Reads the size and the vectors of an array.
+     *
+     * @param in Stream to read from
+     * @throws IOException When an I/O error occurs or the size is negative
+     */
+    @Override
+    public void readExternal(@Nonnull ObjectInput in) throws IOException {
+        final int size = in.readInt();
+        if (size < 0) throw new InvalidObjectException("Size cannot be negative.");
+
+        // The size comes from the stream, so the array only grows as its vectors actually arrive
+        final Vector3Array chunk = new Vector3Array(Math.min(size, VectorCodec.CHUNK_VECTORS));
+        final double[] x = chunk.xs(), y = chunk.ys(), z = chunk.zs();
+
+        array = new Vector3Array(0);
+
+        for (int read = 0; read < size; ) {
+            final int count = Math.min(chunk.size(), size - read);
+            VectorCodec.read(in, chunk, 0, count);
+
+            array.ensureCapacity(read + count);
+            for (int i = 0; i < count; i++) array.append(x[i], y[i], z[i]);
+            read += count;
+        }
+    }
+
+    /**
+     * Resolves this proxy to the array it represents.
+     *
+     * @return Deserialized array
+     */
+    @Serial
+    private Object readResolve() {
+        return array;
+    }
+}
@@ -0,0 +1,21 @@
+package civitas.celestis.io;
+
+/**
+ * <h2>Vector3Consumer</h2>
+ * <p>
+ * Accepts three-dimensional vectors by their components, so that vectors stored outside the heap
+ * or decoded from a stream can be processed without creating a {@link civitas.celestis.math.vector.Vector3} each.
+ * </p>
+ */
+@FunctionalInterface
+public interface Vector3Consumer {
+    /**
+     * Accepts a vector.
+     *
+     * @param index Index of the vector in its source
+     * @param x     X value of the vector
+     * @param y     Y value of the vector
+     * @param z     Z value of the vector
+     */
+    void accept(long index, double x, double y, double z);
+}
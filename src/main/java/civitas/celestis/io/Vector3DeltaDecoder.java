@@ -0,0 +1,299 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.unit.LengthUnit;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static civitas.celestis.io.Vector3DeltaEncoder.unzigzag;
+
+/**
+ * <h2>Vector3DeltaDecoder</h2>
+ * <p>
+ * Decodes the frames written by a {@link Vector3DeltaEncoder}, in a single pass over the encoded bytes.
+ * The decoder must be created with the same resolution as the encoder, and must be given every frame
+ * since the last keyframe in order. Decoding can start at any keyframe.
+ * </p>
+ * <p>
+ * Decoded positions are multiples of the resolution, and differ from the encoded positions
+ * by at most half the resolution per component. As the decoder accumulates integers,
+ * no error builds up over long streams.
+ * </p>
+ * <p>
+ * Decoders keep the quantized previous frame and are not thread-safe.
+ * A frame is read completely before the decoder takes it as the previous frame, so a frame which fails
+ * to decode leaves the decoder unchanged. Buffers are also rewound to the start of the failed frame,
+ * which lets a truncated frame be decoded again once the rest of it has arrived.
+ * </p>
+ */
+public final class Vector3DeltaDecoder {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new decoder for positions in meters.
+     *
+     * @param resolution Resolution of encoded positions
+     * @param unit       Unit of {@code resolution}
+     * @throws IllegalArgumentException When the resolution is not positive
+     */
+    public Vector3DeltaDecoder(double resolution, @Nonnull LengthUnit unit) {
+        this(resolution, unit, LengthUnit.METER);
+    }
+
+    /**
+     * Creates a new decoder.
+     *
+     * @param resolution   Resolution of encoded positions
+     * @param unit         Unit of {@code resolution}
+     * @param positionUnit Unit of the decoded positions
+     * @throws IllegalArgumentException When the resolution is not positive
+     */
+    public Vector3DeltaDecoder(double resolution, @Nonnull LengthUnit unit, @Nonnull LengthUnit positionUnit) {
+        this.quantum = Vector3DeltaEncoder.quantum(resolution, unit, positionUnit);
+    }
+
+    //
+    // Variables
+    //
+
+    private final double quantum;
+
+    /**
+     * The quantized positions of the previous frame, followed by unused space.
+     */
+    private long[] state;
+
+    /**
+     * The positions of the frame being decoded. Swapped with {@link #state} once the frame is complete.
+     */
+    private long[] scratch = new long[0];
+
+    /**
+     * The number of positions of the previous frame.
+     */
+    private int count;
+
+    //
+    // Decoding
+    //
+
+    /**
+     * Decodes a frame at the position of a buffer, advancing the position.
+     * The contents of {@code dest} are replaced with the positions of the frame.
+     *
+     * @param buffer Buffer to read from
+     * @param dest   Array to write the positions to
+     * @throws BufferUnderflowException When the buffer does not hold a whole frame, in which case
+     *                                  neither the buffer, {@code dest} nor this decoder are changed
+     * @throws IllegalStateException    When the first frame given to this decoder is not a keyframe
+     */
+    public void decode(@Nonnull ByteBuffer buffer, @Nonnull Vector3Array dest) {
+        read(buffer);
+        write(dest);
+    }
+
+    /**
+     * Decodes a frame at the position of a buffer, advancing the position,
+     * and passes its positions to a consumer without storing them.
+     * Positions are only passed once the whole frame has been read.
+     *
+     * @param buffer Buffer to read from
+     * @param action Action to perform for every position of the frame
+     * @return Number of positions of the frame
+     * @throws BufferUnderflowException When the buffer does not hold a whole frame, in which case
+     *                                  neither the buffer nor this decoder are changed
+     * @throws IllegalStateException    When the first frame given to this decoder is not a keyframe
+     */
+    public int decode(@Nonnull ByteBuffer buffer, @Nonnull Vector3Consumer action) {
+        read(buffer);
+
+        final long[] s = state;
+
+        for (int i = 0, k = 0; i < count; i++, k += 3) {
+            action.accept(i, s[k] * quantum, s[k + 1] * quantum, s[k + 2] * quantum);
+        }
+
+        return count;
+    }
+
+    /**
+     * Decodes a frame from a stream. The contents of {@code dest} are replaced with the positions of the frame.
+     * Bytes are read one at a time, so the stream should be buffered.
+     *
+     * @param in   Stream to read from
+     * @param dest Array to write the positions to
+     * @return {@code false} if the stream ended before the frame, {@code true} otherwise
+     * @throws EOFException          When the stream ends within the frame, in which case
+     *                               neither {@code dest} nor this decoder are changed
+     * @throws IOException           When an I/O error occurs
+     * @throws IllegalStateException When the first frame given to this decoder is not a keyframe
+     */
+    public boolean decode(@Nonnull InputStream in, @Nonnull Vector3Array dest) throws IOException {
+        final int first = in.read();
+        if (first < 0) return false;
+
+        final long header = readVarLong(in, first);
+        final int size = size(header);
+        final boolean keyframe = (header & 1) != 0;
+
+        long[] n = scratch;
+
+        for (int k = 0, end = 3 * size; k < end; k += 3) {
+            if (k + 3 > n.length) n = grow(n, k + 3, end);
+
+            n[k] = previous(keyframe, k) + unzigzag(readVarLong(in, in.read()));
+            n[k + 1] = previous(keyframe, k + 1) + unzigzag(readVarLong(in, in.read()));
+            n[k + 2] = previous(keyframe, k + 2) + unzigzag(readVarLong(in, in.read()));
+        }
+
+        commit(n, size);
+        write(dest);
+
+        return true;
+    }
+
+    //
+    // Frames
+    //
+
+    /**
+     * Reads a whole frame from a buffer and makes it the previous frame.
+     * On failure, the position of the buffer and the state of this decoder are left unchanged.
+     */
+    private void read(ByteBuffer buffer) {
+        final int start = buffer.position();
+
+        try {
+            final long header = readVarLong(buffer);
+            final int size = size(header);
+            final boolean keyframe = (header & 1) != 0;
+
+            // Every component takes at least one byte, so a frame larger than the buffer is rejected before allocating
+            if (buffer.remaining() < 3L * size) throw new BufferUnderflowException();
+
+            long[] n = scratch;
+            if (n.length < 3 * size) n = grow(n, 3 * size, 3 * size);
+
+            for (int k = 0, end = 3 * size; k < end; k += 3) {
+                n[k] = previous(keyframe, k) + unzigzag(readVarLong(buffer));
+                n[k + 1] = previous(keyframe, k + 1) + unzigzag(readVarLong(buffer));
+                n[k + 2] = previous(keyframe, k + 2) + unzigzag(readVarLong(buffer));
+            }
+
+            commit(n, size);
+        } catch (final RuntimeException e) {
+            buffer.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of positions of a frame from its header.
+     *
+     * @param header Header of the frame
+     * @return Number of positions of the frame
+     */
+    private int size(long header) {
+        final boolean keyframe = (header & 1) != 0;
+        final long size = header >>> 1;
+
+        if (size > Integer.MAX_VALUE / 3) throw new IllegalArgumentException("Frame is too large.");
+        if (!keyframe && state == null) throw new IllegalStateException("Decoding must start at a keyframe.");
+
+        return (int) size;
+    }
+
+    /**
+     * Gets the quantized component of the previous frame which a component of the current frame is relative to.
+     */
+    private long previous(boolean keyframe, int k) {
+        // Keyframes, and positions past the end of the previous frame, are written relative to the origin
+        return keyframe || k >= 3 * count ? 0 : state[k];
+    }
+
+    /**
+     * Grows an array of quantized components, doubling its length up to {@code max}.
+     * Reading a stream grows the array as components arrive, so a corrupt header cannot force a huge allocation.
+     */
+    private long[] grow(long[] array, int needed, int max) {
+        final int length = (int) Math.min(max, Math.max(needed, Math.max(48, 2L * array.length)));
+        return scratch = Arrays.copyOf(array, length);
+    }
+
+    /**
+     * Makes a completely read frame the previous frame.
+     */
+    private void commit(long[] frame, int size) {
+        scratch = state == null ? new long[0] : state;
+        state = frame;
+        count = size;
+    }
+
+    /**
+     * Writes the positions of the previous frame to an array.
+     */
+    private void write(Vector3Array dest) {
+        final long[] s = state;
+
+        dest.clear();
+        dest.ensureCapacity(count);
+
+        for (int k = 0, end = 3 * count; k < end; k += 3) {
+            dest.append(s[k] * quantum, s[k + 1] * quantum, s[k + 2] * quantum);
+        }
+    }
+
+    //
+    // Varints
+    //
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long v = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = buffer.get();
+            v |= (b & 0x7FL) << shift;
+            if (b >= 0) return v;
+        }
+
+        throw new IllegalArgumentException("Malformed variable-length integer.");
+    }
+
+    private static long readVarLong(InputStream in, int first) throws IOException {
+        long v = 0;
+
+        for (int shift = 0, b = first; shift < 64; shift += 7, b = in.read()) {
+            if (b < 0) throw new EOFException();
+
+            v |= (b & 0x7FL) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+
+        throw new IllegalArgumentException("Malformed variable-length integer.");
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this decoder to a string.
+     *
+     * @return Stringified decoder
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3DeltaDecoder{" +
+                "quantum=" + quantum +
+                '}';
+    }
+}
@@ -0,0 +1,237 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.unit.LengthUnit;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <h2>Vector3DeltaEncoder</h2>
+ * <p>
+ * Encodes a stream of frames of positions, such as the entity positions of consecutive simulation ticks,
+ * into a compact byte stream which is decoded by a {@link Vector3DeltaDecoder} of the same resolution.
+ * </p>
+ * <p>
+ * Each component is quantized to a multiple of the resolution, and only the difference from the same component
+ * of the previous frame is written, as a zigzag-encoded variable-length integer of 7 bits per byte.
+ * Positions which move by less than 64 quanta per frame therefore take 3 bytes instead of
+ * {@value VectorCodec#VECTOR3_BYTES}, and positions at rest take 3 bytes regardless of their magnitude.
+ * </p>
+ * <p>
+ * A frame is a header, {@code count << 1 | keyframe}, followed by three integers per position.
+ * A keyframe does not depend on any earlier frame, so it can be used as a seek point of a replay file.
+ * The number of positions may change from frame to frame; positions past the end of the previous frame
+ * are written relative to the origin.
+ * </p>
+ * <p>
+ * Encoders keep the quantized previous frame and are not thread-safe.
+ * </p>
+ */
+public final class Vector3DeltaEncoder {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new encoder for positions in meters.
+     *
+     * @param resolution Resolution of encoded positions
+     * @param unit       Unit of {@code resolution}
+     * @throws IllegalArgumentException When the resolution is not positive
+     */
+    public Vector3DeltaEncoder(double resolution, @Nonnull LengthUnit unit) {
+        this(resolution, unit, LengthUnit.METER);
+    }
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param resolution   Resolution of encoded positions
+     * @param unit         Unit of {@code resolution}
+     * @param positionUnit Unit of the positions to encode
+     * @throws IllegalArgumentException When the resolution is not positive
+     */
+    public Vector3DeltaEncoder(double resolution, @Nonnull LengthUnit unit, @Nonnull LengthUnit positionUnit) {
+        this.scale = 1 / quantum(resolution, unit, positionUnit);
+    }
+
+    /**
+     * Gets the quantum of positions, expressed in the unit of the positions.
+     *
+     * @param resolution   Resolution of encoded positions
+     * @param unit         Unit of {@code resolution}
+     * @param positionUnit Unit of the positions
+     * @return Quantum
+     */
+    static double quantum(double resolution, LengthUnit unit, LengthUnit positionUnit) {
+        final double quantum = positionUnit.convert(unit, resolution);
+        if (!(quantum > 0 && quantum < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Resolution must be positive and finite.");
+        }
+
+        return quantum;
+    }
+
+    //
+    // Variables
+    //
+
+    private final double scale;
+    private long[] previous = new long[0];
+    private long[] next = new long[0];
+    private boolean keyframe = true;
+    private byte[] scratch = new byte[0];
+
+    //
+    // Encoding
+    //
+
+    /**
+     * Makes the next frame a keyframe.
+     */
+    public void reset() {
+        // Keyframes are written relative to the origin
+        Arrays.fill(previous, 0);
+        keyframe = true;
+    }
+
+    /**
+     * Encodes a frame at the position of a buffer, advancing the position.
+     * When the buffer is too small, neither the buffer nor this encoder are modified.
+     *
+     * @param frame  Positions of the frame
+     * @param buffer Buffer to write to
+     * @return Number of bytes written
+     * @throws BufferOverflowException When the buffer cannot hold the encoded frame
+     */
+    public int encode(@Nonnull Vector3Array frame, @Nonnull ByteBuffer buffer) {
+        final int length = encode(frame);
+        if (buffer.remaining() < length) throw new BufferOverflowException();
+
+        buffer.put(scratch, 0, length);
+        commit(frame.size());
+
+        return length;
+    }
+
+    /**
+     * Encodes a frame to a stream.
+     *
+     * @param frame Positions of the frame
+     * @param out   Stream to write to
+     * @return Number of bytes written
+     * @throws IOException When an I/O error occurs
+     */
+    public int encode(@Nonnull Vector3Array frame, @Nonnull OutputStream out) throws IOException {
+        final int length = encode(frame);
+
+        out.write(scratch, 0, length);
+        commit(frame.size());
+
+        return length;
+    }
+
+    /**
+     * Encodes a frame into the scratch buffer, and its quantized positions into {@link #next}.
+     *
+     * @return Number of bytes encoded
+     */
+    private int encode(Vector3Array frame) {
+        final int size = frame.size();
+        final double[] x = frame.xs();
+        final double[] y = frame.ys();
+        final double[] z = frame.zs();
+
+        // A header and three components of at most 10 bytes each
+        final long capacity = 10 + 30L * size;
+        if (capacity > Integer.MAX_VALUE) throw new IllegalArgumentException("Frame is too large.");
+        if (scratch.length < capacity) scratch = new byte[(int) capacity];
+
+        final int length = Math.max(3 * size, previous.length);
+        if (next.length < length) next = new long[length];
+
+        final long[] base = previous;
+        int p = writeVarLong(scratch, 0, (long) size << 1 | (keyframe ? 1 : 0));
+
+        for (int i = 0, k = 0; i < size; i++, k += 3) {
+            final long qx = Math.round(x[i] * scale);
+            final long qy = Math.round(y[i] * scale);
+            final long qz = Math.round(z[i] * scale);
+
+            p = writeVarLong(scratch, p, zigzag(qx - (k < base.length ? base[k] : 0)));
+            p = writeVarLong(scratch, p, zigzag(qy - (k + 1 < base.length ? base[k + 1] : 0)));
+            p = writeVarLong(scratch, p, zigzag(qz - (k + 2 < base.length ? base[k + 2] : 0)));
+
+            next[k] = qx;
+            next[k + 1] = qy;
+            next[k + 2] = qz;
+        }
+
+        return p;
+    }
+
+    /**
+     * Makes the last encoded frame the previous frame.
+     */
+    private void commit(int size) {
+        final long[] swap = previous;
+        previous = next;
+        next = swap;
+
+        // Positions past the end of this frame are relative to the origin in the next frame
+        if (previous.length > 3 * size) Arrays.fill(previous, 3 * size, previous.length, 0);
+        if (next.length < previous.length) next = new long[previous.length];
+
+        keyframe = false;
+    }
+
+    //
+    // Varints
+    //
+
+    /**
+     * Maps signed integers to unsigned integers so that integers of small magnitude have few significant bits.
+     */
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    /**
+     * Inverse of {@link #zigzag(long)}.
+     */
+    static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static int writeVarLong(byte[] dest, int p, long v) {
+        while ((v & ~0x7FL) != 0) {
+            dest[p++] = (byte) (v | 0x80);
+            v >>>= 7;
+        }
+
+        dest[p++] = (byte) v;
+        return p;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this encoder to a string.
+     *
+     * @return Stringified encoder
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3DeltaEncoder{" +
+                "quantum=" + (1 / scale) +
+                '}';
+    }
+}
@@ -0,0 +1,592 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.vector.MutableVector3;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static civitas.celestis.io.VectorCodec.DOUBLE;
+import static civitas.celestis.io.VectorCodec.VECTOR3_BYTES;
+
+/**
+ * <h2>Vector3Store</h2>
+ * <p>
+ * A fixed-size array of three-dimensional vectors stored outside the heap, indexed by {@code long}.
+ * Vectors use the layout of {@link VectorCodec} and are packed back to back in chunks of
+ * {@value #CHUNK_VECTORS} vectors, so a store is not limited to the 2 GiB of a single {@link ByteBuffer}
+ * and no vector spans two chunks.
+ * </p>
+ * <p>
+ * Bulk operations act on a range {@code [from, to)} of indices and read or modify the storage in place.
+ * Like {@link Vector3Array}, components are not validated when they are written.
+ * Stores are not thread-safe, but disjoint ranges may be processed by different threads.
+ * </p>
+ */
+public abstract class Vector3Store {
+    /**
+     * The number of vectors in each chunk of a store.
+     */
+    public static final int CHUNK_VECTORS = 1 << 25;
+
+    static final int CHUNK_SHIFT = 25;
+    static final int CHUNK_MASK = CHUNK_VECTORS - 1;
+
+    /**
+     * The chunks of every released store.
+     */
+    static final ByteBuffer[] RELEASED = new ByteBuffer[0];
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new store over given chunks.
+     *
+     * @param chunks Chunks of {@link #CHUNK_VECTORS} vectors each, except for the last
+     * @param size   Number of vectors
+     */
+    Vector3Store(@Nonnull ByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of chunks needed to hold given number of vectors.
+     *
+     * @param size Number of vectors
+     * @return Number of chunks
+     */
+    static int chunkCount(long size) {
+        if (size < 0) throw new IllegalArgumentException("Size cannot be negative.");
+
+        final long count = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("Size is too large.");
+
+        return (int) count;
+    }
+
+    /**
+     * Gets the number of bytes of a chunk.
+     *
+     * @param size  Number of vectors in the store
+     * @param chunk Index of the chunk
+     * @return Number of bytes
+     */
+    static int chunkBytes(long size, int chunk) {
+        return (int) Math.min(CHUNK_VECTORS, size - ((long) chunk << CHUNK_SHIFT)) * VECTOR3_BYTES;
+    }
+
+    //
+    // Variables
+    //
+
+    /**
+     * The chunks of this store. Replaced with {@link #RELEASED} once the store is released.
+     */
+    ByteBuffer[] chunks;
+    private final long size;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of vectors in this store.
+     *
+     * @return Number of vectors
+     */
+    public final long size() {return size;}
+
+    /**
+     * Gets the X value of the vector at given index.
+     *
+     * @param i Index of vector
+     * @return X value
+     */
+    public final double x(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i));
+    }
+
+    /**
+     * Gets the Y value of the vector at given index.
+     *
+     * @param i Index of vector
+     * @return Y value
+     */
+    public final double y(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i) + 8);
+    }
+
+    /**
+     * Gets the Z value of the vector at given index.
+     *
+     * @param i Index of vector
+     * @return Z value
+     */
+    public final double z(long i) {
+        return (double) DOUBLE.get(chunk(i), offset(i) + 16);
+    }
+
+    /**
+     * Gets the vector at given index.
+     *
+     * @param i Index of vector
+     * @return Vector at given index
+     * @throws IllegalArgumentException When the stored vector is not finite
+     */
+    @Nonnull
+    public final Vector3 get(long i) {
+        return VectorCodec.getVector3(chunk(i), offset(i));
+    }
+
+    /**
+     * Copies the vector at given index into {@code dest}.
+     *
+     * @param i    Index of vector
+     * @param dest Vector to write to
+     * @return {@code dest}
+     */
+    @Nonnull
+    public final MutableVector3 get(long i, @Nonnull MutableVector3 dest) {
+        final ByteBuffer c = chunk(i);
+        final int p = offset(i);
+
+        return dest.set((double) DOUBLE.get(c, p), (double) DOUBLE.get(c, p + 8), (double) DOUBLE.get(c, p + 16));
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the vector at given index.
+     *
+     * @param i Index of vector
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     */
+    public final void set(long i, double x, double y, double z) {
+        final ByteBuffer c = chunk(i);
+        final int p = offset(i);
+
+        DOUBLE.set(c, p, x);
+        DOUBLE.set(c, p + 8, y);
+        DOUBLE.set(c, p + 16, z);
+    }
+
+    /**
+     * Sets the vector at given index.
+     *
+     * @param i Index of vector
+     * @param v Vector to set
+     */
+    public final void set(long i, @Nonnull Vector3 v) {
+        set(i, v.x(), v.y(), v.z());
+    }
+
+    //
+    // Transfer
+    //
+
+    /**
+     * Copies vectors from this store into a range of an array.
+     *
+     * @param from     Index of first vector of this store to copy
+     * @param dest     Array to copy to
+     * @param destFrom Index of first vector of {@code dest} (inclusive)
+     * @param destTo   Index of last vector of {@code dest} (exclusive)
+     */
+    public final void read(long from, @Nonnull Vector3Array dest, int destFrom, int destTo) {
+        Objects.checkFromToIndex(destFrom, destTo, dest.size());
+
+        final long to = from + (destTo - destFrom);
+        Objects.checkFromToIndex(from, to, size);
+
+        final double[] x = dest.xs();
+        final double[] y = dest.ys();
+        final double[] z = dest.zs();
+        int j = destFrom;
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, j++, p += VECTOR3_BYTES) {
+                x[j] = (double) DOUBLE.get(c, p);
+                y[j] = (double) DOUBLE.get(c, p + 8);
+                z[j] = (double) DOUBLE.get(c, p + 16);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Copies a range of an array into this store.
+     *
+     * @param from    Index of first vector of this store to overwrite
+     * @param src     Array to copy from
+     * @param srcFrom Index of first vector of {@code src} (inclusive)
+     * @param srcTo   Index of last vector of {@code src} (exclusive)
+     */
+    public final void write(long from, @Nonnull Vector3Array src, int srcFrom, int srcTo) {
+        Objects.checkFromToIndex(srcFrom, srcTo, src.size());
+
+        final long to = from + (srcTo - srcFrom);
+        Objects.checkFromToIndex(from, to, size);
+
+        final double[] x = src.xs();
+        final double[] y = src.ys();
+        final double[] z = src.zs();
+        int j = srcFrom;
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, j++, p += VECTOR3_BYTES) {
+                DOUBLE.set(c, p, x[j]);
+                DOUBLE.set(c, p + 8, y[j]);
+                DOUBLE.set(c, p + 16, z[j]);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Passes every vector of this store to a consumer, in order.
+     *
+     * @param action Action to perform
+     */
+    public final void forEach(@Nonnull Vector3Consumer action) {
+        forEach(0, size, action);
+    }
+
+    /**
+     * Passes every vector in given range to a consumer, in order.
+     *
+     * @param from   Index of first vector (inclusive)
+     * @param to     Index of last vector (exclusive)
+     * @param action Action to perform
+     */
+    public final void forEach(long from, long to, @Nonnull Vector3Consumer action) {
+        Objects.checkFromToIndex(from, to, size);
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                action.accept(i + k, (double) DOUBLE.get(c, p), (double) DOUBLE.get(c, p + 8), (double) DOUBLE.get(c, p + 16));
+            }
+
+            i += count;
+        }
+    }
+
+    //
+    // Bulk Arithmetic
+    //
+
+    /**
+     * Adds a vector to every vector in this store.
+     *
+     * @param v Vector to add
+     */
+    public final void add(@Nonnull Vector3 v) {
+        add(v, 0, size);
+    }
+
+    /**
+     * Adds a vector to every vector in given range.
+     *
+     * @param v    Vector to add
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public final void add(@Nonnull Vector3 v, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        final double vx = v.x();
+        final double vy = v.y();
+        final double vz = v.z();
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                DOUBLE.set(c, p, (double) DOUBLE.get(c, p) + vx);
+                DOUBLE.set(c, p + 8, (double) DOUBLE.get(c, p + 8) + vy);
+                DOUBLE.set(c, p + 16, (double) DOUBLE.get(c, p + 16) + vz);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Adds the vectors of another store to the vectors of this store, element by element.
+     *
+     * @param v Store of vectors to add
+     */
+    public final void add(@Nonnull Vector3Store v) {
+        add(v, 0, size);
+    }
+
+    /**
+     * Adds the vectors of another store to the vectors of this store in given range, element by element.
+     *
+     * @param v    Store of vectors to add
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public final void add(@Nonnull Vector3Store v, long from, long to) {
+        addScaled(v, 1, from, to);
+    }
+
+    /**
+     * Adds the vectors of another store multiplied by a scalar to the vectors of this store, element by element.
+     * This is the step of explicit Euler integration, e.g. {@code positions.addScaled(velocities, dt)}.
+     *
+     * @param v Store of vectors to add
+     * @param s Scalar to multiply {@code v} with
+     */
+    public final void addScaled(@Nonnull Vector3Store v, double s) {
+        addScaled(v, s, 0, size);
+    }
+
+    /**
+     * Adds the vectors of another store multiplied by a scalar to the vectors of this store in given range,
+     * element by element.
+     *
+     * @param v    Store of vectors to add
+     * @param s    Scalar to multiply {@code v} with
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public final void addScaled(@Nonnull Vector3Store v, double s, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+        Objects.checkFromToIndex(from, to, v.size);
+        v.checkOpen();
+
+        // Both stores use the same chunk size, so the same index lies at the same offset of the same chunk
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+            final ByteBuffer d = v.chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                DOUBLE.set(c, p, (double) DOUBLE.get(c, p) + (double) DOUBLE.get(d, p) * s);
+                DOUBLE.set(c, p + 8, (double) DOUBLE.get(c, p + 8) + (double) DOUBLE.get(d, p + 8) * s);
+                DOUBLE.set(c, p + 16, (double) DOUBLE.get(c, p + 16) + (double) DOUBLE.get(d, p + 16) * s);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Multiplies every vector in this store by a scalar.
+     *
+     * @param s Scalar to multiply with
+     */
+    public final void scale(double s) {
+        scale(s, 0, size);
+    }
+
+    /**
+     * Multiplies every vector in given range by a scalar.
+     *
+     * @param s    Scalar to multiply with
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public final void scale(double s, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                DOUBLE.set(c, p, (double) DOUBLE.get(c, p) * s);
+                DOUBLE.set(c, p + 8, (double) DOUBLE.get(c, p + 8) * s);
+                DOUBLE.set(c, p + 16, (double) DOUBLE.get(c, p + 16) * s);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Normalizes every vector in this store. Zero vectors are left unchanged.
+     */
+    public final void normalize() {
+        normalize(0, size);
+    }
+
+    /**
+     * Normalizes every vector in given range. Zero vectors are left unchanged.
+     *
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public final void normalize(long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                final double x = (double) DOUBLE.get(c, p);
+                final double y = (double) DOUBLE.get(c, p + 8);
+                final double z = (double) DOUBLE.get(c, p + 16);
+
+                final double m2 = x * x + y * y + z * z;
+                if (m2 == 0) continue;
+
+                final double isqrt = 1 / Math.sqrt(m2);
+
+                DOUBLE.set(c, p, x * isqrt);
+                DOUBLE.set(c, p + 8, y * isqrt);
+                DOUBLE.set(c, p + 16, z * isqrt);
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Rotates every vector in this store by a rotation quaternion.
+     *
+     * @param rq Rotation quaternion to rotate by
+     */
+    public final void rotate(@Nonnull Quaternion rq) {
+        rotate(rq, 0, size);
+    }
+
+    /**
+     * Rotates every vector in given range by a rotation quaternion.
+     * The result is identical to {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param rq   Rotation quaternion to rotate by
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public final void rotate(@Nonnull Quaternion rq, long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        final double w = rq.w();
+        final double qx = rq.x();
+        final double qy = rq.y();
+        final double qz = rq.z();
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                final double x = (double) DOUBLE.get(c, p);
+                final double y = (double) DOUBLE.get(c, p + 8);
+                final double z = (double) DOUBLE.get(c, p + 16);
+
+                // t = 2 * (v x q)
+                final double tx = 2 * (y * qz - z * qy);
+                final double ty = 2 * (z * qx - x * qz);
+                final double tz = 2 * (x * qy - y * qx);
+
+                // v' = v + w * t + t x q
+                DOUBLE.set(c, p, x + w * tx + (ty * qz - tz * qy));
+                DOUBLE.set(c, p + 8, y + w * ty + (tz * qx - tx * qz));
+                DOUBLE.set(c, p + 16, z + w * tz + (tx * qy - ty * qx));
+            }
+
+            i += count;
+        }
+    }
+
+    /**
+     * Gets the sum of every vector in this store.
+     *
+     * @return Sum of vectors
+     */
+    @Nonnull
+    public final Vector3 sum() {
+        return sum(0, size);
+    }
+
+    /**
+     * Gets the sum of the vectors in given range.
+     * Dividing it by the number of vectors gives their centroid.
+     *
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     * @return Sum of vectors
+     */
+    @Nonnull
+    public final Vector3 sum(long from, long to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        double x = 0, y = 0, z = 0;
+
+        for (long i = from; i < to; ) {
+            final int count = run(i, to);
+            final ByteBuffer c = chunks[(int) (i >>> CHUNK_SHIFT)];
+
+            for (int k = 0, p = offset(i); k < count; k++, p += VECTOR3_BYTES) {
+                x += (double) DOUBLE.get(c, p);
+                y += (double) DOUBLE.get(c, p + 8);
+                z += (double) DOUBLE.get(c, p + 16);
+            }
+
+            i += count;
+        }
+
+        return new Vector3(x, y, z);
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Gets the chunk holding the vector at given index.
+     */
+    final ByteBuffer chunk(long i) {
+        Objects.checkIndex(i, size);
+
+        checkOpen();
+        return chunks[(int) (i >>> CHUNK_SHIFT)];
+    }
+
+    /**
+     * Checks that this store has not been released.
+     */
+    final void checkOpen() {
+        if (chunks == RELEASED) throw new IllegalStateException("This store has been released.");
+    }
+
+    /**
+     * Gets the byte offset of the vector at given index within its chunk.
+     */
+    static int offset(long i) {
+        return (int) (i & CHUNK_MASK) * VECTOR3_BYTES;
+    }
+
+    /**
+     * Gets the number of vectors from index {@code i} to {@code to} which lie in the same chunk as {@code i}.
+     */
+    final int run(long i, long to) {
+        checkOpen();
+        return (int) Math.min(to - i, CHUNK_VECTORS - (i & CHUNK_MASK));
+    }
+}
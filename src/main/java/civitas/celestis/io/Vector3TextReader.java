@@ -0,0 +1,393 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.vector.Vector3Array;
+import civitas.celestis.math.vector.VectorParser;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * <h2>Vector3TextReader</h2>
+ * <p>
+ * Reads three-dimensional vectors from text, one vector per line. Each line is either the string form
+ * of a {@link civitas.celestis.math.vector.Vector3}, e.g. {@code Vector3{x=1.0, y=2.0, z=3.0}},
+ * or a comma-separated triple, e.g. {@code 1.0, 2.0, 3.0}. Both forms may be mixed, lines may end with
+ * {@code \n} or {@code \r\n}, and blank lines are skipped.
+ * </p>
+ * <p>
+ * Text is parsed byte by byte straight from the buffers it is read or mapped into, so no {@link String}
+ * or {@link civitas.celestis.math.vector.Vector3} is created per line. Components are converted by
+ * {@link civitas.celestis.math.Numbers#parseDouble(CharSequence, int, int)}, which only creates a string
+ * for the rare numbers it cannot round with certainty, such as subnormals. The text must be ASCII, which
+ * covers every output of {@link Vector3Array#appendLines(Appendable, int, int)} and
+ * {@link Vector3Array#appendCsv(Appendable, int, int)}. A malformed line or a non-finite component
+ * makes the whole read fail with a {@link NumberFormatException} giving the byte offset of the line.
+ * </p>
+ */
+public final class Vector3TextReader {
+    /**
+     * The initial size of the buffer used to read channels. Grows to fit longer lines.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The largest region of a file which is mapped at once.
+     */
+    private static final int WINDOW_SIZE = 1 << 30;
+
+    /**
+     * The smallest number of bytes worth parsing on a separate thread.
+     */
+    private static final long MIN_PARALLEL_BYTES = 1 << 22;
+
+    private Vector3TextReader() {}
+
+    //
+    // Channels
+    //
+
+    /**
+     * Reads every vector of a channel, passing them to a consumer in order.
+     * The channel is read until its end, but not closed.
+     *
+     * @param channel Channel to read from
+     * @param action  Action to perform for every vector
+     * @return Number of vectors read
+     * @throws IOException           When an I/O error occurs
+     * @throws NumberFormatException When a line is not a vector
+     */
+    public static long read(@Nonnull ReadableByteChannel channel, @Nonnull Vector3Consumer action) throws IOException {
+        final LineParser parser = new LineParser(action);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final ByteSequence text = new ByteSequence(buffer, 0);
+
+        // Offset of the start of the buffer in the channel, and index of the first byte not yet searched for a newline
+        long base = 0;
+        int scanned = 0;
+
+        while (true) {
+            final int n = channel.read(buffer);
+            final int end = buffer.position();
+            text.reset(buffer, end);
+
+            if (n < 0) {
+                parser.parse(text, 0, end, base);
+                return parser.count;
+            }
+
+            // Parse every complete line
+            int start = 0;
+
+            for (int i = scanned; i < end; i++) {
+                if (buffer.get(i) != '\n') continue;
+
+                parser.parseLine(text, start, i, base + start);
+                start = i + 1;
+            }
+
+            // Keep the incomplete last line, growing the buffer if it fills the buffer
+            if (start == 0 && end == buffer.capacity()) {
+                buffer = ByteBuffer.allocate(buffer.capacity() << 1).put(buffer.flip());
+            } else {
+                buffer.flip().position(start);
+                buffer.compact();
+            }
+
+            base += start;
+            scanned = end - start;
+        }
+    }
+
+    /**
+     * Reads every vector of a channel, appending them to an array.
+     * The channel is read until its end, but not closed.
+     *
+     * @param channel Channel to read from
+     * @param dest    Array to append the vectors to
+     * @throws IOException           When an I/O error occurs
+     * @throws NumberFormatException When a line is not a vector
+     */
+    public static void read(@Nonnull ReadableByteChannel channel, @Nonnull Vector3Array dest) throws IOException {
+        read(channel, (i, x, y, z) -> dest.append(x, y, z));
+    }
+
+    //
+    // Files
+    //
+
+    /**
+     * Reads every vector of a file by mapping it into memory, passing them to a consumer in order.
+     *
+     * @param path   Path of file to read
+     * @param action Action to perform for every vector
+     * @return Number of vectors read
+     * @throws IOException           When an I/O error occurs
+     * @throws NumberFormatException When a line is not a vector
+     */
+    public static long read(@Nonnull Path path, @Nonnull Vector3Consumer action) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final LineParser parser = new LineParser(action);
+            parse(channel, 0, channel.size(), parser);
+            return parser.count;
+        }
+    }
+
+    /**
+     * Reads every vector of a file by mapping it into memory.
+     *
+     * @param path Path of file to read
+     * @return Array of vectors, in the order of the file
+     * @throws IOException           When an I/O error occurs
+     * @throws NumberFormatException When a line is not a vector
+     */
+    @Nonnull
+    public static Vector3Array read(@Nonnull Path path) throws IOException {
+        final Vector3Array result = new Vector3Array(0);
+        read(path, (i, x, y, z) -> result.append(x, y, z));
+        return result;
+    }
+
+    /**
+     * Reads every vector of a file in parallel. The file is mapped into memory and split at line boundaries
+     * into chunks which are parsed by the common {@link ForkJoinPool}, then joined in the order of the file.
+     * Files smaller than a few megabytes are read by the calling thread alone.
+     *
+     * @param path Path of file to read
+     * @return Array of vectors, in the order of the file
+     * @throws IOException           When an I/O error occurs
+     * @throws NumberFormatException When a line is not a vector
+     */
+    @Nonnull
+    public static Vector3Array readParallel(@Nonnull Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long chunks = Math.max(
+                    Math.min(ForkJoinPool.getCommonPoolParallelism() * 4L, size / MIN_PARALLEL_BYTES),
+                    (size + WINDOW_SIZE - 1) / WINDOW_SIZE
+            );
+
+            // Move every boundary past the end of the line it falls in
+            final long[] bounds = new long[(int) Math.max(1, chunks) + 1];
+            bounds[bounds.length - 1] = size;
+
+            for (int i = 1; i < bounds.length - 1; i++) {
+                bounds[i] = Math.max(bounds[i - 1], nextLine(channel, size * i / (bounds.length - 1), size));
+            }
+
+            final List<Callable<Vector3Array>> tasks = new ArrayList<>(bounds.length - 1);
+
+            for (int i = 0; i < bounds.length - 1; i++) {
+                final long from = bounds[i], to = bounds[i + 1];
+
+                tasks.add(() -> {
+                    final Vector3Array part = new Vector3Array(0);
+                    parse(channel, from, to, new LineParser((j, x, y, z) -> part.append(x, y, z)));
+                    return part;
+                });
+            }
+
+            final List<Vector3Array> parts = new ArrayList<>(tasks.size());
+
+            if (tasks.size() == 1) {
+                parts.add(call(tasks.get(0)));
+            } else {
+                for (final Future<Vector3Array> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    parts.add(join(future));
+                }
+            }
+
+            return concat(parts);
+        }
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Parses the lines of a region of a file, mapping it one window at a time.
+     * The region must start at the beginning of a line.
+     */
+    private static void parse(FileChannel channel, long from, long to, LineParser parser) throws IOException {
+        long position = from;
+
+        while (position < to) {
+            final int length = (int) Math.min(WINDOW_SIZE, to - position);
+            final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            final ByteSequence text = new ByteSequence(window, length);
+
+            // Only the last window may end within a line
+            int end = length;
+
+            if (position + length < to) {
+                while (end > 0 && window.get(end - 1) != '\n') end--;
+                if (end == 0) throw new NumberFormatException("Line at byte " + position + " is too long.");
+            }
+
+            parser.parse(text, 0, end, position);
+            position += end;
+        }
+    }
+
+    /**
+     * Finds the start of the line after the one containing given offset.
+     */
+    private static long nextLine(FileChannel channel, long offset, long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        for (long position = offset; position < size; ) {
+            buffer.clear();
+            final int n = channel.read(buffer, position);
+            if (n < 0) break;
+
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') return position + i + 1;
+            }
+
+            position += n;
+        }
+
+        return size;
+    }
+
+    private static Vector3Array concat(List<Vector3Array> parts) {
+        long total = 0;
+        for (final Vector3Array part : parts) total += part.size();
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("File holds too many vectors for an array.");
+
+        if (parts.size() == 1) return parts.get(0);
+
+        final Vector3Array result = new Vector3Array((int) total);
+        int offset = 0;
+
+        for (final Vector3Array part : parts) {
+            System.arraycopy(part.xs(), 0, result.xs(), offset, part.size());
+            System.arraycopy(part.ys(), 0, result.ys(), offset, part.size());
+            System.arraycopy(part.zs(), 0, result.zs(), offset, part.size());
+            offset += part.size();
+        }
+
+        return result;
+    }
+
+    private static Vector3Array call(Callable<Vector3Array> task) throws IOException {
+        try {
+            return task.call();
+        } catch (final IOException | RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Vector3Array join(Future<Vector3Array> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading.", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof UncheckedIOException io) throw io.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Parses lines of text, passing their vectors to a consumer.
+     */
+    private static final class LineParser {
+        private LineParser(Vector3Consumer action) {
+            this.action = action;
+        }
+
+        private final Vector3Consumer action;
+        private final double[] xyz = new double[3];
+        private long count;
+
+        /**
+         * Parses every line of a range, the last of which may lack a newline.
+         *
+         * @param offset Offset of {@code from} in the input, for error messages
+         */
+        void parse(ByteSequence text, int from, int to, long offset) {
+            int start = from;
+
+            for (int i = from; i < to; i++) {
+                if (text.charAt(i) != '\n') continue;
+
+                parseLine(text, start, i, offset + start - from);
+                start = i + 1;
+            }
+
+            if (start < to) parseLine(text, start, to, offset + start - from);
+        }
+
+        /**
+         * Parses a line, without its newline.
+         *
+         * @param offset Offset of {@code from} in the input, for error messages
+         */
+        void parseLine(ByteSequence text, int from, int to, long offset) {
+            // Trim whitespace, including the carriage return of CRLF line endings
+            while (from < to && text.charAt(from) <= ' ') from++;
+            while (to > from && text.charAt(to - 1) <= ' ') to--;
+            if (from == to) return;
+
+            final boolean valid = text.charAt(from) == 'V'
+                    ? VectorParser.parseVector3(text, from, to, xyz, 0)
+                    : parseTriple(text, from, to);
+
+            if (!valid) throw new NumberFormatException("Malformed vector at byte " + offset + ".");
+
+            action.accept(count++, xyz[0], xyz[1], xyz[2]);
+        }
+
+        /**
+         * Parses three comma-separated numbers, each of which may be surrounded by whitespace.
+         */
+        private boolean parseTriple(ByteSequence text, int from, int to) {
+            int start = from;
+
+            for (int k = 0; k < 3; k++) {
+                int end = start;
+                while (end < to && text.charAt(end) != ',') end++;
+
+                // The last number must end the line, and the others must be followed by a comma
+                if ((k == 2) != (end == to)) return false;
+
+                int a = start, b = end;
+                while (a < b && text.charAt(a) <= ' ') a++;
+                while (b > a && text.charAt(b - 1) <= ' ') b--;
+
+                final double value = Numbers.parseDouble(text, a, b);
+                if (!Double.isFinite(value)) return false;
+
+                xyz[k] = value;
+                start = end + 1;
+            }
+
+            return true;
+        }
+    }
+}
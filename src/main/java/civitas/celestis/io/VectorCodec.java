@@ -0,0 +1,876 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector2;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import civitas.celestis.math.vector.Vector4;
+import jakarta.annotation.Nonnull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * <h2>VectorCodec</h2>
+ * <p>
+ * Encodes vectors, quaternions and rotations in a fixed binary layout.
+ * Each component is an IEEE 754 double in little-endian byte order, written in declaration order
+ * with no header or padding:
+ * </p>
+ * <ul>
+ *     <li>{@link Vector2}: {@code x, y} ({@value #VECTOR2_BYTES} bytes)</li>
+ *     <li>{@link Vector3}: {@code x, y, z} ({@value #VECTOR3_BYTES} bytes)</li>
+ *     <li>{@link Vector4} and {@link Quaternion}: {@code w, x, y, z} ({@value #VECTOR4_BYTES} bytes)</li>
+ *     <li>{@link Rotation}: {@code angle, x, y, z} ({@value #VECTOR4_BYTES} bytes)</li>
+ * </ul>
+ * <p>
+ * The layout does not depend on the {@link ByteOrder} of a buffer, and the order of a buffer is never changed.
+ * Relative methods advance the position of a buffer, and absolute methods take a byte offset and leave it untouched,
+ * so elements of a direct or memory-mapped buffer can be read in place.
+ * Decoded values are validated by the constructors of their types,
+ * except when decoding into a {@link Vector3Array}, which does not validate its components.
+ * </p>
+ */
+public final class VectorCodec {
+    /**
+     * The number of bytes of an encoded {@link Vector2}.
+     */
+    public static final int VECTOR2_BYTES = 2 * Double.BYTES;
+
+    /**
+     * The number of bytes of an encoded {@link Vector3}.
+     */
+    public static final int VECTOR3_BYTES = 3 * Double.BYTES;
+
+    /**
+     * The number of bytes of an encoded {@link Vector4}, {@link Quaternion} or {@link Rotation}.
+     */
+    public static final int VECTOR4_BYTES = 4 * Double.BYTES;
+
+    /**
+     * Accesses doubles of any buffer in little-endian order, whatever the order of the buffer.
+     * Shared with the other classes of this package which use the same layout.
+     */
+    static final VarHandle DOUBLE =
+            MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The size of the chunks used to encode arrays for streams.
+     */
+    static final int CHUNK_VECTORS = 512;
+
+    private VectorCodec() {}
+
+    //
+    // ByteBuffer (Relative)
+    //
+
+    /**
+     * Writes a vector at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to write to
+     * @param v      Vector to write
+     * @throws BufferOverflowException When the buffer has fewer than {@value #VECTOR2_BYTES} bytes remaining
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector2 v) {
+        final int p = reserve(buffer, VECTOR2_BYTES, true);
+        put(buffer, p, v);
+        buffer.position(p + VECTOR2_BYTES);
+    }
+
+    /**
+     * Writes a vector at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to write to
+     * @param v      Vector to write
+     * @throws BufferOverflowException When the buffer has fewer than {@value #VECTOR3_BYTES} bytes remaining
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector3 v) {
+        final int p = reserve(buffer, VECTOR3_BYTES, true);
+        put(buffer, p, v);
+        buffer.position(p + VECTOR3_BYTES);
+    }
+
+    /**
+     * Writes a vector, quaternion or rotation at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to write to
+     * @param v      Vector to write
+     * @throws BufferOverflowException When the buffer has fewer than {@value #VECTOR4_BYTES} bytes remaining
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector4 v) {
+        final int p = reserve(buffer, VECTOR4_BYTES, true);
+        put(buffer, p, v);
+        buffer.position(p + VECTOR4_BYTES);
+    }
+
+    /**
+     * Reads a vector at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @return Decoded vector
+     * @throws BufferUnderflowException When the buffer has fewer than {@value #VECTOR2_BYTES} bytes remaining
+     */
+    @Nonnull
+    public static Vector2 getVector2(@Nonnull ByteBuffer buffer) {
+        final int p = reserve(buffer, VECTOR2_BYTES, false);
+        final Vector2 v = getVector2(buffer, p);
+        buffer.position(p + VECTOR2_BYTES);
+        return v;
+    }
+
+    /**
+     * Reads a vector at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @return Decoded vector
+     * @throws BufferUnderflowException When the buffer has fewer than {@value #VECTOR3_BYTES} bytes remaining
+     */
+    @Nonnull
+    public static Vector3 getVector3(@Nonnull ByteBuffer buffer) {
+        final int p = reserve(buffer, VECTOR3_BYTES, false);
+        final Vector3 v = getVector3(buffer, p);
+        buffer.position(p + VECTOR3_BYTES);
+        return v;
+    }
+
+    /**
+     * Reads a vector at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @return Decoded vector
+     * @throws BufferUnderflowException When the buffer has fewer than {@value #VECTOR4_BYTES} bytes remaining
+     */
+    @Nonnull
+    public static Vector4 getVector4(@Nonnull ByteBuffer buffer) {
+        final int p = reserve(buffer, VECTOR4_BYTES, false);
+        final Vector4 v = getVector4(buffer, p);
+        buffer.position(p + VECTOR4_BYTES);
+        return v;
+    }
+
+    /**
+     * Reads a quaternion at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @return Decoded quaternion
+     * @throws BufferUnderflowException When the buffer has fewer than {@value #VECTOR4_BYTES} bytes remaining
+     */
+    @Nonnull
+    public static Quaternion getQuaternion(@Nonnull ByteBuffer buffer) {
+        final int p = reserve(buffer, VECTOR4_BYTES, false);
+        final Quaternion q = getQuaternion(buffer, p);
+        buffer.position(p + VECTOR4_BYTES);
+        return q;
+    }
+
+    /**
+     * Reads a rotation at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @return Decoded rotation
+     * @throws BufferUnderflowException When the buffer has fewer than {@value #VECTOR4_BYTES} bytes remaining
+     */
+    @Nonnull
+    public static Rotation getRotation(@Nonnull ByteBuffer buffer) {
+        final int p = reserve(buffer, VECTOR4_BYTES, false);
+        final Rotation r = getRotation(buffer, p);
+        buffer.position(p + VECTOR4_BYTES);
+        return r;
+    }
+
+    //
+    // ByteBuffer (Absolute)
+    //
+
+    /**
+     * Writes a vector at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to write to
+     * @param offset Byte offset to write at
+     * @param v      Vector to write
+     */
+    public static void put(@Nonnull ByteBuffer buffer, int offset, @Nonnull Vector2 v) {
+        DOUBLE.set(buffer, offset, v.x());
+        DOUBLE.set(buffer, offset + 8, v.y());
+    }
+
+    /**
+     * Writes a vector at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to write to
+     * @param offset Byte offset to write at
+     * @param v      Vector to write
+     */
+    public static void put(@Nonnull ByteBuffer buffer, int offset, @Nonnull Vector3 v) {
+        DOUBLE.set(buffer, offset, v.x());
+        DOUBLE.set(buffer, offset + 8, v.y());
+        DOUBLE.set(buffer, offset + 16, v.z());
+    }
+
+    /**
+     * Writes a vector, quaternion or rotation at given byte offset of a buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to write to
+     * @param offset Byte offset to write at
+     * @param v      Vector to write
+     */
+    public static void put(@Nonnull ByteBuffer buffer, int offset, @Nonnull Vector4 v) {
+        DOUBLE.set(buffer, offset, v.w());
+        DOUBLE.set(buffer, offset + 8, v.x());
+        DOUBLE.set(buffer, offset + 16, v.y());
+        DOUBLE.set(buffer, offset + 24, v.z());
+    }
+
+    /**
+     * Reads a vector at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to read from
+     * @param offset Byte offset to read at
+     * @return Decoded vector
+     */
+    @Nonnull
+    public static Vector2 getVector2(@Nonnull ByteBuffer buffer, int offset) {
+        return new Vector2(
+                (double) DOUBLE.get(buffer, offset),
+                (double) DOUBLE.get(buffer, offset + 8)
+        );
+    }
+
+    /**
+     * Reads a vector at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to read from
+     * @param offset Byte offset to read at
+     * @return Decoded vector
+     */
+    @Nonnull
+    public static Vector3 getVector3(@Nonnull ByteBuffer buffer, int offset) {
+        return new Vector3(
+                (double) DOUBLE.get(buffer, offset),
+                (double) DOUBLE.get(buffer, offset + 8),
+                (double) DOUBLE.get(buffer, offset + 16)
+        );
+    }
+
+    /**
+     * Reads a vector at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to read from
+     * @param offset Byte offset to read at
+     * @return Decoded vector
+     */
+    @Nonnull
+    public static Vector4 getVector4(@Nonnull ByteBuffer buffer, int offset) {
+        return new Vector4(
+                (double) DOUBLE.get(buffer, offset),
+                (double) DOUBLE.get(buffer, offset + 8),
+                (double) DOUBLE.get(buffer, offset + 16),
+                (double) DOUBLE.get(buffer, offset + 24)
+        );
+    }
+
+    /**
+     * Reads a quaternion at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to read from
+     * @param offset Byte offset to read at
+     * @return Decoded quaternion
+     */
+    @Nonnull
+    public static Quaternion getQuaternion(@Nonnull ByteBuffer buffer, int offset) {
+        return new Quaternion(
+                (double) DOUBLE.get(buffer, offset),
+                (double) DOUBLE.get(buffer, offset + 8),
+                (double) DOUBLE.get(buffer, offset + 16),
+                (double) DOUBLE.get(buffer, offset + 24)
+        );
+    }
+
+    /**
+     * Reads a rotation at given byte offset of a buffer. The position of the buffer is not changed.
+     *
+     * @param buffer Buffer to read from
+     * @param offset Byte offset to read at
+     * @return Decoded rotation
+     */
+    @Nonnull
+    public static Rotation getRotation(@Nonnull ByteBuffer buffer, int offset) {
+        return new Rotation(
+                (double) DOUBLE.get(buffer, offset),
+                (double) DOUBLE.get(buffer, offset + 8),
+                (double) DOUBLE.get(buffer, offset + 16),
+                (double) DOUBLE.get(buffer, offset + 24)
+        );
+    }
+
+    //
+    // ByteBuffer (Bulk)
+    //
+
+    /**
+     * Writes a range of vectors at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to write to
+     * @param array  Array of vectors to write
+     * @param from   Index of first vector (inclusive)
+     * @param to     Index of last vector (exclusive)
+     * @throws BufferOverflowException When the buffer cannot hold the vectors
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector3Array array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.size());
+
+        final int start = reserve(buffer, (long) (to - from) * VECTOR3_BYTES, true);
+        final double[] x = array.xs();
+        final double[] y = array.ys();
+        final double[] z = array.zs();
+
+        for (int i = from, p = start; i < to; i++, p += VECTOR3_BYTES) {
+            DOUBLE.set(buffer, p, x[i]);
+            DOUBLE.set(buffer, p + 8, y[i]);
+            DOUBLE.set(buffer, p + 16, z[i]);
+        }
+
+        buffer.position(start + (to - from) * VECTOR3_BYTES);
+    }
+
+    /**
+     * Reads vectors at the position of a buffer into a range of an array, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param array  Array to write the vectors to
+     * @param from   Index of first vector (inclusive)
+     * @param to     Index of last vector (exclusive)
+     * @throws BufferUnderflowException When the buffer does not hold enough vectors
+     */
+    public static void get(@Nonnull ByteBuffer buffer, @Nonnull Vector3Array array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.size());
+
+        final int start = reserve(buffer, (long) (to - from) * VECTOR3_BYTES, false);
+        final double[] x = array.xs();
+        final double[] y = array.ys();
+        final double[] z = array.zs();
+
+        for (int i = from, p = start; i < to; i++, p += VECTOR3_BYTES) {
+            x[i] = (double) DOUBLE.get(buffer, p);
+            y[i] = (double) DOUBLE.get(buffer, p + 8);
+            z[i] = (double) DOUBLE.get(buffer, p + 16);
+        }
+
+        buffer.position(start + (to - from) * VECTOR3_BYTES);
+    }
+
+    /**
+     * Writes vectors at the position of a buffer, advancing the position.
+     *
+     * @param buffer  Buffer to write to
+     * @param vectors Vectors to write
+     * @throws BufferOverflowException When the buffer cannot hold the vectors
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector2... vectors) {
+        final int start = reserve(buffer, (long) vectors.length * VECTOR2_BYTES, true);
+
+        for (int i = 0; i < vectors.length; i++) {
+            put(buffer, start + i * VECTOR2_BYTES, vectors[i]);
+        }
+
+        buffer.position(start + vectors.length * VECTOR2_BYTES);
+    }
+
+    /**
+     * Writes vectors at the position of a buffer, advancing the position.
+     *
+     * @param buffer  Buffer to write to
+     * @param vectors Vectors to write
+     * @throws BufferOverflowException When the buffer cannot hold the vectors
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector3... vectors) {
+        final int start = reserve(buffer, (long) vectors.length * VECTOR3_BYTES, true);
+
+        for (int i = 0; i < vectors.length; i++) {
+            put(buffer, start + i * VECTOR3_BYTES, vectors[i]);
+        }
+
+        buffer.position(start + vectors.length * VECTOR3_BYTES);
+    }
+
+    /**
+     * Writes vectors, quaternions or rotations at the position of a buffer, advancing the position.
+     *
+     * @param buffer  Buffer to write to
+     * @param vectors Vectors to write
+     * @throws BufferOverflowException When the buffer cannot hold the vectors
+     */
+    public static void put(@Nonnull ByteBuffer buffer, @Nonnull Vector4... vectors) {
+        final int start = reserve(buffer, (long) vectors.length * VECTOR4_BYTES, true);
+
+        for (int i = 0; i < vectors.length; i++) {
+            put(buffer, start + i * VECTOR4_BYTES, vectors[i]);
+        }
+
+        buffer.position(start + vectors.length * VECTOR4_BYTES);
+    }
+
+    /**
+     * Reads vectors at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param count  Number of vectors to read
+     * @return Decoded vectors
+     * @throws BufferUnderflowException When the buffer does not hold enough vectors
+     */
+    @Nonnull
+    public static Vector2[] getVector2s(@Nonnull ByteBuffer buffer, int count) {
+        final int start = reserve(buffer, (long) count * VECTOR2_BYTES, false);
+        final Vector2[] vectors = new Vector2[count];
+
+        for (int i = 0; i < count; i++) {
+            vectors[i] = getVector2(buffer, start + i * VECTOR2_BYTES);
+        }
+
+        buffer.position(start + count * VECTOR2_BYTES);
+        return vectors;
+    }
+
+    /**
+     * Reads vectors at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param count  Number of vectors to read
+     * @return Decoded vectors
+     * @throws BufferUnderflowException When the buffer does not hold enough vectors
+     */
+    @Nonnull
+    public static Vector3[] getVector3s(@Nonnull ByteBuffer buffer, int count) {
+        final int start = reserve(buffer, (long) count * VECTOR3_BYTES, false);
+        final Vector3[] vectors = new Vector3[count];
+
+        for (int i = 0; i < count; i++) {
+            vectors[i] = getVector3(buffer, start + i * VECTOR3_BYTES);
+        }
+
+        buffer.position(start + count * VECTOR3_BYTES);
+        return vectors;
+    }
+
+    /**
+     * Reads vectors at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param count  Number of vectors to read
+     * @return Decoded vectors
+     * @throws BufferUnderflowException When the buffer does not hold enough vectors
+     */
+    @Nonnull
+    public static Vector4[] getVector4s(@Nonnull ByteBuffer buffer, int count) {
+        final int start = reserve(buffer, (long) count * VECTOR4_BYTES, false);
+        final Vector4[] vectors = new Vector4[count];
+
+        for (int i = 0; i < count; i++) {
+            vectors[i] = getVector4(buffer, start + i * VECTOR4_BYTES);
+        }
+
+        buffer.position(start + count * VECTOR4_BYTES);
+        return vectors;
+    }
+
+    /**
+     * Reads quaternions at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param count  Number of quaternions to read
+     * @return Decoded quaternions
+     * @throws BufferUnderflowException When the buffer does not hold enough quaternions
+     */
+    @Nonnull
+    public static Quaternion[] getQuaternions(@Nonnull ByteBuffer buffer, int count) {
+        final int start = reserve(buffer, (long) count * VECTOR4_BYTES, false);
+        final Quaternion[] quaternions = new Quaternion[count];
+
+        for (int i = 0; i < count; i++) {
+            quaternions[i] = getQuaternion(buffer, start + i * VECTOR4_BYTES);
+        }
+
+        buffer.position(start + count * VECTOR4_BYTES);
+        return quaternions;
+    }
+
+    /**
+     * Reads rotations at the position of a buffer, advancing the position.
+     *
+     * @param buffer Buffer to read from
+     * @param count  Number of rotations to read
+     * @return Decoded rotations
+     * @throws BufferUnderflowException When the buffer does not hold enough rotations
+     */
+    @Nonnull
+    public static Rotation[] getRotations(@Nonnull ByteBuffer buffer, int count) {
+        final int start = reserve(buffer, (long) count * VECTOR4_BYTES, false);
+        final Rotation[] rotations = new Rotation[count];
+
+        for (int i = 0; i < count; i++) {
+            rotations[i] = getRotation(buffer, start + i * VECTOR4_BYTES);
+        }
+
+        buffer.position(start + count * VECTOR4_BYTES);
+        return rotations;
+    }
+
+    //
+    // Streams
+    //
+
+    /**
+     * Writes a vector to a stream.
+     *
+     * @param out Stream to write to
+     * @param v   Vector to write
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector2 v) throws IOException {
+        writeDouble(out, v.x());
+        writeDouble(out, v.y());
+    }
+
+    /**
+     * Writes a vector to a stream.
+     *
+     * @param out Stream to write to
+     * @param v   Vector to write
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector3 v) throws IOException {
+        writeDouble(out, v.x());
+        writeDouble(out, v.y());
+        writeDouble(out, v.z());
+    }
+
+    /**
+     * Writes a vector, quaternion or rotation to a stream.
+     *
+     * @param out Stream to write to
+     * @param v   Vector to write
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector4 v) throws IOException {
+        writeDouble(out, v.w());
+        writeDouble(out, v.x());
+        writeDouble(out, v.y());
+        writeDouble(out, v.z());
+    }
+
+    /**
+     * Reads a vector from a stream.
+     *
+     * @param in Stream to read from
+     * @return Decoded vector
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Vector2 readVector2(@Nonnull DataInput in) throws IOException {
+        return new Vector2(readDouble(in), readDouble(in));
+    }
+
+    /**
+     * Reads a vector from a stream.
+     *
+     * @param in Stream to read from
+     * @return Decoded vector
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Vector3 readVector3(@Nonnull DataInput in) throws IOException {
+        return new Vector3(readDouble(in), readDouble(in), readDouble(in));
+    }
+
+    /**
+     * Reads a vector from a stream.
+     *
+     * @param in Stream to read from
+     * @return Decoded vector
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Vector4 readVector4(@Nonnull DataInput in) throws IOException {
+        return new Vector4(readDouble(in), readDouble(in), readDouble(in), readDouble(in));
+    }
+
+    /**
+     * Reads a quaternion from a stream.
+     *
+     * @param in Stream to read from
+     * @return Decoded quaternion
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Quaternion readQuaternion(@Nonnull DataInput in) throws IOException {
+        return new Quaternion(readDouble(in), readDouble(in), readDouble(in), readDouble(in));
+    }
+
+    /**
+     * Reads a rotation from a stream.
+     *
+     * @param in Stream to read from
+     * @return Decoded rotation
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Rotation readRotation(@Nonnull DataInput in) throws IOException {
+        return new Rotation(readDouble(in), readDouble(in), readDouble(in), readDouble(in));
+    }
+
+    /**
+     * Writes vectors to a stream.
+     * The vectors are encoded in chunks, so the stream sees a few large writes.
+     *
+     * @param out     Stream to write to
+     * @param vectors Vectors to write
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector2... vectors) throws IOException {
+        write(out, vectors, VECTOR2_BYTES, VectorCodec::put);
+    }
+
+    /**
+     * Writes vectors to a stream.
+     * The vectors are encoded in chunks, so the stream sees a few large writes.
+     *
+     * @param out     Stream to write to
+     * @param vectors Vectors to write
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector3... vectors) throws IOException {
+        write(out, vectors, VECTOR3_BYTES, VectorCodec::put);
+    }
+
+    /**
+     * Writes vectors, quaternions or rotations to a stream.
+     * The vectors are encoded in chunks, so the stream sees a few large writes.
+     *
+     * @param out     Stream to write to
+     * @param vectors Vectors to write
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector4... vectors) throws IOException {
+        write(out, vectors, VECTOR4_BYTES, VectorCodec::put);
+    }
+
+    /**
+     * Reads vectors from a stream.
+     * The vectors are decoded in chunks, and the result grows as they arrive,
+     * so a count taken from the stream itself cannot force a large allocation.
+     *
+     * @param in    Stream to read from
+     * @param count Number of vectors to read
+     * @return Decoded vectors
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Vector2[] readVector2s(@Nonnull DataInput in, int count) throws IOException {
+        return read(in, count, VECTOR2_BYTES, Vector2[]::new, VectorCodec::getVector2);
+    }
+
+    /**
+     * Reads vectors from a stream.
+     * The vectors are decoded in chunks, and the result grows as they arrive,
+     * so a count taken from the stream itself cannot force a large allocation.
+     *
+     * @param in    Stream to read from
+     * @param count Number of vectors to read
+     * @return Decoded vectors
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Vector3[] readVector3s(@Nonnull DataInput in, int count) throws IOException {
+        return read(in, count, VECTOR3_BYTES, Vector3[]::new, VectorCodec::getVector3);
+    }
+
+    /**
+     * Reads vectors from a stream.
+     * The vectors are decoded in chunks, and the result grows as they arrive,
+     * so a count taken from the stream itself cannot force a large allocation.
+     *
+     * @param in    Stream to read from
+     * @param count Number of vectors to read
+     * @return Decoded vectors
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Vector4[] readVector4s(@Nonnull DataInput in, int count) throws IOException {
+        return read(in, count, VECTOR4_BYTES, Vector4[]::new, VectorCodec::getVector4);
+    }
+
+    /**
+     * Reads quaternions from a stream.
+     * The quaternions are decoded in chunks, and the result grows as they arrive,
+     * so a count taken from the stream itself cannot force a large allocation.
+     *
+     * @param in    Stream to read from
+     * @param count Number of quaternions to read
+     * @return Decoded quaternions
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Quaternion[] readQuaternions(@Nonnull DataInput in, int count) throws IOException {
+        return read(in, count, VECTOR4_BYTES, Quaternion[]::new, VectorCodec::getQuaternion);
+    }
+
+    /**
+     * Reads rotations from a stream.
+     * The rotations are decoded in chunks, and the result grows as they arrive,
+     * so a count taken from the stream itself cannot force a large allocation.
+     *
+     * @param in    Stream to read from
+     * @param count Number of rotations to read
+     * @return Decoded rotations
+     * @throws IOException When an I/O error occurs
+     */
+    @Nonnull
+    public static Rotation[] readRotations(@Nonnull DataInput in, int count) throws IOException {
+        return read(in, count, VECTOR4_BYTES, Rotation[]::new, VectorCodec::getRotation);
+    }
+
+    /**
+     * Writes a range of vectors to a stream.
+     * The vectors are encoded in chunks, so the stream sees a few large writes.
+     *
+     * @param out   Stream to write to
+     * @param array Array of vectors to write
+     * @param from  Index of first vector (inclusive)
+     * @param to    Index of last vector (exclusive)
+     * @throws IOException When an I/O error occurs
+     */
+    public static void write(@Nonnull DataOutput out, @Nonnull Vector3Array array, int from, int to) throws IOException {
+        Objects.checkFromToIndex(from, to, array.size());
+
+        final ByteBuffer chunk = ByteBuffer.allocate(Math.min(to - from, CHUNK_VECTORS) * VECTOR3_BYTES);
+
+        for (int i = from; i < to; i += CHUNK_VECTORS) {
+            final int end = Math.min(to, i + CHUNK_VECTORS);
+
+            chunk.clear();
+            put(chunk, array, i, end);
+            out.write(chunk.array(), 0, chunk.position());
+        }
+    }
+
+    /**
+     * Reads vectors from a stream into a range of an array.
+     * The vectors are decoded in chunks, so the stream sees a few large reads.
+     *
+     * @param in    Stream to read from
+     * @param array Array to write the vectors to
+     * @param from  Index of first vector (inclusive)
+     * @param to    Index of last vector (exclusive)
+     * @throws IOException When an I/O error occurs
+     */
+    public static void read(@Nonnull DataInput in, @Nonnull Vector3Array array, int from, int to) throws IOException {
+        Objects.checkFromToIndex(from, to, array.size());
+
+        final ByteBuffer chunk = ByteBuffer.allocate(Math.min(to - from, CHUNK_VECTORS) * VECTOR3_BYTES);
+
+        for (int i = from; i < to; i += CHUNK_VECTORS) {
+            final int end = Math.min(to, i + CHUNK_VECTORS);
+            final int bytes = (end - i) * VECTOR3_BYTES;
+
+            in.readFully(chunk.array(), 0, bytes);
+            chunk.clear().limit(bytes);
+            get(chunk, array, i, end);
+        }
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Checks that a buffer has enough bytes remaining.
+     *
+     * @return The current position of the buffer
+     */
+    static int reserve(ByteBuffer buffer, long bytes, boolean write) {
+        if (bytes < 0) throw new IllegalArgumentException("Count cannot be negative.");
+        if (buffer.remaining() < bytes) throw write ? new BufferOverflowException() : new BufferUnderflowException();
+
+        return buffer.position();
+    }
+
+    /**
+     * Encodes an element at an absolute offset of a buffer.
+     */
+    @FunctionalInterface
+    private interface Encoder<T> {
+        void put(ByteBuffer buffer, int offset, T value);
+    }
+
+    /**
+     * Decodes an element at an absolute offset of a buffer.
+     */
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T get(ByteBuffer buffer, int offset);
+    }
+
+    /**
+     * Writes elements to a stream in chunks of {@link #CHUNK_VECTORS}.
+     */
+    private static <T> void write(DataOutput out, T[] values, int bytes, Encoder<? super T> encoder) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(Math.min(values.length, CHUNK_VECTORS) * bytes);
+
+        for (int i = 0; i < values.length; i += CHUNK_VECTORS) {
+            final int end = Math.min(values.length, i + CHUNK_VECTORS);
+
+            for (int j = i; j < end; j++) {
+                encoder.put(chunk, (j - i) * bytes, values[j]);
+            }
+
+            out.write(chunk.array(), 0, (end - i) * bytes);
+        }
+    }
+
+    /**
+     * Reads elements from a stream in chunks of {@link #CHUNK_VECTORS}, growing the result as they arrive.
+     */
+    private static <T> T[] read(DataInput in, int count, int bytes, IntFunction<T[]> array, Decoder<T> decoder)
+            throws IOException {
+        if (count < 0) throw new IllegalArgumentException("Count cannot be negative.");
+
+        final ByteBuffer chunk = ByteBuffer.allocate(Math.min(count, CHUNK_VECTORS) * bytes);
+        T[] values = array.apply(Math.min(count, CHUNK_VECTORS));
+
+        for (int i = 0; i < count; i += CHUNK_VECTORS) {
+            final int end = Math.min(count, i + CHUNK_VECTORS);
+            in.readFully(chunk.array(), 0, (end - i) * bytes);
+
+            if (end > values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(count, Math.max(end, 2L * values.length)));
+            }
+
+            for (int j = i; j < end; j++) {
+                values[j] = decoder.get(chunk, (j - i) * bytes);
+            }
+        }
+
+        return values;
+    }
+
+    private static void writeDouble(DataOutput out, double v) throws IOException {
+        out.writeLong(Long.reverseBytes(Double.doubleToRawLongBits(v)));
+    }
+
+    private static double readDouble(DataInput in) throws IOException {
+        return Double.longBitsToDouble(Long.reverseBytes(in.readLong()));
+    }
+}
@@ -0,0 +1,191 @@
+package civitas.celestis.io;
+
+import civitas.celestis.math.quaternion.FloatQuaternion;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.FloatRotation;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.*;
+import jakarta.annotation.Nonnull;
+
+import java.io.*;
+
+/**
+ * <h2>VectorProxy</h2>
+ * <p>
+ * The serialized form of every vector, quaternion and rotation.
+ * Each of these types replaces itself with a proxy when it is serialized, so a stream holds a single
+ * class descriptor for all of them, and each instance is written as a one-byte type tag followed by its
+ * components as raw doubles or floats, instead of a descriptor per type and reflectively accessed fields.
+ * </p>
+ * <p>
+ * Deserialized proxies resolve to instances created through public constructors,
+ * so components read from a stream are validated like any other input.
+ * This class is public only because {@link Externalizable} requires it; it is not meant to be used directly.
+ * </p>
+ */
+public final class VectorProxy implements Externalizable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final byte VECTOR2 = 0;
+    private static final byte VECTOR3 = 1;
+    private static final byte VECTOR4 = 2;
+    private static final byte QUATERNION = 3;
+    private static final byte ROTATION = 4;
+    private static final byte FLOAT_VECTOR2 = 5;
+    private static final byte FLOAT_VECTOR3 = 6;
+    private static final byte FLOAT_VECTOR4 = 7;
+    private static final byte FLOAT_QUATERNION = 8;
+    private static final byte FLOAT_ROTATION = 9;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates an empty proxy to deserialize into. Required by {@link Externalizable}.
+     */
+    public VectorProxy() {}
+
+    /**
+     * Creates a proxy of a vector.
+     *
+     * @param v Vector to serialize
+     */
+    public VectorProxy(@Nonnull Vector v) {
+        // Subclasses come before their superclasses
+        if (v instanceof Vector3 v3) {
+            set(VECTOR3, v3.x(), v3.y(), v3.z(), 0);
+        } else if (v instanceof Quaternion q) {
+            set(QUATERNION, q.w(), q.x(), q.y(), q.z());
+        } else if (v instanceof Rotation r) {
+            set(ROTATION, r.w(), r.x(), r.y(), r.z());
+        } else if (v instanceof Vector4 v4) {
+            set(VECTOR4, v4.w(), v4.x(), v4.y(), v4.z());
+        } else if (v instanceof Vector2 v2) {
+            set(VECTOR2, v2.x(), v2.y(), 0, 0);
+        } else if (v instanceof FloatVector3 v3) {
+            set(FLOAT_VECTOR3, v3.x(), v3.y(), v3.z(), 0);
+        } else if (v instanceof FloatQuaternion q) {
+            set(FLOAT_QUATERNION, q.w(), q.x(), q.y(), q.z());
+        } else if (v instanceof FloatRotation r) {
+            set(FLOAT_ROTATION, r.w(), r.x(), r.y(), r.z());
+        } else if (v instanceof FloatVector4 v4) {
+            set(FLOAT_VECTOR4, v4.w(), v4.x(), v4.y(), v4.z());
+        } else if (v instanceof FloatVector2 v2) {
+            set(FLOAT_VECTOR2, v2.x(), v2.y(), 0, 0);
+        } else {
+            throw new IllegalArgumentException("Unknown vector type: " + v.getClass().getName());
+        }
+    }
+
+    //
+    // Variables
+    //
+
+    private byte type;
+    private double a;
+    private double b;
+    private double c;
+    private double d;
+
+    private void set(byte type, double a, double b, double c, double d) {
+        this.type = type;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+    }
+
+    //
+    // Externalizable
+    //
+
+    /**
+     * Writes the type tag and the components of the proxied vector.
+     *
+     * @param out Stream to write to
+     * @throws IOException When an I/O error occurs
+     */
+    @Override
+    public void writeExternal(@Nonnull ObjectOutput out) throws IOException {
+        out.writeByte(type);
+
+        final int dimensions = dimensions(type);
+
+        if (type >= FLOAT_VECTOR2) {
+            out.writeFloat((float) a);
+            out.writeFloat((float) b);
+            if (dimensions > 2) out.writeFloat((float) c);
+            if (dimensions > 3) out.writeFloat((float) d);
+        } else {
+            out.writeDouble(a);
+            out.writeDouble(b);
+            if (dimensions > 2) out.writeDouble(c);
+            if (dimensions > 3) out.writeDouble(d);
+        }
+    }
+
+    /**
+     * Reads the type tag and the components of a vector.
+     *
+     * @param in Stream to read from
+     * @throws IOException When an I/O error occurs or the type tag is unknown
+     */
+    @Override
+    public void readExternal(@Nonnull ObjectInput in) throws IOException {
+        type = in.readByte();
+
+        final int dimensions = dimensions(type);
+
+        if (type >= FLOAT_VECTOR2) {
+            a = in.readFloat();
+            b = in.readFloat();
+            if (dimensions > 2) c = in.readFloat();
+            if (dimensions > 3) d = in.readFloat();
+        } else {
+            a = in.readDouble();
+            b = in.readDouble();
+            if (dimensions > 2) c = in.readDouble();
+            if (dimensions > 3) d = in.readDouble();
+        }
+    }
+
+    /**
+     * Resolves this proxy to the vector it represents.
+     *
+     * @return Deserialized vector
+     * @throws InvalidObjectException When the components are not finite
+     */
+    @Serial
+    private Object readResolve() throws InvalidObjectException {
+        try {
+            return switch (type) {
+                case VECTOR2 -> new Vector2(a, b);
+                case VECTOR3 -> new Vector3(a, b, c);
+                case VECTOR4 -> new Vector4(a, b, c, d);
+                case QUATERNION -> new Quaternion(a, b, c, d);
+                case ROTATION -> new Rotation(a, b, c, d);
+                case FLOAT_VECTOR2 -> new FloatVector2((float) a, (float) b);
+                case FLOAT_VECTOR3 -> new FloatVector3((float) a, (float) b, (float) c);
+                case FLOAT_VECTOR4 -> new FloatVector4((float) a, (float) b, (float) c, (float) d);
+                case FLOAT_QUATERNION -> new FloatQuaternion((float) a, (float) b, (float) c, (float) d);
+                case FLOAT_ROTATION -> new FloatRotation((float) a, (float) b, (float) c, (float) d);
+                default -> throw new InvalidObjectException("Unknown vector type: " + type);
+            };
+        } catch (final IllegalArgumentException e) {
+            final InvalidObjectException exception = new InvalidObjectException(e.getMessage());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private static int dimensions(byte type) throws InvalidObjectException {
+        return switch (type) {
+            case VECTOR2, FLOAT_VECTOR2 -> 2;
+            case VECTOR3, FLOAT_VECTOR3 -> 3;
+            case VECTOR4, QUATERNION, ROTATION, FLOAT_VECTOR4, FLOAT_QUATERNION, FLOAT_ROTATION -> 4;
+            default -> throw new InvalidObjectException("Unknown vector type: " + type);
+        };
+    }
+}
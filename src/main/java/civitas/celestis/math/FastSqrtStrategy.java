@@ -0,0 +1,39 @@
+package civitas.celestis.math;
+
+/**
+ * <h2>FastSqrtStrategy</h2>
+ * <p>The fast inverse square root approximation, refined by Newton's method.</p>
+ *
+ * @param iterations Number of Newton iterations
+ * @see SqrtStrategy#fast(int)
+ */
+record FastSqrtStrategy(int iterations) implements SqrtStrategy {
+    FastSqrtStrategy {
+        if (iterations < 0) throw new IllegalArgumentException("Number of iterations cannot be negative.");
+    }
+
+    @Override
+    public double isqrt(double x) {
+        double result = x;
+        double xhalf = 0.5d * result;
+
+        long l = Double.doubleToLongBits(result);
+
+        // Fast inverse square root
+        l = 0x5fe6ec85e7de30daL - (l >> 1);
+
+        result = Double.longBitsToDouble(l);
+
+        // Newton's method
+        for (int i = 0; i < iterations; i++) {
+            result = result * (1.5d - xhalf * result * result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FAST(" + iterations + ")";
+    }
+}
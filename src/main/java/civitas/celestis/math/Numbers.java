@@ -1,10 +1,41 @@
 package civitas.celestis.math;
 
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Objects;
+
 /**
  * <h2>Numbers</h2>
  * <p>A numerical utility class.</p>
  */
 public final class Numbers {
+    /**
+     * The name of the system property used to select the initial square root strategy.
+     *
+     * @see SqrtStrategy#parseStrategy(String)
+     */
+    public static final String SQRT_STRATEGY_PROPERTY = "civitas.celestis.math.sqrt";
+
+    /**
+     * The name of the system property used to enable debug mode.
+     *
+     * @see #DEBUG
+     */
+    public static final String DEBUG_PROPERTY = "civitas.celestis.math.debug";
+
+    /**
+     * Whether debug mode is enabled. ({@code -Dcivitas.celestis.math.debug=true})
+     * In debug mode, the results of arithmetic and of {@code unchecked} factories
+     * are validated to be finite, just like values passed to public constructors.
+     */
+    public static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+
+    private static volatile SqrtStrategy sqrtStrategy =
+            SqrtStrategy.parseStrategy(System.getProperty(SQRT_STRATEGY_PROPERTY, "exact"));
+
     /**
      * Denotes explicitly that a given field requires a finite value.
      *
@@ -18,27 +49,352 @@ public final class Numbers {
     }
 
     /**
-     * Gets the inverse square root of given number.
+     * Denotes explicitly that a given field requires a finite value.
+     *
+     * @param v Value to check
+     * @return Value given as parameter
+     */
+    public static float requireFinite(float v) {
+        if (!Float.isFinite(v)) throw new IllegalArgumentException("Given field requires a finite float.");
+
+        return v;
+    }
+
+    /**
+     * Gets the global square root strategy.
+     *
+     * @return Square root strategy
+     */
+    @Nonnull
+    public static SqrtStrategy getSqrtStrategy() {
+        return sqrtStrategy;
+    }
+
+    /**
+     * Sets the global square root strategy.
+     * This affects the magnitude and normalization of every vector class,
+     * and is meant to be set once at startup.
+     *
+     * @param strategy Square root strategy
+     */
+    public static void setSqrtStrategy(@Nonnull SqrtStrategy strategy) {
+        sqrtStrategy = Objects.requireNonNull(strategy);
+    }
+
+    /**
+     * Gets the square root of given number, using the global strategy.
+     *
+     * @param x Number to square root
+     * @return Square root
+     */
+    public static double sqrt(double x) {
+        return sqrtStrategy.sqrt(x);
+    }
+
+    /**
+     * Gets the inverse square root of given number, using the global strategy.
      *
      * @param x Number to inverse square root
      * @return Inverse square root
      */
     public static double isqrt(double x) {
-        double result = x;
-        double xhalf = 0.5d * result;
+        return sqrtStrategy.isqrt(x);
+    }
+
+    /**
+     * Parses a decimal number from a range of characters without throwing exceptions.
+     * Accepts an optional sign, digits with an optional fraction, and an optional exponent,
+     * which covers every finite value produced by {@link Double#toString(double)}.
+     * <p>
+     * The first 19 significant digits are read into a {@code long}. Numbers with at most 15 significant digits
+     * and a small exponent are converted exactly with a single multiplication or division, and other numbers
+     * are converted with the Eisel-Lemire algorithm, which multiplies by a 128-bit power of ten.
+     * Neither path allocates. The few numbers which the algorithm cannot round with certainty
+     * (results within a hair of a halfway point, more than 19 significant digits whose tail could change
+     * the rounding, and subnormal or overflowing results) are converted by {@link Double#parseDouble(String)}
+     * instead, which creates a string. Every result is correctly rounded.
+     * </p>
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed number, or {@code NaN} if the range is not a decimal number
+     */
+    public static double parseDouble(@Nonnull CharSequence s, int from, int to) {
+        Objects.checkFromToIndex(from, to, s.length());
+
+        int i = from;
+        if (i == to) return Double.NaN;
+
+        final char first = s.charAt(i);
+        final boolean negative = first == '-';
+        if (negative || first == '+') i++;
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean any = false;
+
+        // Integer part
+        for (; i < to; i++) {
+            final int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) break;
+
+            any = true;
+            if (digits < 19) {
+                mantissa = mantissa * 10 + d;
+                if (mantissa != 0) digits++;
+            } else {
+                truncated |= d != 0;
+                exponent++;
+            }
+        }
+
+        // Fraction part
+        if (i < to && s.charAt(i) == '.') {
+            for (i++; i < to; i++) {
+                final int d = s.charAt(i) - '0';
+                if (d < 0 || d > 9) break;
+
+                any = true;
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + d;
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                } else {
+                    truncated |= d != 0;
+                }
+            }
+        }
+
+        if (!any) return Double.NaN;
+
+        // Exponent part
+        if (i < to && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            if (++i == to) return Double.NaN;
+
+            final char sign = s.charAt(i);
+            final boolean negativeExponent = sign == '-';
+            if (negativeExponent || sign == '+') i++;
+
+            int e = 0;
+            boolean anyExponent = false;
+
+            for (; i < to; i++) {
+                final int d = s.charAt(i) - '0';
+                if (d < 0 || d > 9) break;
 
-        long l = Double.doubleToLongBits(result);
+                anyExponent = true;
+                if (e < 100_000) e = e * 10 + d;
+            }
 
-        // Fast inverse square root
-        l = 0x5fe6ec85e7de30daL - (l >> 1);
+            if (!anyExponent) return Double.NaN;
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (i != to) return Double.NaN;
+        if (mantissa == 0) return negative ? -0d : 0d;
+
+        // Both the mantissa and the power of ten are exact, so a single operation rounds correctly
+        if (!truncated && mantissa >>> 53 == 0 && exponent >= -22 && exponent <= 22) {
+            final double value = exponent < 0
+                    ? mantissa / POWERS_OF_TEN[-exponent]
+                    : mantissa * POWERS_OF_TEN[exponent];
+
+            return negative ? -value : value;
+        }
+
+        // The mantissa may be unsigned, and truncated digits place the number between it and its successor
+        long bits = eiselLemire(mantissa, exponent);
+        if (truncated && bits != eiselLemire(mantissa + 1, exponent)) bits = -1;
+        if (bits != -1) return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+
+        return Double.parseDouble(s.subSequence(from, to).toString());
+    }
+
+    /**
+     * Converts a decimal number to the bits of the nearest positive double using the Eisel-Lemire algorithm.
+     * The mantissa is multiplied by a 128-bit approximation of the power of ten, whose error is then bounded
+     * to decide whether the leading bits of the product round with certainty.
+     *
+     * @param mantissa Unsigned non-zero decimal mantissa
+     * @param exponent Power of ten to scale the mantissa by
+     * @return Bits of the correctly rounded positive double, or {@code -1} if the rounding is uncertain,
+     * or the result is subnormal, infinite, or out of the range of the table
+     */
+    private static long eiselLemire(long mantissa, int exponent) {
+        if (exponent < PowersOfTen.MIN_EXPONENT || exponent > PowersOfTen.MAX_EXPONENT) return -1;
+
+        final int index = (exponent - PowersOfTen.MIN_EXPONENT) << 1;
+        final long powerHigh = PowersOfTen.TABLE[index];
+        final long powerLow = PowersOfTen.TABLE[index + 1];
+
+        // Normalize the mantissa so that its leading bit is set
+        final int shift = Long.numberOfLeadingZeros(mantissa);
+        final long m = mantissa << shift;
+
+        // Binary exponent, using floor(log2(10) * exponent) = (217706 * exponent) >> 16
+        long exponent2 = ((217706L * exponent) >> 16) + 64 + 1023 - shift;
+
+        long high = Math.unsignedMultiplyHigh(m, powerHigh);
+        long low = m * powerHigh;
+
+        // When the low bits are all ones, the truncated low half of the power may carry into them
+        if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + m, m) < 0) {
+            final long carryHigh = Math.unsignedMultiplyHigh(m, powerLow);
+            final long carryLow = m * powerLow;
+
+            final long mergedLow = low + carryHigh;
+            final long mergedHigh = Long.compareUnsigned(mergedLow, low) < 0 ? high + 1 : high;
+
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1 && Long.compareUnsigned(carryLow + m, m) < 0) {
+                return -1;
+            }
+
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        // Keep 54 bits, one more than the significand, to round with
+        final long top = high >>> 63;
+        long significand = high >>> (top + 9);
+        exponent2 -= 1 ^ top;
+
+        // Exactly halfway between two doubles, which this approximation cannot resolve
+        if (low == 0 && (high & 0x1FF) == 0 && (significand & 3) == 1) return -1;
+
+        significand += significand & 1;
+        significand >>>= 1;
+
+        if (significand >>> 53 != 0) {
+            significand >>>= 1;
+            exponent2++;
+        }
+
+        if (exponent2 <= 0 || exponent2 >= 0x7FF) return -1;
+        return exponent2 << 52 | significand & 0xFFFFFFFFFFFFFL;
+    }
+
+    /**
+     * Appends a number to an appendable in its shortest round-trip form, the form of {@link Double#toString(double)},
+     * which is parsed back to the same number by {@link #parseDouble(CharSequence, int, int)}.
+     * Since Java 19, {@link StringBuilder#append(double)} formats numbers with the same algorithm
+     * without creating a string, and other appendables are given the text through {@link #formatBuffer()}
+     * and {@link #append(Appendable, StringBuilder)}.
+     *
+     * @param out Appendable to append to
+     * @param v   Number to append
+     * @param <A> Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public static <A extends Appendable> A append(@Nonnull A out, double v) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            sb.append(v);
+        } else {
+            append(out, formatBuffer().append(v));
+        }
 
-        result = Double.longBitsToDouble(l);
+        return out;
+    }
 
-        // 4 iterations of Newton's method
-        for (int i = 0; i < 4; i++) {
-            result = result * (1.5d - xhalf * result * result);
+    /**
+     * Appends the text of a string builder, typically {@link #formatBuffer()}, to an appendable.
+     * {@link Writer#append(CharSequence)} creates a string of the text, so writers are instead given
+     * the characters through an array owned by the calling thread. Other appendables receive the builder itself,
+     * and those which convert it to a string, such as {@link java.io.PrintStream}, still create one per call.
+     *
+     * @param out  Appendable to append to
+     * @param text Text to append
+     * @param <A>  Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public static <A extends Appendable> A append(@Nonnull A out, @Nonnull StringBuilder text) throws IOException {
+        if (out instanceof Writer writer) {
+            final int length = text.length();
+            char[] chars = WRITE_BUFFER.get();
+
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length << 1)];
+                WRITE_BUFFER.set(chars);
+            }
+
+            text.getChars(0, length, chars, 0);
+            writer.write(chars, 0, length);
+        } else {
+            out.append(text);
         }
 
-        return result;
+        return out;
+    }
+
+    /**
+     * Gets an empty string builder owned by the calling thread.
+     * Types which format themselves into a {@link StringBuilder} use it to hand their text to other
+     * {@link Appendable}s through {@link #append(Appendable, StringBuilder)}. The builder must not be retained,
+     * and is overwritten by the next call on the same thread.
+     *
+     * @return Empty string builder
+     */
+    @Nonnull
+    public static StringBuilder formatBuffer() {
+        final StringBuilder sb = FORMAT_BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+
+    private static final ThreadLocal<StringBuilder> FORMAT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final ThreadLocal<char[]> WRITE_BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
+    /**
+     * Powers of ten which are exactly representable as a double.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 128-bit approximations of powers of ten, used by the Eisel-Lemire algorithm.
+     * The table is computed when first needed, so that it is not built unless long numbers are parsed.
+     */
+    private static final class PowersOfTen {
+        /**
+         * The smallest power of ten in the table.
+         */
+        static final int MIN_EXPONENT = -348;
+
+        /**
+         * The largest power of ten in the table.
+         */
+        static final int MAX_EXPONENT = 347;
+
+        /**
+         * The high and low halves of each power of ten, scaled so that its leading bit is set, rounded down.
+         */
+        static final long[] TABLE = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) << 1];
+
+        static {
+            for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+                BigInteger power;
+
+                if (q >= 0) {
+                    power = BigInteger.TEN.pow(q);
+                    final int excess = power.bitLength() - 128;
+                    power = excess > 0 ? power.shiftRight(excess) : power.shiftLeft(-excess);
+                } else {
+                    final BigInteger divisor = BigInteger.TEN.pow(-q);
+                    power = BigInteger.ONE.shiftLeft(127 + divisor.bitLength()).divide(divisor);
+                }
+
+                final int index = (q - MIN_EXPONENT) << 1;
+                TABLE[index] = power.shiftRight(64).longValue();
+                TABLE[index + 1] = power.longValue();
+            }
+        }
     }
 }
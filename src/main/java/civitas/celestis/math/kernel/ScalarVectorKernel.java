@@ -0,0 +1,115 @@
+package civitas.celestis.math.kernel;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>ScalarVectorKernel</h2>
+ * <p>
+ * The portable {@link VectorKernel}, written as plain counted loops.
+ * This is always available, and also finishes the tail of every loop of {@link SimdVectorKernel}.
+ * </p>
+ */
+final class ScalarVectorKernel implements VectorKernel {
+    /**
+     * The shared instance.
+     */
+    static final ScalarVectorKernel INSTANCE = new ScalarVectorKernel();
+
+    private ScalarVectorKernel() {}
+
+    @Nonnull
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void dot3(
+            @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dest, int from, int to
+    ) {
+        for (int i = from; i < to; i++) {
+            dest[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+        }
+    }
+
+    @Override
+    public void dot4(
+            @Nonnull double[] aw, @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bw, @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dest, int from, int to
+    ) {
+        for (int i = from; i < to; i++) {
+            dest[i] = aw[i] * bw[i] + ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+        }
+    }
+
+    @Override
+    public void normalize3(@Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final double m2 = x[i] * x[i] + y[i] * y[i] + z[i] * z[i];
+            if (m2 == 0) continue;
+
+            final double isqrt = 1 / Math.sqrt(m2);
+
+            x[i] *= isqrt;
+            y[i] *= isqrt;
+            z[i] *= isqrt;
+        }
+    }
+
+    @Override
+    public void normalize4(@Nonnull double[] w, @Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final double m2 = w[i] * w[i] + x[i] * x[i] + y[i] * y[i] + z[i] * z[i];
+            if (m2 == 0) continue;
+
+            final double isqrt = 1 / Math.sqrt(m2);
+
+            w[i] *= isqrt;
+            x[i] *= isqrt;
+            y[i] *= isqrt;
+            z[i] *= isqrt;
+        }
+    }
+
+    @Override
+    public void rotate3(
+            double qw, double qx, double qy, double qz,
+            @Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to
+    ) {
+        for (int i = from; i < to; i++) {
+            final double vx = x[i], vy = y[i], vz = z[i];
+
+            // t = 2 * (v x q)
+            final double tx = 2 * (vy * qz - vz * qy);
+            final double ty = 2 * (vz * qx - vx * qz);
+            final double tz = 2 * (vx * qy - vy * qx);
+
+            // v' = v + w * t + t x q
+            x[i] = vx + qw * tx + (ty * qz - tz * qy);
+            y[i] = vy + qw * ty + (tz * qx - tx * qz);
+            z[i] = vz + qw * tz + (tx * qy - ty * qx);
+        }
+    }
+
+    @Override
+    public void multiply4(
+            @Nonnull double[] aw, @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bw, @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dw, @Nonnull double[] dx, @Nonnull double[] dy, @Nonnull double[] dz,
+            int from, int to
+    ) {
+        for (int i = from; i < to; i++) {
+            final double w1 = aw[i], x1 = ax[i], y1 = ay[i], z1 = az[i];
+            final double w2 = bw[i], x2 = bx[i], y2 = by[i], z2 = bz[i];
+
+            // w = w1 * w2 - v1 . v2, v = v2 * w1 + v1 * w2 + v2 x v1
+            dw[i] = w1 * w2 - (x1 * x2 + y1 * y2 + z1 * z2);
+            dx[i] = x2 * w1 + x1 * w2 + (y2 * z1 - z2 * y1);
+            dy[i] = y2 * w1 + y1 * w2 + (z2 * x1 - x2 * z1);
+            dz[i] = z2 * w1 + z1 * w2 + (x2 * y1 - y2 * x1);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package civitas.celestis.math.kernel;
+
+import jakarta.annotation.Nonnull;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <h2>SimdVectorKernel</h2>
+ * <p>
+ * A {@link VectorKernel} implemented with the incubating Vector API ({@code jdk.incubator.vector}).
+ * Each loop processes {@link DoubleVector#SPECIES_PREFERRED} lanes at a time,
+ * and hands the remaining tail to {@link ScalarVectorKernel}.
+ * </p>
+ * <p>
+ * This class links against {@code jdk.incubator.vector}, so it must only be loaded
+ * when that module is present. {@link VectorKernels} takes care of this.
+ * </p>
+ */
+final class SimdVectorKernel implements VectorKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Creates a new SIMD kernel.
+     */
+    SimdVectorKernel() {}
+
+    @Nonnull
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public void dot3(
+            @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dest, int from, int to
+    ) {
+        int i = from;
+
+        for (final int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            final DoubleVector x = DoubleVector.fromArray(SPECIES, ax, i).mul(DoubleVector.fromArray(SPECIES, bx, i));
+            final DoubleVector y = DoubleVector.fromArray(SPECIES, ay, i).mul(DoubleVector.fromArray(SPECIES, by, i));
+            final DoubleVector z = DoubleVector.fromArray(SPECIES, az, i).mul(DoubleVector.fromArray(SPECIES, bz, i));
+
+            x.add(y).add(z).intoArray(dest, i);
+        }
+
+        ScalarVectorKernel.INSTANCE.dot3(ax, ay, az, bx, by, bz, dest, i, to);
+    }
+
+    @Override
+    public void dot4(
+            @Nonnull double[] aw, @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bw, @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dest, int from, int to
+    ) {
+        int i = from;
+
+        for (final int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            final DoubleVector w = DoubleVector.fromArray(SPECIES, aw, i).mul(DoubleVector.fromArray(SPECIES, bw, i));
+            final DoubleVector x = DoubleVector.fromArray(SPECIES, ax, i).mul(DoubleVector.fromArray(SPECIES, bx, i));
+            final DoubleVector y = DoubleVector.fromArray(SPECIES, ay, i).mul(DoubleVector.fromArray(SPECIES, by, i));
+            final DoubleVector z = DoubleVector.fromArray(SPECIES, az, i).mul(DoubleVector.fromArray(SPECIES, bz, i));
+
+            w.add(x).add(y).add(z).intoArray(dest, i);
+        }
+
+        ScalarVectorKernel.INSTANCE.dot4(aw, ax, ay, az, bw, bx, by, bz, dest, i, to);
+    }
+
+    @Override
+    public void normalize3(@Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to) {
+        int i = from;
+
+        for (final int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            final DoubleVector vx = DoubleVector.fromArray(SPECIES, x, i);
+            final DoubleVector vy = DoubleVector.fromArray(SPECIES, y, i);
+            final DoubleVector vz = DoubleVector.fromArray(SPECIES, z, i);
+
+            final DoubleVector m2 = vx.mul(vx).add(vy.mul(vy)).add(vz.mul(vz));
+            final DoubleVector isqrt = inverseSqrt(m2);
+
+            vx.mul(isqrt).intoArray(x, i);
+            vy.mul(isqrt).intoArray(y, i);
+            vz.mul(isqrt).intoArray(z, i);
+        }
+
+        ScalarVectorKernel.INSTANCE.normalize3(x, y, z, i, to);
+    }
+
+    @Override
+    public void normalize4(@Nonnull double[] w, @Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to) {
+        int i = from;
+
+        for (final int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            final DoubleVector vw = DoubleVector.fromArray(SPECIES, w, i);
+            final DoubleVector vx = DoubleVector.fromArray(SPECIES, x, i);
+            final DoubleVector vy = DoubleVector.fromArray(SPECIES, y, i);
+            final DoubleVector vz = DoubleVector.fromArray(SPECIES, z, i);
+
+            final DoubleVector m2 = vw.mul(vw).add(vx.mul(vx)).add(vy.mul(vy)).add(vz.mul(vz));
+            final DoubleVector isqrt = inverseSqrt(m2);
+
+            vw.mul(isqrt).intoArray(w, i);
+            vx.mul(isqrt).intoArray(x, i);
+            vy.mul(isqrt).intoArray(y, i);
+            vz.mul(isqrt).intoArray(z, i);
+        }
+
+        ScalarVectorKernel.INSTANCE.normalize4(w, x, y, z, i, to);
+    }
+
+    @Override
+    public void rotate3(
+            double qw, double qx, double qy, double qz,
+            @Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to
+    ) {
+        int i = from;
+
+        for (final int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            final DoubleVector vx = DoubleVector.fromArray(SPECIES, x, i);
+            final DoubleVector vy = DoubleVector.fromArray(SPECIES, y, i);
+            final DoubleVector vz = DoubleVector.fromArray(SPECIES, z, i);
+
+            // t = 2 * (v x q)
+            final DoubleVector tx = vy.mul(qz).sub(vz.mul(qy)).mul(2);
+            final DoubleVector ty = vz.mul(qx).sub(vx.mul(qz)).mul(2);
+            final DoubleVector tz = vx.mul(qy).sub(vy.mul(qx)).mul(2);
+
+            // v' = v + w * t + t x q
+            vx.add(tx.mul(qw)).add(ty.mul(qz).sub(tz.mul(qy))).intoArray(x, i);
+            vy.add(ty.mul(qw)).add(tz.mul(qx).sub(tx.mul(qz))).intoArray(y, i);
+            vz.add(tz.mul(qw)).add(tx.mul(qy).sub(ty.mul(qx))).intoArray(z, i);
+        }
+
+        ScalarVectorKernel.INSTANCE.rotate3(qw, qx, qy, qz, x, y, z, i, to);
+    }
+
+    @Override
+    public void multiply4(
+            @Nonnull double[] aw, @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bw, @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dw, @Nonnull double[] dx, @Nonnull double[] dy, @Nonnull double[] dz,
+            int from, int to
+    ) {
+        int i = from;
+
+        for (final int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            final DoubleVector w1 = DoubleVector.fromArray(SPECIES, aw, i);
+            final DoubleVector x1 = DoubleVector.fromArray(SPECIES, ax, i);
+            final DoubleVector y1 = DoubleVector.fromArray(SPECIES, ay, i);
+            final DoubleVector z1 = DoubleVector.fromArray(SPECIES, az, i);
+            final DoubleVector w2 = DoubleVector.fromArray(SPECIES, bw, i);
+            final DoubleVector x2 = DoubleVector.fromArray(SPECIES, bx, i);
+            final DoubleVector y2 = DoubleVector.fromArray(SPECIES, by, i);
+            final DoubleVector z2 = DoubleVector.fromArray(SPECIES, bz, i);
+
+            // w = w1 * w2 - v1 . v2, v = v2 * w1 + v1 * w2 + v2 x v1
+            w1.mul(w2).sub(x1.mul(x2).add(y1.mul(y2)).add(z1.mul(z2))).intoArray(dw, i);
+            x2.mul(w1).add(x1.mul(w2)).add(y2.mul(z1).sub(z2.mul(y1))).intoArray(dx, i);
+            y2.mul(w1).add(y1.mul(w2)).add(z2.mul(x1).sub(x2.mul(z1))).intoArray(dy, i);
+            z2.mul(w1).add(z1.mul(w2)).add(x2.mul(y1).sub(y2.mul(x1))).intoArray(dz, i);
+        }
+
+        ScalarVectorKernel.INSTANCE.multiply4(aw, ax, ay, az, bw, bx, by, bz, dw, dx, dy, dz, i, to);
+    }
+
+    /**
+     * Computes {@code 1 / sqrt(m2)} lane-wise, mapping zero lanes to zero so that zero vectors stay unchanged.
+     *
+     * @param m2 Squared magnitudes
+     * @return Inverse magnitudes
+     */
+    @Nonnull
+    private static DoubleVector inverseSqrt(@Nonnull DoubleVector m2) {
+        final VectorMask<Double> zero = m2.compare(VectorOperators.EQ, 0);
+        return DoubleVector.broadcast(SPECIES, 1).div(m2.lanewise(VectorOperators.SQRT)).blend(0, zero);
+    }
+}
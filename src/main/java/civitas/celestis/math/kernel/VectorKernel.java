@@ -0,0 +1,140 @@
+package civitas.celestis.math.kernel;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>VectorKernel</h2>
+ * <p>
+ * A backend for bulk vector arithmetic over structure-of-arrays data.
+ * Vectors are passed as one primitive array per component, and every operation
+ * acts on the index range {@code [from, to)} of those arrays.
+ * </p>
+ * <p>
+ * Quaternion components follow the conventions of
+ * {@link civitas.celestis.math.quaternion.Quaternion Quaternion},
+ * and rotations produce the same results as
+ * {@link civitas.celestis.math.vector.Vector3#rotate(civitas.celestis.math.quaternion.Quaternion) Vector3#rotate(Quaternion)}.
+ * Implementations are obtained from {@link VectorKernels}.
+ * </p>
+ */
+public interface VectorKernel {
+    /**
+     * Gets the name of this kernel.
+     *
+     * @return Name of this kernel
+     */
+    @Nonnull
+    String name();
+
+    /**
+     * Computes the dot products of two arrays of three-dimensional vectors.
+     * ({@code dest[i] = a[i] . b[i]})
+     *
+     * @param ax   X values of the first vectors
+     * @param ay   Y values of the first vectors
+     * @param az   Z values of the first vectors
+     * @param bx   X values of the second vectors
+     * @param by   Y values of the second vectors
+     * @param bz   Z values of the second vectors
+     * @param dest Array to write the dot products to, at the same indices
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    void dot3(
+            @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dest, int from, int to
+    );
+
+    /**
+     * Computes the dot products of two arrays of four-dimensional vectors.
+     * ({@code dest[i] = a[i] . b[i]})
+     *
+     * @param aw   W values of the first vectors
+     * @param ax   X values of the first vectors
+     * @param ay   Y values of the first vectors
+     * @param az   Z values of the first vectors
+     * @param bw   W values of the second vectors
+     * @param bx   X values of the second vectors
+     * @param by   Y values of the second vectors
+     * @param bz   Z values of the second vectors
+     * @param dest Array to write the dot products to, at the same indices
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    void dot4(
+            @Nonnull double[] aw, @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bw, @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dest, int from, int to
+    );
+
+    /**
+     * Normalizes an array of three-dimensional vectors to unit vectors in place.
+     * Zero vectors are left unchanged.
+     *
+     * @param x    X values
+     * @param y    Y values
+     * @param z    Z values
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    void normalize3(@Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to);
+
+    /**
+     * Normalizes an array of four-dimensional vectors (or quaternions) to unit vectors in place.
+     * Zero vectors are left unchanged.
+     *
+     * @param w    W values
+     * @param x    X values
+     * @param y    Y values
+     * @param z    Z values
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    void normalize4(@Nonnull double[] w, @Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to);
+
+    /**
+     * Rotates an array of three-dimensional vectors by one rotation quaternion in place.
+     *
+     * @param qw   W value of the rotation quaternion
+     * @param qx   X value of the rotation quaternion
+     * @param qy   Y value of the rotation quaternion
+     * @param qz   Z value of the rotation quaternion
+     * @param x    X values
+     * @param y    Y values
+     * @param z    Z values
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    void rotate3(
+            double qw, double qx, double qy, double qz,
+            @Nonnull double[] x, @Nonnull double[] y, @Nonnull double[] z, int from, int to
+    );
+
+    /**
+     * Multiplies two arrays of quaternions, element by element.
+     * Each product equals {@code a[i].multiply(b[i])}.
+     * The destination arrays may be the same arrays as either operand.
+     *
+     * @param aw   W values of the first quaternions
+     * @param ax   X values of the first quaternions
+     * @param ay   Y values of the first quaternions
+     * @param az   Z values of the first quaternions
+     * @param bw   W values of the second quaternions
+     * @param bx   X values of the second quaternions
+     * @param by   Y values of the second quaternions
+     * @param bz   Z values of the second quaternions
+     * @param dw   Array to write the W values of the products to
+     * @param dx   Array to write the X values of the products to
+     * @param dy   Array to write the Y values of the products to
+     * @param dz   Array to write the Z values of the products to
+     * @param from Index of first quaternion (inclusive)
+     * @param to   Index of last quaternion (exclusive)
+     */
+    void multiply4(
+            @Nonnull double[] aw, @Nonnull double[] ax, @Nonnull double[] ay, @Nonnull double[] az,
+            @Nonnull double[] bw, @Nonnull double[] bx, @Nonnull double[] by, @Nonnull double[] bz,
+            @Nonnull double[] dw, @Nonnull double[] dx, @Nonnull double[] dy, @Nonnull double[] dz,
+            int from, int to
+    );
+}
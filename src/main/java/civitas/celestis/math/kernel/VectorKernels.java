@@ -0,0 +1,91 @@
+package civitas.celestis.math.kernel;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * <h2>VectorKernels</h2>
+ * <p>
+ * Selects the {@link VectorKernel} used for bulk vector arithmetic.
+ * </p>
+ * <p>
+ * The SIMD kernel requires the {@code jdk.incubator.vector} module, which is only resolved when
+ * the JVM is started with {@code --add-modules jdk.incubator.vector}. When it is missing,
+ * the scalar kernel is used instead.
+ * The default kernel can be forced with the system property {@code civitas.celestis.math.kernel},
+ * set to either {@code scalar} or {@code simd}.
+ * </p>
+ */
+public final class VectorKernels {
+    /**
+     * The name of the system property used to select the default kernel.
+     */
+    public static final String PROPERTY = "civitas.celestis.math.kernel";
+
+    private static final VectorKernel SIMD = loadSimd();
+    private static final VectorKernel DEFAULT = selectDefault();
+
+    private VectorKernels() {}
+
+    /**
+     * Gets the default kernel.
+     * This is the SIMD kernel when it is available, and the scalar kernel otherwise.
+     *
+     * @return Default kernel
+     */
+    @Nonnull
+    public static VectorKernel get() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the scalar kernel, which is always available.
+     *
+     * @return Scalar kernel
+     */
+    @Nonnull
+    public static VectorKernel scalar() {
+        return ScalarVectorKernel.INSTANCE;
+    }
+
+    /**
+     * Gets the SIMD kernel.
+     *
+     * @return SIMD kernel, or {@code null} if the Vector API is not available
+     */
+    @Nullable
+    public static VectorKernel simd() {
+        return SIMD;
+    }
+
+    /**
+     * Checks if the SIMD kernel is available.
+     *
+     * @return {@code true} if the Vector API is available
+     */
+    public static boolean isSimdAvailable() {
+        return SIMD != null;
+    }
+
+    @Nullable
+    private static VectorKernel loadSimd() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+
+        try {
+            return new SimdVectorKernel();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    @Nonnull
+    private static VectorKernel selectDefault() {
+        final String property = System.getProperty(PROPERTY, "");
+
+        return switch (property) {
+            case "scalar" -> ScalarVectorKernel.INSTANCE;
+            case "simd", "" -> SIMD != null ? SIMD : ScalarVectorKernel.INSTANCE;
+            default -> throw new IllegalArgumentException("Unknown vector kernel: " + property);
+        };
+    }
+}
@@ -0,0 +1,371 @@
+package civitas.celestis.math.matrix;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <h2>Matrix3</h2>
+ * <p>
+ * A 3x3 matrix, mainly used to represent a precomputed rotation.
+ * Converting a rotation to a matrix once and transforming many vectors by it
+ * is cheaper than repeating the quaternion product for every vector.
+ * </p>
+ */
+public final class Matrix3 implements Serializable {
+    //
+    // Constants
+    //
+
+    /**
+     * The identity matrix.
+     */
+    public static final Matrix3 IDENTITY = new Matrix3(
+            1, 0, 0,
+            0, 1, 0,
+            0, 0, 1
+    );
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new matrix. Values are given in row-major order.
+     *
+     * @param m00 Value at row 0, column 0
+     * @param m01 Value at row 0, column 1
+     * @param m02 Value at row 0, column 2
+     * @param m10 Value at row 1, column 0
+     * @param m11 Value at row 1, column 1
+     * @param m12 Value at row 1, column 2
+     * @param m20 Value at row 2, column 0
+     * @param m21 Value at row 2, column 1
+     * @param m22 Value at row 2, column 2
+     */
+    public Matrix3(
+            double m00, double m01, double m02,
+            double m10, double m11, double m12,
+            double m20, double m21, double m22
+    ) {
+        this.m00 = Numbers.requireFinite(m00);
+        this.m01 = Numbers.requireFinite(m01);
+        this.m02 = Numbers.requireFinite(m02);
+        this.m10 = Numbers.requireFinite(m10);
+        this.m11 = Numbers.requireFinite(m11);
+        this.m12 = Numbers.requireFinite(m12);
+        this.m20 = Numbers.requireFinite(m20);
+        this.m21 = Numbers.requireFinite(m21);
+        this.m22 = Numbers.requireFinite(m22);
+    }
+
+    /**
+     * Creates a rotation matrix from a rotation quaternion, which must be a unit quaternion.
+     * Transforming a vector by the resulting matrix gives the same result as {@link Vector3#rotate(Quaternion)}.
+     * Other quaternions do not give an orthogonal matrix.
+     *
+     * @param rq Unit rotation quaternion
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix3 rotation(@Nonnull Quaternion rq) {
+        final double w = rq.w();
+        final double x = rq.x();
+        final double y = rq.y();
+        final double z = rq.z();
+
+        return new Matrix3(
+                1 - 2 * (y * y + z * z), 2 * (x * y + w * z), 2 * (x * z - w * y),
+                2 * (x * y - w * z), 1 - 2 * (x * x + z * z), 2 * (y * z + w * x),
+                2 * (x * z + w * y), 2 * (y * z - w * x), 1 - 2 * (x * x + y * y)
+        );
+    }
+
+    /**
+     * Creates a rotation matrix from a rotation.
+     * Transforming a vector by the resulting matrix gives the same result as {@link Vector3#rotate(Rotation)}.
+     *
+     * @param r Rotation
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix3 rotation(@Nonnull Rotation r) {
+        return rotation(r.quaternion());
+    }
+
+    //
+    // Variables
+    //
+
+    private final double m00, m01, m02;
+    private final double m10, m11, m12;
+    private final double m20, m21, m22;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the value at given position.
+     *
+     * @param row    Row index ({@code 0-2})
+     * @param column Column index ({@code 0-2})
+     * @return Value at given position
+     * @throws IndexOutOfBoundsException When the position is out of bounds
+     */
+    public double get(int row, int column) {
+        Objects.checkIndex(row, 3);
+        Objects.checkIndex(column, 3);
+
+        return switch (row * 3 + column) {
+            case 0 -> m00;
+            case 1 -> m01;
+            case 2 -> m02;
+            case 3 -> m10;
+            case 4 -> m11;
+            case 5 -> m12;
+            case 6 -> m20;
+            case 7 -> m21;
+            default -> m22;
+        };
+    }
+
+    /**
+     * Gets the determinant of this matrix.
+     *
+     * @return Determinant
+     */
+    public double determinant() {
+        return m00 * (m11 * m22 - m12 * m21)
+                - m01 * (m10 * m22 - m12 * m20)
+                + m02 * (m10 * m21 - m11 * m20);
+    }
+
+    //
+    // Transformation
+    //
+
+    /**
+     * Transforms a vector by this matrix.
+     *
+     * @param v Vector to transform
+     * @return Transformed vector
+     */
+    @Nonnull
+    public Vector3 transform(@Nonnull Vector3 v) {
+        final double x = v.x();
+        final double y = v.y();
+        final double z = v.z();
+
+        return Vector3.unchecked(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z
+        );
+    }
+
+    /**
+     * Transforms multiple vectors by this matrix.
+     *
+     * @param vectors Vectors to transform
+     * @return Array of transformed vectors
+     */
+    @Nonnull
+    public Vector3[] transform(@Nonnull Vector3... vectors) {
+        final Vector3[] result = new Vector3[vectors.length];
+
+        for (int i = 0; i < vectors.length; i++) {
+            result[i] = transform(vectors[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Transforms every vector of an array by this matrix in place.
+     *
+     * @param vectors Vectors to transform
+     */
+    public void transform(@Nonnull Vector3Array vectors) {
+        transform(vectors, 0, vectors.size());
+    }
+
+    /**
+     * Transforms the vectors of an array in given range by this matrix in place.
+     *
+     * @param vectors Vectors to transform
+     * @param from    Index of first vector (inclusive)
+     * @param to      Index of last vector (exclusive)
+     */
+    public void transform(@Nonnull Vector3Array vectors, int from, int to) {
+        Objects.checkFromToIndex(from, to, vectors.size());
+
+        final double[] xs = vectors.xs();
+        final double[] ys = vectors.ys();
+        final double[] zs = vectors.zs();
+
+        for (int i = from; i < to; i++) {
+            final double x = xs[i], y = ys[i], z = zs[i];
+
+            xs[i] = m00 * x + m01 * y + m02 * z;
+            ys[i] = m10 * x + m11 * y + m12 * z;
+            zs[i] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    //
+    // Matrix-Matrix Arithmetic
+    //
+
+    /**
+     * Multiplies this matrix by another matrix. ({@code this * m})
+     * Transforming by the result is equivalent to transforming by {@code m}, then by {@code this}.
+     *
+     * @param m Matrix to multiply with
+     * @return Resulting matrix
+     */
+    @Nonnull
+    public Matrix3 multiply(@Nonnull Matrix3 m) {
+        return new Matrix3(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22,
+                m20 * m.m00 + m21 * m.m10 + m22 * m.m20,
+                m20 * m.m01 + m21 * m.m11 + m22 * m.m21,
+                m20 * m.m02 + m21 * m.m12 + m22 * m.m22
+        );
+    }
+
+    /**
+     * Multiplies this matrix by a scalar.
+     *
+     * @param s Scalar to multiply with
+     * @return Resulting matrix
+     */
+    @Nonnull
+    public Matrix3 multiply(double s) {
+        return new Matrix3(
+                m00 * s, m01 * s, m02 * s,
+                m10 * s, m11 * s, m12 * s,
+                m20 * s, m21 * s, m22 * s
+        );
+    }
+
+    //
+    // Util
+    //
+
+    /**
+     * Gets the transpose of this matrix.
+     * For a rotation matrix, this is also its inverse.
+     *
+     * @return Transposed matrix
+     */
+    @Nonnull
+    public Matrix3 transpose() {
+        return new Matrix3(
+                m00, m10, m20,
+                m01, m11, m21,
+                m02, m12, m22
+        );
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof Matrix3 m)) return false;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 &&
+                m10 == m.m10 && m11 == m.m11 && m12 == m.m12 &&
+                m20 == m.m20 && m21 == m.m21 && m22 == m.m22;
+    }
+
+    /**
+     * Gets the hash code of this matrix.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Double.hashCode(m00 + 0d);
+        hash = 31 * hash + Double.hashCode(m01 + 0d);
+        hash = 31 * hash + Double.hashCode(m02 + 0d);
+        hash = 31 * hash + Double.hashCode(m10 + 0d);
+        hash = 31 * hash + Double.hashCode(m11 + 0d);
+        hash = 31 * hash + Double.hashCode(m12 + 0d);
+        hash = 31 * hash + Double.hashCode(m20 + 0d);
+        hash = 31 * hash + Double.hashCode(m21 + 0d);
+        hash = 31 * hash + Double.hashCode(m22 + 0d);
+        return hash;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this matrix to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Matrix3{")
+                .append("[").append(m00).append(", ").append(m01).append(", ").append(m02).append("], ")
+                .append("[").append(m10).append(", ").append(m11).append(", ").append(m12).append("], ")
+                .append("[").append(m20).append(", ").append(m21).append(", ").append(m22).append("]")
+                .append('}');
+    }
+
+    /**
+     * Appends the string representation of this matrix to an appendable, in the form of {@link #toString()}.
+     *
+     * @param out Appendable to append to
+     * @param <A> Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A out) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            appendTo(sb);
+        } else {
+            Numbers.append(out, appendTo(Numbers.formatBuffer()));
+        }
+
+        return out;
+    }
+
+    /**
+     * Serializes this matrix to a string.
+     *
+     * @return Stringified matrix
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+}
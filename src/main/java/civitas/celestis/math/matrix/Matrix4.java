@@ -0,0 +1,486 @@
+package civitas.celestis.math.matrix;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.Rotation;
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <h2>Matrix4</h2>
+ * <p>
+ * A 4x4 matrix operating on homogeneous coordinates.
+ * This is mainly used to represent a rotation followed by a translation,
+ * which can be applied to many points at once.
+ * </p>
+ */
+public final class Matrix4 implements Serializable {
+    //
+    // Constants
+    //
+
+    /**
+     * The identity matrix.
+     */
+    public static final Matrix4 IDENTITY = new Matrix4(
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0,
+            0, 0, 0, 1
+    );
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new matrix. Values are given in row-major order.
+     *
+     * @param m00 Value at row 0, column 0
+     * @param m01 Value at row 0, column 1
+     * @param m02 Value at row 0, column 2
+     * @param m03 Value at row 0, column 3
+     * @param m10 Value at row 1, column 0
+     * @param m11 Value at row 1, column 1
+     * @param m12 Value at row 1, column 2
+     * @param m13 Value at row 1, column 3
+     * @param m20 Value at row 2, column 0
+     * @param m21 Value at row 2, column 1
+     * @param m22 Value at row 2, column 2
+     * @param m23 Value at row 2, column 3
+     * @param m30 Value at row 3, column 0
+     * @param m31 Value at row 3, column 1
+     * @param m32 Value at row 3, column 2
+     * @param m33 Value at row 3, column 3
+     */
+    public Matrix4(
+            double m00, double m01, double m02, double m03,
+            double m10, double m11, double m12, double m13,
+            double m20, double m21, double m22, double m23,
+            double m30, double m31, double m32, double m33
+    ) {
+        this.m00 = Numbers.requireFinite(m00);
+        this.m01 = Numbers.requireFinite(m01);
+        this.m02 = Numbers.requireFinite(m02);
+        this.m03 = Numbers.requireFinite(m03);
+        this.m10 = Numbers.requireFinite(m10);
+        this.m11 = Numbers.requireFinite(m11);
+        this.m12 = Numbers.requireFinite(m12);
+        this.m13 = Numbers.requireFinite(m13);
+        this.m20 = Numbers.requireFinite(m20);
+        this.m21 = Numbers.requireFinite(m21);
+        this.m22 = Numbers.requireFinite(m22);
+        this.m23 = Numbers.requireFinite(m23);
+        this.m30 = Numbers.requireFinite(m30);
+        this.m31 = Numbers.requireFinite(m31);
+        this.m32 = Numbers.requireFinite(m32);
+        this.m33 = Numbers.requireFinite(m33);
+    }
+
+    /**
+     * Creates a new affine matrix which applies a linear transformation, then a translation.
+     *
+     * @param linear      Linear part (usually a rotation)
+     * @param translation Translation to apply after the linear part
+     */
+    public Matrix4(@Nonnull Matrix3 linear, @Nonnull Vector3 translation) {
+        this(
+                linear.get(0, 0), linear.get(0, 1), linear.get(0, 2), translation.x(),
+                linear.get(1, 0), linear.get(1, 1), linear.get(1, 2), translation.y(),
+                linear.get(2, 0), linear.get(2, 1), linear.get(2, 2), translation.z(),
+                0, 0, 0, 1
+        );
+    }
+
+    /**
+     * Creates a translation matrix.
+     *
+     * @param translation Translation
+     * @return Translation matrix
+     */
+    @Nonnull
+    public static Matrix4 translation(@Nonnull Vector3 translation) {
+        return new Matrix4(Matrix3.IDENTITY, translation);
+    }
+
+    /**
+     * Creates a rotation matrix from a rotation quaternion, which must be a unit quaternion.
+     * Transforming a point by the resulting matrix gives the same result as {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param rq Unit rotation quaternion
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix4 rotation(@Nonnull Quaternion rq) {
+        return new Matrix4(Matrix3.rotation(rq), Vector3.ZERO);
+    }
+
+    /**
+     * Creates a rotation matrix from a rotation.
+     * Transforming a point by the resulting matrix gives the same result as {@link Vector3#rotate(Rotation)}.
+     *
+     * @param r Rotation
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static Matrix4 rotation(@Nonnull Rotation r) {
+        return new Matrix4(Matrix3.rotation(r), Vector3.ZERO);
+    }
+
+    /**
+     * Creates a matrix which rotates points by a rotation quaternion, then translates them.
+     *
+     * @param rq          Unit rotation quaternion
+     * @param translation Translation to apply after rotating
+     * @return Transformation matrix
+     */
+    @Nonnull
+    public static Matrix4 transformation(@Nonnull Quaternion rq, @Nonnull Vector3 translation) {
+        return new Matrix4(Matrix3.rotation(rq), translation);
+    }
+
+    /**
+     * Creates a matrix which rotates points by a rotation, then translates them.
+     *
+     * @param r           Rotation
+     * @param translation Translation to apply after rotating
+     * @return Transformation matrix
+     */
+    @Nonnull
+    public static Matrix4 transformation(@Nonnull Rotation r, @Nonnull Vector3 translation) {
+        return new Matrix4(Matrix3.rotation(r), translation);
+    }
+
+    //
+    // Variables
+    //
+
+    private final double m00, m01, m02, m03;
+    private final double m10, m11, m12, m13;
+    private final double m20, m21, m22, m23;
+    private final double m30, m31, m32, m33;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the value at given position.
+     *
+     * @param row    Row index ({@code 0-3})
+     * @param column Column index ({@code 0-3})
+     * @return Value at given position
+     * @throws IndexOutOfBoundsException When the position is out of bounds
+     */
+    public double get(int row, int column) {
+        Objects.checkIndex(row, 4);
+        Objects.checkIndex(column, 4);
+
+        return switch (row * 4 + column) {
+            case 0 -> m00;
+            case 1 -> m01;
+            case 2 -> m02;
+            case 3 -> m03;
+            case 4 -> m10;
+            case 5 -> m11;
+            case 6 -> m12;
+            case 7 -> m13;
+            case 8 -> m20;
+            case 9 -> m21;
+            case 10 -> m22;
+            case 11 -> m23;
+            case 12 -> m30;
+            case 13 -> m31;
+            case 14 -> m32;
+            default -> m33;
+        };
+    }
+
+    /**
+     * Checks if this matrix is affine. (the bottom row is {@code [0, 0, 0, 1]})
+     *
+     * @return {@code true} if this matrix is affine
+     */
+    public boolean isAffine() {
+        return m30 == 0 && m31 == 0 && m32 == 0 && m33 == 1;
+    }
+
+    /**
+     * Gets the upper-left 3x3 part of this matrix.
+     *
+     * @return Linear part of this matrix
+     */
+    @Nonnull
+    public Matrix3 linear() {
+        return new Matrix3(
+                m00, m01, m02,
+                m10, m11, m12,
+                m20, m21, m22
+        );
+    }
+
+    /**
+     * Gets the translation of this matrix.
+     *
+     * @return Translation
+     */
+    @Nonnull
+    public Vector3 translation() {
+        return new Vector3(m03, m13, m23);
+    }
+
+    //
+    // Transformation
+    //
+
+    /**
+     * Transforms a point by this matrix.
+     * The point is extended with {@code w = 1}, and the result is divided by its resulting {@code w}
+     * unless this matrix is affine.
+     *
+     * @param v Point to transform
+     * @return Transformed point
+     */
+    @Nonnull
+    public Vector3 transform(@Nonnull Vector3 v) {
+        final double x = v.x();
+        final double y = v.y();
+        final double z = v.z();
+
+        final double tx = m00 * x + m01 * y + m02 * z + m03;
+        final double ty = m10 * x + m11 * y + m12 * z + m13;
+        final double tz = m20 * x + m21 * y + m22 * z + m23;
+
+        if (isAffine()) return Vector3.unchecked(tx, ty, tz);
+
+        final double w = m30 * x + m31 * y + m32 * z + m33;
+        return Vector3.unchecked(tx / w, ty / w, tz / w);
+    }
+
+    /**
+     * Transforms a direction by this matrix.
+     * Directions are extended with {@code w = 0}, so they are not affected by the translation.
+     *
+     * @param v Direction to transform
+     * @return Transformed direction
+     */
+    @Nonnull
+    public Vector3 transformDirection(@Nonnull Vector3 v) {
+        final double x = v.x();
+        final double y = v.y();
+        final double z = v.z();
+
+        return Vector3.unchecked(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z
+        );
+    }
+
+    /**
+     * Transforms multiple points by this matrix.
+     *
+     * @param vectors Points to transform
+     * @return Array of transformed points
+     */
+    @Nonnull
+    public Vector3[] transform(@Nonnull Vector3... vectors) {
+        final Vector3[] result = new Vector3[vectors.length];
+
+        for (int i = 0; i < vectors.length; i++) {
+            result[i] = transform(vectors[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Transforms every point of an array by this matrix in place.
+     *
+     * @param vectors Points to transform
+     */
+    public void transform(@Nonnull Vector3Array vectors) {
+        transform(vectors, 0, vectors.size());
+    }
+
+    /**
+     * Transforms the points of an array in given range by this matrix in place.
+     *
+     * @param vectors Points to transform
+     * @param from    Index of first point (inclusive)
+     * @param to      Index of last point (exclusive)
+     */
+    public void transform(@Nonnull Vector3Array vectors, int from, int to) {
+        Objects.checkFromToIndex(from, to, vectors.size());
+
+        final double[] xs = vectors.xs();
+        final double[] ys = vectors.ys();
+        final double[] zs = vectors.zs();
+
+        if (isAffine()) {
+            for (int i = from; i < to; i++) {
+                final double x = xs[i], y = ys[i], z = zs[i];
+
+                xs[i] = m00 * x + m01 * y + m02 * z + m03;
+                ys[i] = m10 * x + m11 * y + m12 * z + m13;
+                zs[i] = m20 * x + m21 * y + m22 * z + m23;
+            }
+
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            final double x = xs[i], y = ys[i], z = zs[i];
+            final double w = m30 * x + m31 * y + m32 * z + m33;
+
+            xs[i] = (m00 * x + m01 * y + m02 * z + m03) / w;
+            ys[i] = (m10 * x + m11 * y + m12 * z + m13) / w;
+            zs[i] = (m20 * x + m21 * y + m22 * z + m23) / w;
+        }
+    }
+
+    //
+    // Matrix-Matrix Arithmetic
+    //
+
+    /**
+     * Multiplies this matrix by another matrix. ({@code this * m})
+     * Transforming by the result is equivalent to transforming by {@code m}, then by {@code this}.
+     *
+     * @param m Matrix to multiply with
+     * @return Resulting matrix
+     */
+    @Nonnull
+    public Matrix4 multiply(@Nonnull Matrix4 m) {
+        return new Matrix4(
+                m00 * m.m00 + m01 * m.m10 + m02 * m.m20 + m03 * m.m30,
+                m00 * m.m01 + m01 * m.m11 + m02 * m.m21 + m03 * m.m31,
+                m00 * m.m02 + m01 * m.m12 + m02 * m.m22 + m03 * m.m32,
+                m00 * m.m03 + m01 * m.m13 + m02 * m.m23 + m03 * m.m33,
+                m10 * m.m00 + m11 * m.m10 + m12 * m.m20 + m13 * m.m30,
+                m10 * m.m01 + m11 * m.m11 + m12 * m.m21 + m13 * m.m31,
+                m10 * m.m02 + m11 * m.m12 + m12 * m.m22 + m13 * m.m32,
+                m10 * m.m03 + m11 * m.m13 + m12 * m.m23 + m13 * m.m33,
+                m20 * m.m00 + m21 * m.m10 + m22 * m.m20 + m23 * m.m30,
+                m20 * m.m01 + m21 * m.m11 + m22 * m.m21 + m23 * m.m31,
+                m20 * m.m02 + m21 * m.m12 + m22 * m.m22 + m23 * m.m32,
+                m20 * m.m03 + m21 * m.m13 + m22 * m.m23 + m23 * m.m33,
+                m30 * m.m00 + m31 * m.m10 + m32 * m.m20 + m33 * m.m30,
+                m30 * m.m01 + m31 * m.m11 + m32 * m.m21 + m33 * m.m31,
+                m30 * m.m02 + m31 * m.m12 + m32 * m.m22 + m33 * m.m32,
+                m30 * m.m03 + m31 * m.m13 + m32 * m.m23 + m33 * m.m33
+        );
+    }
+
+    //
+    // Util
+    //
+
+    /**
+     * Gets the transpose of this matrix.
+     *
+     * @return Transposed matrix
+     */
+    @Nonnull
+    public Matrix4 transpose() {
+        return new Matrix4(
+                m00, m10, m20, m30,
+                m01, m11, m21, m31,
+                m02, m12, m22, m32,
+                m03, m13, m23, m33
+        );
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof Matrix4 m)) return false;
+        return m00 == m.m00 && m01 == m.m01 && m02 == m.m02 && m03 == m.m03 &&
+                m10 == m.m10 && m11 == m.m11 && m12 == m.m12 && m13 == m.m13 &&
+                m20 == m.m20 && m21 == m.m21 && m22 == m.m22 && m23 == m.m23 &&
+                m30 == m.m30 && m31 == m.m31 && m32 == m.m32 && m33 == m.m33;
+    }
+
+    /**
+     * Gets the hash code of this matrix.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+
+        for (int i = 0; i < 16; i++) {
+            // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+            hash = 31 * hash + Double.hashCode(get(i / 4, i % 4) + 0d);
+        }
+
+        return hash;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this matrix to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Matrix4{")
+                .append("[").append(m00).append(", ").append(m01).append(", ").append(m02).append(", ").append(m03).append("], ")
+                .append("[").append(m10).append(", ").append(m11).append(", ").append(m12).append(", ").append(m13).append("], ")
+                .append("[").append(m20).append(", ").append(m21).append(", ").append(m22).append(", ").append(m23).append("], ")
+                .append("[").append(m30).append(", ").append(m31).append(", ").append(m32).append(", ").append(m33).append("]")
+                .append('}');
+    }
+
+    /**
+     * Appends the string representation of this matrix to an appendable, in the form of {@link #toString()}.
+     *
+     * @param out Appendable to append to
+     * @param <A> Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A out) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            appendTo(sb);
+        } else {
+            Numbers.append(out, appendTo(Numbers.formatBuffer()));
+        }
+
+        return out;
+    }
+
+    /**
+     * Serializes this matrix to a string.
+     *
+     * @return Stringified matrix
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,320 @@
+package civitas.celestis.math.quaternion;
+
+import civitas.celestis.io.VectorProxy;
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.rotation.FloatRotation;
+import civitas.celestis.math.vector.FloatVector3;
+import civitas.celestis.math.vector.FloatVector4;
+import jakarta.annotation.Nonnull;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+/**
+ * <h2>FloatQuaternion</h2>
+ * <p>
+ * A quaternion with single precision.
+ * This is the compact counterpart of {@link Quaternion}, using the same multiplication convention.
+ * </p>
+ */
+public final class FloatQuaternion extends FloatVector4 {
+    //
+    // Constants
+    //
+
+    /**
+     * The identity quaternion.
+     */
+    public static final FloatQuaternion IDENTITY = new FloatQuaternion(1, 0, 0, 0);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new quaternion.
+     *
+     * @param w W value of this quaternion
+     * @param x X value of this quaternion
+     * @param y Y value of this quaternion
+     * @param z Z value of this quaternion
+     */
+    public FloatQuaternion(float w, float x, float y, float z) {
+        super(w, x, y, z);
+    }
+
+    /**
+     * Creates a new quaternion.
+     *
+     * @param w Scalar part of this quaternion
+     * @param v Vector part of this quaternion
+     */
+    public FloatQuaternion(float w, @Nonnull FloatVector3 v) {
+        super(w, v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Creates a new quaternion by narrowing a double precision quaternion.
+     *
+     * @param q Quaternion to convert
+     */
+    public FloatQuaternion(@Nonnull Quaternion q) {
+        super(q);
+    }
+
+    /**
+     * Creates a new quaternion, optionally skipping validation.
+     *
+     * @param w        W value of this quaternion
+     * @param x        X value of this quaternion
+     * @param y        Y value of this quaternion
+     * @param z        Z value of this quaternion
+     * @param validate {@code true} to require finite values
+     */
+    private FloatQuaternion(float w, float x, float y, float z, boolean validate) {
+        super(w, x, y, z, validate);
+    }
+
+    /**
+     * Creates a new quaternion without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param w W value of the quaternion
+     * @param x X value of the quaternion
+     * @param y Y value of the quaternion
+     * @param z Z value of the quaternion
+     * @return Created quaternion
+     */
+    @Nonnull
+    public static FloatQuaternion unchecked(float w, float x, float y, float z) {
+        return new FloatQuaternion(w, x, y, z, Numbers.DEBUG);
+    }
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the vector part of this quaternion.
+     *
+     * @return Vector part
+     */
+    @Nonnull
+    public FloatVector3 vector() {
+        return FloatVector3.unchecked(x(), y(), z());
+    }
+
+    //
+    // Quaternion-Scalar Arithmetic
+    //
+
+    @Nonnull
+    @Override
+    public FloatQuaternion add(double s) {
+        final float f = (float) s;
+        return unchecked(w() + f, x() + f, y() + f, z() + f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatQuaternion subtract(double s) {
+        final float f = (float) s;
+        return unchecked(w() - f, x() - f, y() - f, z() - f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatQuaternion multiply(double s) {
+        final float f = (float) s;
+        return unchecked(w() * f, x() * f, y() * f, z() * f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatQuaternion divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        final float f = (float) s;
+        return unchecked(w() / f, x() / f, y() / f, z() / f);
+    }
+
+    //
+    // Quaternion-Vector4 Arithmetic
+    //
+
+    @Nonnull
+    @Override
+    public FloatQuaternion add(@Nonnull FloatVector4 v) {
+        return unchecked(w() + v.w(), x() + v.x(), y() + v.y(), z() + v.z());
+    }
+
+    @Nonnull
+    @Override
+    public FloatQuaternion subtract(@Nonnull FloatVector4 v) {
+        return unchecked(w() - v.w(), x() - v.x(), y() - v.y(), z() - v.z());
+    }
+
+    //
+    // Quaternion-Quaternion Arithmetic
+    //
+
+    /**
+     * Multiplies this quaternion by another quaternion. (left-multiplication)
+     *
+     * @param q Quaternion to multiply with
+     * @return Resulting quaternion
+     */
+    @Nonnull
+    public FloatQuaternion multiply(@Nonnull FloatQuaternion q) {
+        final float w1 = w(), x1 = x(), y1 = y(), z1 = z();
+        final float w2 = q.w(), x2 = q.x(), y2 = q.y(), z2 = q.z();
+
+        // w = w1 * w2 - v1 . v2, v = v2 * w1 + v1 * w2 + v2 x v1
+        return unchecked(
+                w1 * w2 - (x1 * x2 + y1 * y2 + z1 * z2),
+                x2 * w1 + x1 * w2 + (y2 * z1 - z2 * y1),
+                y2 * w1 + y1 * w2 + (z2 * x1 - x2 * z1),
+                z2 * w1 + z1 * w2 + (x2 * y1 - y2 * x1)
+        );
+    }
+
+    //
+    // Util
+    //
+
+    /**
+     * Scales the rotation this quaternion represents.
+     *
+     * @param s Scalar to scale rotation to
+     * @return Scaled quaternion
+     */
+    @Nonnull
+    public FloatQuaternion scale(double s) {
+        // No need to scale identity quaternions
+        if (w() == 1) return IDENTITY;
+
+        // Rounding can push w of a unit quaternion slightly past one, where acos is NaN
+        final double acos = Math.acos(Math.max(-1, Math.min(1, w())));
+        final double sin = Math.sin(acos);
+
+        // Quaternions within rounding of the identity have no axis to scale around
+        if (sin == 0) return IDENTITY;
+
+        final double f = Math.sin(acos * s) / sin;
+
+        return unchecked((float) Math.cos(acos * s), (float) (x() * f), (float) (y() * f), (float) (z() * f));
+    }
+
+    /**
+     * Gets the conjugate of this quaternion.
+     *
+     * @return Conjugate
+     */
+    @Nonnull
+    public FloatQuaternion conjugate() {
+        return unchecked(w(), -x(), -y(), -z());
+    }
+
+    /**
+     * Gets the inverse of this quaternion.
+     *
+     * @return Inverse
+     * @throws ArithmeticException When this quaternion is zero
+     */
+    @Nonnull
+    public FloatQuaternion inverse() throws ArithmeticException {
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.max(Math.abs(w()), Math.abs(x())), Math.max(Math.abs(y()), Math.abs(z())));
+            if (max == 0) throw new ArithmeticException("Cannot invert a zero quaternion.");
+            return divide(max).inverse();
+        }
+
+        return conjugate().multiply(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Assuming this is a rotation quaternion, this converts {@code this} to axis/angle notation.
+     *
+     * @return Rotation derived from {@code this}
+     */
+    @Nonnull
+    public FloatRotation rotation() {
+        final double angle = 2 * Math.acos(Math.max(-1, Math.min(1, w())));
+        if (angle == 0) return FloatRotation.NO_ROTATION;
+
+        final double f = 2 / angle;
+        return new FloatRotation((float) angle, (float) (x() * f), (float) (y() * f), (float) (z() * f));
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this quaternion to double precision.
+     *
+     * @return Double precision quaternion
+     */
+    @Nonnull
+    @Override
+    public Quaternion toDouble() {
+        return Quaternion.unchecked(w(), x(), y(), z());
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this quaternion to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("FloatQuaternion{")
+                .append("w=").append(w())
+                .append(", x=").append(x())
+                .append(", y=").append(y())
+                .append(", z=").append(z())
+                .append('}');
+    }
+
+    /**
+     * Serializes this quaternion to a string.
+     *
+     * @return Stringified quaternion
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this quaternion with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
+    }
+}
@@ -1,18 +1,26 @@
 package civitas.celestis.math.quaternion;
 
+import civitas.celestis.io.VectorProxy;
 import civitas.celestis.math.Numbers;
 import civitas.celestis.math.rotation.Rotation;
 import civitas.celestis.math.vector.Vector3;
 import civitas.celestis.math.vector.Vector4;
+import civitas.celestis.math.vector.VectorParser;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 
 /**
  * <h2>Quaternion</h2>
  * <p>Quaternions are used to represent the rotation of 3D vectors.</p>
+ * <p>
+ * Every arithmetic operation computes its components directly and creates exactly one quaternion,
+ * so quaternion arithmetic costs the same as the equivalent {@link Vector4} arithmetic.
+ * </p>
  */
-public class Quaternion extends Vector4 {
+public final class Quaternion extends Vector4 {
     //
     // Constants
     //
@@ -57,6 +65,34 @@ public class Quaternion extends Vector4 {
         super(other);
     }
 
+    /**
+     * Creates a new quaternion, optionally skipping validation.
+     *
+     * @param w        W value of this quaternion
+     * @param x        X value of this quaternion
+     * @param y        Y value of this quaternion
+     * @param z        Z value of this quaternion
+     * @param validate {@code true} to require finite values
+     */
+    private Quaternion(double w, double x, double y, double z, boolean validate) {
+        super(w, x, y, z, validate);
+    }
+
+    /**
+     * Creates a new quaternion without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param w W value of the quaternion
+     * @param x X value of the quaternion
+     * @param y Y value of the quaternion
+     * @param z Z value of the quaternion
+     * @return Created quaternion
+     */
+    @Nonnull
+    public static Quaternion unchecked(double w, double x, double y, double z) {
+        return new Quaternion(w, x, y, z, Numbers.DEBUG);
+    }
+
     //
     // Getters
     //
@@ -68,7 +104,7 @@ public class Quaternion extends Vector4 {
      */
     @Nonnull
     public Vector3 vector() {
-        return new Vector3(x(), y(), z());
+        return Vector3.unchecked(x(), y(), z());
     }
 
     //
@@ -78,25 +114,26 @@ public class Quaternion extends Vector4 {
     @Nonnull
     @Override
     public Quaternion add(double s) {
-        return new Quaternion(super.add(s));
+        return unchecked(w() + s, x() + s, y() + s, z() + s);
     }
 
     @Nonnull
     @Override
     public Quaternion subtract(double s) {
-        return new Quaternion(super.subtract(s));
+        return unchecked(w() - s, x() - s, y() - s, z() - s);
     }
 
     @Nonnull
     @Override
     public Quaternion multiply(double s) {
-        return new Quaternion(super.multiply(s));
+        return unchecked(w() * s, x() * s, y() * s, z() * s);
     }
 
     @Nonnull
     @Override
     public Quaternion divide(double s) throws ArithmeticException {
-        return new Quaternion(super.divide(s));
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        return unchecked(w() / s, x() / s, y() / s, z() / s);
     }
 
     //
@@ -106,13 +143,13 @@ public class Quaternion extends Vector4 {
     @Nonnull
     @Override
     public Quaternion add(@Nonnull Vector4 v) {
-        return new Quaternion(super.add(v));
+        return unchecked(w() + v.w(), x() + v.x(), y() + v.y(), z() + v.z());
     }
 
     @Nonnull
     @Override
     public Quaternion subtract(@Nonnull Vector4 v) {
-        return new Quaternion(super.subtract(v));
+        return unchecked(w() - v.w(), x() - v.x(), y() - v.y(), z() - v.z());
     }
 
     //
@@ -127,9 +164,15 @@ public class Quaternion extends Vector4 {
      */
     @Nonnull
     public Quaternion multiply(@Nonnull Quaternion q) {
-        return new Quaternion(
-                (w() * q.w()) - vector().dot(q.vector()),
-                q.vector().multiply(w()).add(vector().multiply(q.w())).add(q.vector().cross(vector()))
+        final double w1 = w(), x1 = x(), y1 = y(), z1 = z();
+        final double w2 = q.w(), x2 = q.x(), y2 = q.y(), z2 = q.z();
+
+        // w = w1 * w2 - v1 . v2, v = v2 * w1 + v1 * w2 + v2 x v1
+        return unchecked(
+                w1 * w2 - (x1 * x2 + y1 * y2 + z1 * z2),
+                x2 * w1 + x1 * w2 + (y2 * z1 - z2 * y1),
+                y2 * w1 + y1 * w2 + (z2 * x1 - x2 * z1),
+                z2 * w1 + z1 * w2 + (x2 * y1 - y2 * x1)
         );
     }
 
@@ -148,11 +191,16 @@ public class Quaternion extends Vector4 {
         // No need to scale identity quaternions
         if (w() == 1) return IDENTITY;
 
-        final double acos = Math.acos(w());
-        return new Quaternion(
-                Math.cos(acos * s),
-                vector().divide(Math.sin(acos)).multiply(Math.sin(acos * s))
-        );
+        // Rounding can push w of a unit quaternion slightly past one, where acos is NaN
+        final double acos = Math.acos(Math.max(-1, Math.min(1, w())));
+        final double sin = Math.sin(acos);
+
+        // Quaternions within rounding of the identity have no axis to scale around
+        if (sin == 0) return IDENTITY;
+
+        final double f = Math.sin(acos * s) / sin;
+
+        return unchecked(Math.cos(acos * s), x() * f, y() * f, z() * f);
     }
 
     /**
@@ -162,17 +210,28 @@ public class Quaternion extends Vector4 {
      */
     @Nonnull
     public Quaternion conjugate() {
-        return new Quaternion(w(), -x(), -y(), -z());
+        return unchecked(w(), -x(), -y(), -z());
     }
 
     /**
      * Gets the inverse of this quaternion.
      *
      * @return Inverse
+     * @throws ArithmeticException When this quaternion is zero
      */
     @Nonnull
-    public Quaternion inverse() {
-        return conjugate().multiply(Numbers.isqrt(magnitude2()));
+    public Quaternion inverse() throws ArithmeticException {
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.max(Math.abs(w()), Math.abs(x())), Math.max(Math.abs(y()), Math.abs(z())));
+            if (max == 0) throw new ArithmeticException("Cannot invert a zero quaternion.");
+            return divide(max).inverse();
+        }
+
+        final double s = Numbers.isqrt(m2);
+        return unchecked(w() * s, -x() * s, -y() * s, -z() * s);
     }
 
     /**
@@ -182,11 +241,11 @@ public class Quaternion extends Vector4 {
      */
     @Nonnull
     public Rotation rotation() {
-        final double angle = 2 * Math.acos(w());
+        final double angle = 2 * Math.acos(Math.max(-1, Math.min(1, w())));
         if (angle == 0) return Rotation.NO_ROTATION;
 
-        final Vector3 axis = vector().divide(angle / 2);
-        return new Rotation(axis, angle);
+        final double f = 2 / angle;
+        return Rotation.unchecked(angle, x() * f, y() * f, z() * f);
     }
 
     //
@@ -201,32 +260,32 @@ public class Quaternion extends Vector4 {
      * @throws NumberFormatException When the string is not parsable to a quaternion
      */
     @Nonnull
-    public static Vector4 parseQuaternion(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Quaternion{")) throw new NumberFormatException("Given string is not a quaternion.");
-
-        final String[] strings = s
-                .replaceAll("Quaternion\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+    public static Quaternion parseQuaternion(@Nonnull String s) throws NumberFormatException {
+        final Quaternion q = VectorParser.parseQuaternion(s);
+        if (q == null) throw new NumberFormatException("Given string is not a quaternion.");
 
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a quaternion.");
+        return q;
+    }
 
-            switch (split[0]) {
-                case "w" -> values[0] = Double.parseDouble(split[1]);
-                case "x" -> values[1] = Double.parseDouble(split[1]);
-                case "y" -> values[2] = Double.parseDouble(split[1]);
-                case "z" -> values[3] = Double.parseDouble(split[1]);
-            }
-        });
 
-        return new Vector4(values[0], values[1], values[2], values[3]);
+    /**
+     * Appends the string representation of this quaternion to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Quaternion{")
+                .append("w=").append(w())
+                .append(", x=").append(x())
+                .append(", y=").append(y())
+                .append(", z=").append(z())
+                .append('}');
     }
 
-
     /**
      * Serializes this quaternion to a string.
      *
@@ -235,12 +294,28 @@ public class Quaternion extends Vector4 {
     @Override
     @Nonnull
     public String toString() {
-        return "Quaternion{" +
-                "w=" + w() +
-                ", x=" + x() +
-                ", y=" + y() +
-                ", z=" + z() +
-                '}';
+        return appendTo(new StringBuilder()).toString();
     }
 
+
+    /**
+     * Replaces this quaternion with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
+    }
 }
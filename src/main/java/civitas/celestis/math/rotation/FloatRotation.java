@@ -0,0 +1,275 @@
+package civitas.celestis.math.rotation;
+
+import civitas.celestis.io.VectorProxy;
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.FloatQuaternion;
+import civitas.celestis.math.vector.FloatVector3;
+import civitas.celestis.math.vector.FloatVector4;
+import jakarta.annotation.Nonnull;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+/**
+ * <h2>FloatRotation</h2>
+ * <p>
+ * Represents a 3D rotation using axis/angle notation with single precision.
+ * This is the compact counterpart of {@link Rotation}.
+ * </p>
+ */
+public final class FloatRotation extends FloatVector4 {
+    //
+    // Constants
+    //
+
+    /**
+     * Represents being perfectly upright with no rotation.
+     */
+    public static final FloatRotation NO_ROTATION = new FloatRotation(FloatVector3.POSITIVE_Y, 0);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new rotation.
+     * Angle obeys the right-hand rule.
+     *
+     * @param axis  Axis of rotation
+     * @param angle Angle in radians
+     */
+    public FloatRotation(@Nonnull FloatVector3 axis, float angle) {
+        super(angle, axis.x(), axis.y(), axis.z());
+    }
+
+    /**
+     * Creates a new rotation.
+     *
+     * @param angle Angle in radians
+     * @param x     X value of axis
+     * @param y     Y value of axis
+     * @param z     Z value of axis
+     */
+    public FloatRotation(float angle, float x, float y, float z) {
+        super(angle, x, y, z);
+    }
+
+    /**
+     * Creates a new rotation by narrowing a double precision rotation.
+     *
+     * @param r Rotation to convert
+     */
+    public FloatRotation(@Nonnull Rotation r) {
+        super(r);
+    }
+
+    /**
+     * Creates a new rotation, optionally skipping validation.
+     *
+     * @param angle    Angle in radians
+     * @param x        X value of axis
+     * @param y        Y value of axis
+     * @param z        Z value of axis
+     * @param validate {@code true} to require finite values
+     */
+    private FloatRotation(float angle, float x, float y, float z, boolean validate) {
+        super(angle, x, y, z, validate);
+    }
+
+    /**
+     * Creates a new rotation without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param angle Angle in radians
+     * @param x     X value of axis
+     * @param y     Y value of axis
+     * @param z     Z value of axis
+     * @return Created rotation
+     */
+    @Nonnull
+    public static FloatRotation unchecked(float angle, float x, float y, float z) {
+        return new FloatRotation(angle, x, y, z, Numbers.DEBUG);
+    }
+
+    //
+    // Cache
+    //
+
+    /*
+     * Derived values are computed on first use and reused afterward.
+     * Both cached types are immutable with final fields, so a racy initialization
+     * is harmless: at worst two threads compute the same value.
+     */
+
+    private transient FloatVector3 axis;
+    private transient FloatQuaternion quaternion;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the angle of this rotation.
+     *
+     * @return Angle in radians
+     */
+    public float angle() {
+        return w();
+    }
+
+    /**
+     * Gets the angle of this rotation.
+     *
+     * @return Angle in degrees
+     */
+    public double degrees() {
+        return Math.toDegrees(w());
+    }
+
+    /**
+     * Gets the axis of this rotation.
+     * The normalized axis is computed once and cached.
+     *
+     * @return Axis of rotation
+     */
+    @Nonnull
+    public FloatVector3 axis() {
+        FloatVector3 a = axis;
+
+        if (a == null) {
+            a = FloatVector3.unchecked(x(), y(), z()).normalize();
+            axis = a;
+        }
+
+        return a;
+    }
+
+    //
+    // Util
+    //
+
+    /**
+     * Scales this rotation by given scalar.
+     *
+     * @param s Scalar to scale by
+     * @return Scaled rotation
+     */
+    @Nonnull
+    public FloatRotation scale(double s) {
+        return unchecked((float) (w() * s), x(), y(), z());
+    }
+
+    /**
+     * Rotates this rotation by another rotation.
+     *
+     * @param r Rotation to rotate by
+     * @return Resulting rotation
+     */
+    @Nonnull
+    public FloatRotation rotate(@Nonnull FloatRotation r) {
+        return rotate(r.quaternion());
+    }
+
+    /**
+     * Rotates this rotation by a rotation quaternion.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return Resulting rotation
+     */
+    @Nonnull
+    public FloatRotation rotate(@Nonnull FloatQuaternion rq) {
+        return rq.multiply(quaternion()).rotation();
+    }
+
+    /**
+     * Converts this rotation to a rotation quaternion.
+     * The quaternion is computed once and cached, so repeated calls do not re-evaluate any trigonometry.
+     *
+     * @return Rotation quaternion derived from {@code this}
+     */
+    @Nonnull
+    public FloatQuaternion quaternion() {
+        FloatQuaternion q = quaternion;
+
+        if (q == null) {
+            final FloatVector3 a = axis();
+            final double half = w() / 2d;
+            final float sin = (float) Math.sin(half);
+
+            q = FloatQuaternion.unchecked((float) Math.cos(half), a.x() * sin, a.y() * sin, a.z() * sin);
+            quaternion = q;
+        }
+
+        return q;
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this rotation to double precision.
+     *
+     * @return Double precision rotation
+     */
+    @Nonnull
+    @Override
+    public Rotation toDouble() {
+        return Rotation.unchecked(w(), x(), y(), z());
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this rotation to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("FloatRotation{")
+                .append("angle=").append(w())
+                .append(", x=").append(x())
+                .append(", y=").append(y())
+                .append(", z=").append(z())
+                .append('}');
+    }
+
+    /**
+     * Serializes this rotation to a string.
+     *
+     * @return Stringified rotation
+     */
+    @Nonnull
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this rotation with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
+    }
+}
@@ -1,17 +1,22 @@
 package civitas.celestis.math.rotation;
 
+import civitas.celestis.io.VectorProxy;
+import civitas.celestis.math.Numbers;
 import civitas.celestis.math.quaternion.Quaternion;
 import civitas.celestis.math.vector.Vector3;
 import civitas.celestis.math.vector.Vector4;
+import civitas.celestis.math.vector.VectorParser;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 
 /**
  * <h2>Rotation</h2>
  * <p>Represents a 3D rotation using axis/angle notation.</p>
  */
-public class Rotation extends Vector4 {
+public final class Rotation extends Vector4 {
     //
     // Constants
     //
@@ -57,6 +62,47 @@ public class Rotation extends Vector4 {
         super(other);
     }
 
+    /**
+     * Creates a new rotation, optionally skipping validation.
+     *
+     * @param angle    Angle in radians
+     * @param x        X value of axis
+     * @param y        Y value of axis
+     * @param z        Z value of axis
+     * @param validate {@code true} to require finite values
+     */
+    private Rotation(double angle, double x, double y, double z, boolean validate) {
+        super(angle, x, y, z, validate);
+    }
+
+    /**
+     * Creates a new rotation without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param angle Angle in radians
+     * @param x     X value of axis
+     * @param y     Y value of axis
+     * @param z     Z value of axis
+     * @return Created rotation
+     */
+    @Nonnull
+    public static Rotation unchecked(double angle, double x, double y, double z) {
+        return new Rotation(angle, x, y, z, Numbers.DEBUG);
+    }
+
+    //
+    // Cache
+    //
+
+    /*
+     * Derived values are computed on first use and reused afterward.
+     * Both cached types are immutable with final fields, so a racy initialization
+     * is harmless: at worst two threads compute the same value.
+     */
+
+    private transient Vector3 axis;
+    private transient Quaternion quaternion;
+
     //
     // Getters
     //
@@ -81,12 +127,20 @@ public class Rotation extends Vector4 {
 
     /**
      * Gets the axis of this rotation.
+     * The normalized axis is computed once and cached.
      *
      * @return Axis of rotation
      */
     @Nonnull
     public Vector3 axis() {
-        return new Vector3(x(), y(), z()).normalize();
+        Vector3 a = axis;
+
+        if (a == null) {
+            a = Vector3.unchecked(x(), y(), z()).normalize();
+            axis = a;
+        }
+
+        return a;
     }
 
     //
@@ -101,7 +155,7 @@ public class Rotation extends Vector4 {
      */
     @Nonnull
     public Rotation scale(double s) {
-        return new Rotation(w() * s, x(), y(), z());
+        return unchecked(w() * s, x(), y(), z());
     }
 
     /**
@@ -128,12 +182,24 @@ public class Rotation extends Vector4 {
 
     /**
      * Converts this rotation to a rotation quaternion.
+     * The quaternion is computed once and cached, so repeated calls do not re-evaluate any trigonometry.
      *
      * @return Rotation quaternion derived from {@code this}
      */
     @Nonnull
     public Quaternion quaternion() {
-        return new Quaternion(Math.cos(w() / 2), axis().normalize().multiply(Math.sin(w() / 2)));
+        Quaternion q = quaternion;
+
+        if (q == null) {
+            final Vector3 a = axis();
+            final double half = w() / 2;
+            final double sin = Math.sin(half);
+
+            q = Quaternion.unchecked(Math.cos(half), a.x() * sin, a.y() * sin, a.z() * sin);
+            quaternion = q;
+        }
+
+        return q;
     }
 
     //
@@ -149,31 +215,31 @@ public class Rotation extends Vector4 {
      */
     @Nonnull
     public static Rotation parseRotation(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Rotation{")) throw new NumberFormatException("Given string is not a rotation.");
+        final Rotation r = VectorParser.parseRotation(s);
+        if (r == null) throw new NumberFormatException("Given string is not a rotation.");
 
-        final String[] strings = s
-                .replaceAll("Rotation\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a rotation.");
+        return r;
+    }
 
-            switch (split[0]) {
-                case "angle" -> values[0] = Double.parseDouble(split[1]);
-                case "x" -> values[1] = Double.parseDouble(split[1]);
-                case "y" -> values[2] = Double.parseDouble(split[1]);
-                case "z" -> values[3] = Double.parseDouble(split[1]);
-            }
-        });
 
-        return new Rotation(new Vector3(values[1], values[2], values[3]), values[0]);
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Rotation{")
+                .append("angle=").append(w())
+                .append(", x=").append(x())
+                .append(", y=").append(y())
+                .append(", z=").append(z())
+                .append('}');
     }
 
-
     /**
      * Serializes this vector to a string.
      *
@@ -182,11 +248,27 @@ public class Rotation extends Vector4 {
     @Nonnull
     @Override
     public String toString() {
-        return "Rotation{" +
-                "angle=" + w() +
-                ", x=" + x() +
-                ", y=" + y() +
-                ", z=" + z() +
-                '}';
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this rotation with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
     }
 }
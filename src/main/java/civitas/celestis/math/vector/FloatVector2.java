@@ -0,0 +1,350 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.io.VectorProxy;
+import civitas.celestis.math.Numbers;
+import jakarta.annotation.Nonnull;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+/**
+ * <h2>FloatVector2</h2>
+ * <p>
+ * A two-dimensional vector with single precision.
+ * This is the compact counterpart of {@link Vector2}, for when memory or bandwidth matters more than precision.
+ * Arithmetic is carried out in single precision.
+ * </p>
+ */
+public final class FloatVector2 implements Vector {
+    //
+    // Constants
+    //
+
+    /**
+     * Absolute zero. Represents origin.
+     */
+    public static final FloatVector2 ZERO = new FloatVector2(0, 0);
+
+    public static final FloatVector2 POSITIVE_X = new FloatVector2(1, 0);
+    public static final FloatVector2 POSITIVE_Y = new FloatVector2(0, 1);
+    public static final FloatVector2 NEGATIVE_X = new FloatVector2(-1, 0);
+    public static final FloatVector2 NEGATIVE_Y = new FloatVector2(0, -1);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new vector.
+     *
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     */
+    public FloatVector2(float x, float y) {
+        this(x, y, true);
+    }
+
+    /**
+     * Creates a new vector by narrowing a double precision vector.
+     *
+     * @param v Vector to convert
+     */
+    public FloatVector2(@Nonnull Vector2 v) {
+        this((float) v.x(), (float) v.y());
+    }
+
+    /**
+     * Creates a new vector, optionally skipping validation.
+     *
+     * @param x        X value of this vector
+     * @param y        Y value of this vector
+     * @param validate {@code true} to require finite values
+     */
+    private FloatVector2(float x, float y, boolean validate) {
+        this.x = validate ? Numbers.requireFinite(x) : x;
+        this.y = validate ? Numbers.requireFinite(y) : y;
+    }
+
+    /**
+     * Creates a new vector without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param x X value of the vector
+     * @param y Y value of the vector
+     * @return Created vector
+     */
+    @Nonnull
+    public static FloatVector2 unchecked(float x, float y) {
+        return new FloatVector2(x, y, Numbers.DEBUG);
+    }
+
+    //
+    // Variables
+    //
+
+    private final float x;
+    private final float y;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public float x() {return x;}
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public float y() {return y;}
+
+    @Override
+    public double magnitude() {
+        return Numbers.sqrt(magnitude2());
+    }
+
+    @Override
+    public double magnitude2() {
+        return x * x + y * y;
+    }
+
+    //
+    // Vector-Scalar Arithmetic
+    //
+
+    @Nonnull
+    @Override
+    public FloatVector2 add(double s) {
+        final float f = (float) s;
+        return unchecked(x + f, y + f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector2 subtract(double s) {
+        final float f = (float) s;
+        return unchecked(x - f, y - f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector2 multiply(double s) {
+        final float f = (float) s;
+        return unchecked(x * f, y * f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector2 divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        final float f = (float) s;
+        return unchecked(x / f, y / f);
+    }
+
+    //
+    // Vector-Vector Arithmetic
+    //
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param v Vector to add
+     * @return Resulting vector
+     */
+    @Nonnull
+    public FloatVector2 add(@Nonnull FloatVector2 v) {
+        return unchecked(x + v.x, y + v.y);
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return Resulting vector
+     */
+    @Nonnull
+    public FloatVector2 subtract(@Nonnull FloatVector2 v) {
+        return unchecked(x - v.x, y - v.y);
+    }
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public float dot(@Nonnull FloatVector2 v) {
+        return x * v.x + y * v.y;
+    }
+
+    /**
+     * Multiplies this vector by another vector.
+     *
+     * @param v Vector to multiply with
+     * @return Product of two vectors
+     */
+    @Nonnull
+    public FloatVector2 multiply(@Nonnull FloatVector2 v) {
+        return unchecked(x * v.x - y * v.y, x * v.y + y * v.x);
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof FloatVector2 v2)) return false;
+        return x == v2.x && y == v2.y;
+    }
+
+    /**
+     * Gets the hash code of this vector.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Float.hashCode(x + 0f);
+        hash = 31 * hash + Float.hashCode(y + 0f);
+        return hash;
+    }
+
+    //
+    // Util
+    //
+
+    @Nonnull
+    @Override
+    public FloatVector2 negate() {
+        return unchecked(-x, -y);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector2 normalize() {
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.abs(x), Math.abs(y));
+            return max == 0 ? this : divide(max).normalize();
+        }
+
+        return multiply(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Gets the distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public double distance(@Nonnull FloatVector2 v) {
+        return Numbers.sqrt(distance2(v));
+    }
+
+    /**
+     * Gets the squared distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public double distance2(@Nonnull FloatVector2 v) {
+        final float dx = x - v.x;
+        final float dy = y - v.y;
+
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Rotates this vector counter-clockwise by given angle.
+     *
+     * @param angle Angle in radians
+     * @return Rotated vector
+     */
+    @Nonnull
+    public FloatVector2 rotate(double angle) {
+        return multiply(new FloatVector2((float) Math.cos(angle), (float) Math.sin(angle)));
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to double precision.
+     *
+     * @return Double precision vector
+     */
+    @Nonnull
+    public Vector2 toDouble() {
+        return Vector2.unchecked(x, y);
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("FloatVector2{")
+                .append("x=").append(x)
+                .append(", y=").append(y)
+                .append('}');
+    }
+
+    /**
+     * Serializes this vector to a string.
+     *
+     * @return Stringified vector
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this vector with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
+    }
+}
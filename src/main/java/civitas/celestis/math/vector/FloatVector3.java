@@ -0,0 +1,411 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.io.VectorProxy;
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.FloatQuaternion;
+import civitas.celestis.math.rotation.FloatRotation;
+import jakarta.annotation.Nonnull;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+/**
+ * <h2>FloatVector3</h2>
+ * <p>
+ * A three-dimensional vector with single precision.
+ * This is the compact counterpart of {@link Vector3}, for rendering and network paths
+ * where half the payload matters more than precision. Arithmetic is carried out in single precision.
+ * </p>
+ */
+public final class FloatVector3 implements Vector {
+    //
+    // Constants
+    //
+
+    /**
+     * Absolute zero. Represents origin.
+     */
+    public static final FloatVector3 ZERO = new FloatVector3(0, 0, 0);
+
+    public static final FloatVector3 POSITIVE_X = new FloatVector3(1, 0, 0);
+    public static final FloatVector3 POSITIVE_Y = new FloatVector3(0, 1, 0);
+    public static final FloatVector3 POSITIVE_Z = new FloatVector3(0, 0, 1);
+    public static final FloatVector3 NEGATIVE_X = new FloatVector3(-1, 0, 0);
+    public static final FloatVector3 NEGATIVE_Y = new FloatVector3(0, -1, 0);
+    public static final FloatVector3 NEGATIVE_Z = new FloatVector3(0, 0, -1);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new vector.
+     *
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     * @param z Z value of this vector
+     */
+    public FloatVector3(float x, float y, float z) {
+        this(x, y, z, true);
+    }
+
+    /**
+     * Creates a new vector by narrowing a double precision vector.
+     *
+     * @param v Vector to convert
+     */
+    public FloatVector3(@Nonnull Vector3 v) {
+        this((float) v.x(), (float) v.y(), (float) v.z());
+    }
+
+    /**
+     * Creates a new vector, optionally skipping validation.
+     *
+     * @param x        X value of this vector
+     * @param y        Y value of this vector
+     * @param z        Z value of this vector
+     * @param validate {@code true} to require finite values
+     */
+    private FloatVector3(float x, float y, float z, boolean validate) {
+        this.x = validate ? Numbers.requireFinite(x) : x;
+        this.y = validate ? Numbers.requireFinite(y) : y;
+        this.z = validate ? Numbers.requireFinite(z) : z;
+    }
+
+    /**
+     * Creates a new vector without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param x X value of the vector
+     * @param y Y value of the vector
+     * @param z Z value of the vector
+     * @return Created vector
+     */
+    @Nonnull
+    public static FloatVector3 unchecked(float x, float y, float z) {
+        return new FloatVector3(x, y, z, Numbers.DEBUG);
+    }
+
+    //
+    // Variables
+    //
+
+    private final float x;
+    private final float y;
+    private final float z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public float x() {return x;}
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public float y() {return y;}
+
+    /**
+     * Gets the Z value of this vector.
+     *
+     * @return Z value
+     */
+    public float z() {return z;}
+
+    @Override
+    public double magnitude() {
+        return Numbers.sqrt(magnitude2());
+    }
+
+    @Override
+    public double magnitude2() {
+        return x * x + y * y + z * z;
+    }
+
+    //
+    // Vector-Scalar Arithmetic
+    //
+
+    @Nonnull
+    @Override
+    public FloatVector3 add(double s) {
+        final float f = (float) s;
+        return unchecked(x + f, y + f, z + f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector3 subtract(double s) {
+        final float f = (float) s;
+        return unchecked(x - f, y - f, z - f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector3 multiply(double s) {
+        final float f = (float) s;
+        return unchecked(x * f, y * f, z * f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector3 divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        final float f = (float) s;
+        return unchecked(x / f, y / f, z / f);
+    }
+
+    //
+    // Vector-Vector Arithmetic
+    //
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param v Vector to add
+     * @return Resulting vector
+     */
+    @Nonnull
+    public FloatVector3 add(@Nonnull FloatVector3 v) {
+        return unchecked(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return Resulting vector
+     */
+    @Nonnull
+    public FloatVector3 subtract(@Nonnull FloatVector3 v) {
+        return unchecked(x - v.x, y - v.y, z - v.z);
+    }
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public float dot(@Nonnull FloatVector3 v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    /**
+     * Gets the cross product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Cross product of two vectors
+     */
+    @Nonnull
+    public FloatVector3 cross(@Nonnull FloatVector3 v) {
+        return unchecked(
+                y * v.z - z * v.y,
+                z * v.x - x * v.z,
+                x * v.y - y * v.x
+        );
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof FloatVector3 v3)) return false;
+        return x == v3.x && y == v3.y && z == v3.z;
+    }
+
+    /**
+     * Gets the hash code of this vector.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Float.hashCode(x + 0f);
+        hash = 31 * hash + Float.hashCode(y + 0f);
+        hash = 31 * hash + Float.hashCode(z + 0f);
+        return hash;
+    }
+
+    //
+    // Util
+    //
+
+    @Nonnull
+    @Override
+    public FloatVector3 negate() {
+        return unchecked(-x, -y, -z);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector3 normalize() {
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+            return max == 0 ? this : divide(max).normalize();
+        }
+
+        return multiply(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Gets the distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public double distance(@Nonnull FloatVector3 v) {
+        return Numbers.sqrt(distance2(v));
+    }
+
+    /**
+     * Gets the squared distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public double distance2(@Nonnull FloatVector3 v) {
+        final float dx = x - v.x;
+        final float dy = y - v.y;
+        final float dz = z - v.z;
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Rotates this vector by a rotation.
+     *
+     * @param r Rotation to rotate by
+     * @return Rotated vector
+     */
+    @Nonnull
+    public FloatVector3 rotate(@Nonnull FloatRotation r) {
+        return rotate(r.quaternion());
+    }
+
+    /**
+     * Rotates this vector by a rotation quaternion.
+     * The result matches {@link Vector3#rotate(civitas.celestis.math.quaternion.Quaternion)}
+     * up to single precision rounding.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return Rotated vector
+     */
+    @Nonnull
+    public FloatVector3 rotate(@Nonnull FloatQuaternion rq) {
+        final float w = rq.w();
+        final float qx = rq.x();
+        final float qy = rq.y();
+        final float qz = rq.z();
+
+        // t = 2 * (v x q)
+        final float tx = 2 * (y * qz - z * qy);
+        final float ty = 2 * (z * qx - x * qz);
+        final float tz = 2 * (x * qy - y * qx);
+
+        // v' = v + w * t + t x q
+        return unchecked(
+                x + w * tx + (ty * qz - tz * qy),
+                y + w * ty + (tz * qx - tx * qz),
+                z + w * tz + (tx * qy - ty * qx)
+        );
+    }
+
+    /**
+     * Converts this vector to a pure quaternion.
+     *
+     * @return Pure quaternion of {@code this}
+     */
+    @Nonnull
+    public FloatQuaternion quaternion() {
+        return FloatQuaternion.unchecked(0, x, y, z);
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to double precision.
+     *
+     * @return Double precision vector
+     */
+    @Nonnull
+    public Vector3 toDouble() {
+        return Vector3.unchecked(x, y, z);
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("FloatVector3{")
+                .append("x=").append(x)
+                .append(", y=").append(y)
+                .append(", z=").append(z)
+                .append('}');
+    }
+
+    /**
+     * Serializes this vector to a string.
+     *
+     * @return Stringified vector
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this vector with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
+    }
+}
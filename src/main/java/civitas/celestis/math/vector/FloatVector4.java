@@ -0,0 +1,380 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.io.VectorProxy;
+import civitas.celestis.math.Numbers;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+/**
+ * <h2>FloatVector4</h2>
+ * <p>
+ * A four-dimensional vector with single precision.
+ * This is the compact counterpart of {@link Vector4}. Arithmetic is carried out in single precision.
+ * </p>
+ * <p>
+ * Like {@link Vector4}, its subclasses are final and its accessors and metrics cannot be overridden.
+ * </p>
+ */
+public non-sealed class FloatVector4 implements Vector {
+    //
+    // Constants
+    //
+
+    /**
+     * Absolute zero. Represents origin.
+     */
+    public static final FloatVector4 ZERO = new FloatVector4(0, 0, 0, 0);
+
+    public static final FloatVector4 POSITIVE_W = new FloatVector4(1, 0, 0, 0);
+    public static final FloatVector4 POSITIVE_X = new FloatVector4(0, 1, 0, 0);
+    public static final FloatVector4 POSITIVE_Y = new FloatVector4(0, 0, 1, 0);
+    public static final FloatVector4 POSITIVE_Z = new FloatVector4(0, 0, 0, 1);
+    public static final FloatVector4 NEGATIVE_W = new FloatVector4(-1, 0, 0, 0);
+    public static final FloatVector4 NEGATIVE_X = new FloatVector4(0, -1, 0, 0);
+    public static final FloatVector4 NEGATIVE_Y = new FloatVector4(0, 0, -1, 0);
+    public static final FloatVector4 NEGATIVE_Z = new FloatVector4(0, 0, 0, -1);
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new vector.
+     *
+     * @param w W value of this vector
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     * @param z Z value of this vector
+     */
+    public FloatVector4(float w, float x, float y, float z) {
+        this(w, x, y, z, true);
+    }
+
+    /**
+     * Creates a new vector by narrowing a double precision vector.
+     *
+     * @param v Vector to convert
+     */
+    public FloatVector4(@Nonnull Vector4 v) {
+        this((float) v.w(), (float) v.x(), (float) v.y(), (float) v.z());
+    }
+
+    /**
+     * Creates a vector from an existing vector.
+     *
+     * @param other Vector to copy
+     */
+    public FloatVector4(@Nonnull FloatVector4 other) {
+        this.w = other.w;
+        this.x = other.x;
+        this.y = other.y;
+        this.z = other.z;
+    }
+
+    /**
+     * Creates a new vector, optionally skipping validation.
+     * Subclasses use this to provide their own {@code unchecked} factories.
+     * Validation cannot be skipped while {@link Numbers#DEBUG} is enabled.
+     *
+     * @param w        W value of this vector
+     * @param x        X value of this vector
+     * @param y        Y value of this vector
+     * @param z        Z value of this vector
+     * @param validate {@code true} to require finite values
+     */
+    protected FloatVector4(float w, float x, float y, float z, boolean validate) {
+        final boolean check = validate || Numbers.DEBUG;
+
+        this.w = check ? Numbers.requireFinite(w) : w;
+        this.x = check ? Numbers.requireFinite(x) : x;
+        this.y = check ? Numbers.requireFinite(y) : y;
+        this.z = check ? Numbers.requireFinite(z) : z;
+    }
+
+    /**
+     * Creates a new vector without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param w W value of the vector
+     * @param x X value of the vector
+     * @param y Y value of the vector
+     * @param z Z value of the vector
+     * @return Created vector
+     */
+    @Nonnull
+    public static FloatVector4 unchecked(float w, float x, float y, float z) {
+        return new FloatVector4(w, x, y, z, Numbers.DEBUG);
+    }
+
+    //
+    // Variables
+    //
+
+    private final float w;
+    private final float x;
+    private final float y;
+    private final float z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the W value of this vector.
+     *
+     * @return W value
+     */
+    public final float w() {return w;}
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public final float x() {return x;}
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public final float y() {return y;}
+
+    /**
+     * Gets the Z value of this vector.
+     *
+     * @return Z value
+     */
+    public final float z() {return z;}
+
+    @Override
+    public final double magnitude() {
+        return Numbers.sqrt(magnitude2());
+    }
+
+    @Override
+    public final double magnitude2() {
+        return w * w + x * x + y * y + z * z;
+    }
+
+    //
+    // Vector-Scalar Arithmetic
+    //
+
+    @Nonnull
+    @Override
+    public FloatVector4 add(double s) {
+        final float f = (float) s;
+        return unchecked(w + f, x + f, y + f, z + f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector4 subtract(double s) {
+        final float f = (float) s;
+        return unchecked(w - f, x - f, y - f, z - f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector4 multiply(double s) {
+        final float f = (float) s;
+        return unchecked(w * f, x * f, y * f, z * f);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector4 divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        final float f = (float) s;
+        return unchecked(w / f, x / f, y / f, z / f);
+    }
+
+    //
+    // Vector-Vector Arithmetic
+    //
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param v Vector to add
+     * @return Resulting vector
+     */
+    @Nonnull
+    public FloatVector4 add(@Nonnull FloatVector4 v) {
+        return unchecked(w + v.w, x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return Resulting vector
+     */
+    @Nonnull
+    public FloatVector4 subtract(@Nonnull FloatVector4 v) {
+        return unchecked(w - v.w, x - v.x, y - v.y, z - v.z);
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the values are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof FloatVector4 v4)) return false;
+        return w == v4.w && x == v4.x && y == v4.y && z == v4.z;
+    }
+
+    /**
+     * Gets the hash code of this vector.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Float.hashCode(w + 0f);
+        hash = 31 * hash + Float.hashCode(x + 0f);
+        hash = 31 * hash + Float.hashCode(y + 0f);
+        hash = 31 * hash + Float.hashCode(z + 0f);
+        return hash;
+    }
+
+    //
+    // Util
+    //
+
+    @Nonnull
+    @Override
+    public FloatVector4 negate() {
+        return multiply(-1);
+    }
+
+    @Nonnull
+    @Override
+    public FloatVector4 normalize() {
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.max(Math.abs(w), Math.abs(x)), Math.max(Math.abs(y), Math.abs(z)));
+            return max == 0 ? this : divide(max).normalize();
+        }
+
+        return multiply(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Gets the distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public final double distance(@Nonnull FloatVector4 v) {
+        return Numbers.sqrt(distance2(v));
+    }
+
+    /**
+     * Gets the squared distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Distance between two vectors
+     */
+    public final double distance2(@Nonnull FloatVector4 v) {
+        final float dw = w - v.w;
+        final float dx = x - v.x;
+        final float dy = y - v.y;
+        final float dz = z - v.z;
+
+        return dw * dw + dx * dx + dy * dy + dz * dz;
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to double precision.
+     *
+     * @return Double precision vector
+     */
+    @Nonnull
+    public Vector4 toDouble() {
+        return Vector4.unchecked(w, x, y, z);
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("FloatVector4{")
+                .append("w=").append(w)
+                .append(", x=").append(x)
+                .append(", y=").append(y)
+                .append(", z=").append(z)
+                .append('}');
+    }
+
+    /**
+     * Serializes this vector to a string.
+     *
+     * @return Stringified vector
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this vector with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances of this class which bypass the serialization proxy.
+     * Subclasses which do not replace themselves are deserialized by default, and their components are validated.
+     *
+     * @param in Stream to read from
+     * @throws IOException            When an I/O error occurs
+     * @throws ClassNotFoundException When a class of the stream cannot be found
+     * @throws InvalidObjectException When this is a FloatVector4, or a component is not finite
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws IOException, ClassNotFoundException {
+        if (getClass() == FloatVector4.class) throw new InvalidObjectException("Serialization proxy required.");
+
+        in.defaultReadObject();
+
+        if (!(Float.isFinite(w) && Float.isFinite(x) && Float.isFinite(y) && Float.isFinite(z))) {
+            throw new InvalidObjectException("Components must be finite.");
+        }
+    }
+}
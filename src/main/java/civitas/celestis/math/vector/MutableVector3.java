@@ -0,0 +1,451 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * <h2>MutableVector3</h2>
+ * <p>
+ * A mutable three-dimensional vector.
+ * This is the allocation-free counterpart of {@link Vector3}, intended for inner loops
+ * such as integrators, where every operation writes its result in place.
+ * </p>
+ * <p>
+ * Unlike {@link Vector3}, components are not validated when they are written.
+ * Converting back to a {@link Vector3} via {@link #vector()} validates the result.
+ * </p>
+ */
+public final class MutableVector3 implements Serializable {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new zero vector.
+     */
+    public MutableVector3() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Creates a new vector.
+     *
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     * @param z Z value of this vector
+     */
+    public MutableVector3(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Creates a new vector from an immutable vector.
+     *
+     * @param v Vector to copy
+     */
+    public MutableVector3(@Nonnull Vector3 v) {
+        this(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Creates a new vector from an existing vector.
+     *
+     * @param other Vector to copy
+     */
+    public MutableVector3(@Nonnull MutableVector3 other) {
+        this(other.x, other.y, other.z);
+    }
+
+    //
+    // Variables
+    //
+
+    private double x;
+    private double y;
+    private double z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public double x() {return x;}
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public double y() {return y;}
+
+    /**
+     * Gets the Z value of this vector.
+     *
+     * @return Z value
+     */
+    public double z() {return z;}
+
+    /**
+     * Gets the magnitude of this vector.
+     *
+     * @return Magnitude
+     */
+    public double magnitude() {
+        return Numbers.sqrt(magnitude2());
+    }
+
+    /**
+     * Gets the squared magnitude of this vector.
+     *
+     * @return Squared magnitude
+     */
+    public double magnitude2() {
+        return x * x + y * y + z * z;
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the values of this vector.
+     *
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the values of an immutable vector into this vector.
+     *
+     * @param v Vector to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(@Nonnull Vector3 v) {
+        return set(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Copies the values of another vector into this vector.
+     *
+     * @param v Vector to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(@Nonnull MutableVector3 v) {
+        return set(v.x, v.y, v.z);
+    }
+
+    //
+    // In-place Arithmetic
+    //
+
+    /**
+     * Adds another vector to this vector in place.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 addAssign(@Nonnull Vector3 v) {
+        return set(x + v.x(), y + v.y(), z + v.z());
+    }
+
+    /**
+     * Adds another vector to this vector in place.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 addAssign(@Nonnull MutableVector3 v) {
+        return set(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Adds a scaled vector to this vector in place. ({@code this += v * s})
+     * This is the typical integration step, e.g. {@code position.addScaledAssign(velocity, dt)}.
+     *
+     * @param v Vector to add
+     * @param s Scalar to multiply {@code v} with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 addScaledAssign(@Nonnull Vector3 v, double s) {
+        return set(x + v.x() * s, y + v.y() * s, z + v.z() * s);
+    }
+
+    /**
+     * Adds a scaled vector to this vector in place. ({@code this += v * s})
+     * This is the typical integration step, e.g. {@code position.addScaledAssign(velocity, dt)}.
+     *
+     * @param v Vector to add
+     * @param s Scalar to multiply {@code v} with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 addScaledAssign(@Nonnull MutableVector3 v, double s) {
+        return set(x + v.x * s, y + v.y * s, z + v.z * s);
+    }
+
+    /**
+     * Subtracts another vector from this vector in place.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 subtractAssign(@Nonnull Vector3 v) {
+        return set(x - v.x(), y - v.y(), z - v.z());
+    }
+
+    /**
+     * Subtracts another vector from this vector in place.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 subtractAssign(@Nonnull MutableVector3 v) {
+        return set(x - v.x, y - v.y, z - v.z);
+    }
+
+    /**
+     * Multiplies this vector by a scalar in place.
+     *
+     * @param s Scalar to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 scaleAssign(double s) {
+        return set(x * s, y * s, z * s);
+    }
+
+    /**
+     * Negates this vector in place.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 negateAssign() {
+        return set(-x, -y, -z);
+    }
+
+    /**
+     * Normalizes this vector to a unit vector in place.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 normalizeAssign() {
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+            return max == 0 ? this : set(x / max, y / max, z / max).normalizeAssign();
+        }
+
+        return scaleAssign(Numbers.isqrt(m2));
+    }
+
+    /**
+     * Rotates this vector by a rotation quaternion in place.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 rotateAssign(@Nonnull Quaternion rq) {
+        return rotateInto(rq, this);
+    }
+
+    //
+    // Arithmetic Into Destination
+    //
+
+    /**
+     * Writes the cross product of {@code this} and {@code v} into {@code dest}.
+     * {@code dest} may be {@code this} or {@code v}.
+     *
+     * @param v    Vector to multiply with
+     * @param dest Vector to write the result to
+     * @return {@code dest}
+     */
+    @Nonnull
+    public MutableVector3 crossInto(@Nonnull MutableVector3 v, @Nonnull MutableVector3 dest) {
+        return dest.set(
+                y * v.z - z * v.y,
+                z * v.x - x * v.z,
+                x * v.y - y * v.x
+        );
+    }
+
+    /**
+     * Writes the cross product of {@code this} and {@code v} into {@code dest}.
+     * {@code dest} may be {@code this}.
+     *
+     * @param v    Vector to multiply with
+     * @param dest Vector to write the result to
+     * @return {@code dest}
+     */
+    @Nonnull
+    public MutableVector3 crossInto(@Nonnull Vector3 v, @Nonnull MutableVector3 dest) {
+        return dest.set(
+                y * v.z() - z * v.y(),
+                z * v.x() - x * v.z(),
+                x * v.y() - y * v.x()
+        );
+    }
+
+    /**
+     * Writes this vector rotated by a rotation quaternion into {@code dest}.
+     * {@code dest} may be {@code this}.
+     * The result is identical to {@link Vector3#rotate(Quaternion)}, but no intermediate objects are created.
+     *
+     * @param rq   Rotation quaternion to rotate by
+     * @param dest Vector to write the result to
+     * @return {@code dest}
+     */
+    @Nonnull
+    public MutableVector3 rotateInto(@Nonnull Quaternion rq, @Nonnull MutableVector3 dest) {
+        final double w = rq.w();
+        final double qx = rq.x();
+        final double qy = rq.y();
+        final double qz = rq.z();
+
+        // t = 2 * (v x q)
+        final double tx = 2 * (y * qz - z * qy);
+        final double ty = 2 * (z * qx - x * qz);
+        final double tz = 2 * (x * qy - y * qx);
+
+        // v' = v + w * t + t x q
+        return dest.set(
+                x + w * tx + (ty * qz - tz * qy),
+                y + w * ty + (tz * qx - tx * qz),
+                z + w * tz + (tx * qy - ty * qx)
+        );
+    }
+
+    //
+    // Products
+    //
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public double dot(@Nonnull Vector3 v) {
+        return x * v.x() + y * v.y() + z * v.z();
+    }
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public double dot(@Nonnull MutableVector3 v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    /**
+     * Gets the squared distance between {@code this} and {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Squared distance between two vectors
+     */
+    public double distance2(@Nonnull MutableVector3 v) {
+        final double dx = x - v.x;
+        final double dy = y - v.y;
+        final double dz = z - v.z;
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to an immutable {@link Vector3}.
+     *
+     * @return Immutable copy of {@code this}
+     * @throws IllegalArgumentException When a component of this vector is not finite
+     */
+    @Nonnull
+    public Vector3 vector() {
+        return new Vector3(x, y, z);
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("MutableVector3{")
+                .append("x=").append(x)
+                .append(", y=").append(y)
+                .append(", z=").append(z)
+                .append('}');
+    }
+
+    /**
+     * Appends the string representation of this vector to an appendable, in the form of {@link #toString()}.
+     *
+     * @param out Appendable to append to
+     * @param <A> Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public <A extends Appendable> A appendTo(@Nonnull A out) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            appendTo(sb);
+        } else {
+            Numbers.append(out, appendTo(Numbers.formatBuffer()));
+        }
+
+        return out;
+    }
+
+    /**
+     * Serializes this vector to a string.
+     *
+     * @return Stringified vector
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+}
@@ -1,16 +1,28 @@
 package civitas.celestis.math.vector;
 
+import civitas.celestis.math.Numbers;
 import civitas.celestis.math.quaternion.Quaternion;
 import civitas.celestis.math.rotation.Rotation;
 import jakarta.annotation.Nonnull;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
  * <h2>Vector</h2>
  * <p>A superinterface for all vectors.</p>
+ * <p>
+ * Values passed to public constructors must be finite.
+ * Results of arithmetic are not validated again unless {@link civitas.celestis.math.Numbers#DEBUG debug mode}
+ * is enabled, so an operation which overflows may produce non-finite components.
+ * </p>
+ * <p>
+ * The set of vector types is closed. {@link Vector4} and {@link FloatVector4} are the only extensible members,
+ * and their subclasses ({@link Quaternion}, {@link Rotation} and their single precision counterparts) are final.
+ * </p>
  */
-public interface Vector extends Serializable {
+public sealed interface Vector extends Serializable
+        permits Vector2, Vector3, Vector4, FloatVector2, FloatVector3, FloatVector4 {
     /**
      * Adds a scalar to this vector.
      *
@@ -78,6 +90,39 @@ public interface Vector extends Serializable {
     @Nonnull
     Vector normalize();
 
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings,
+     * so the result is parsed back to an equal vector by {@link #parse(String)}.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Nonnull
+    StringBuilder appendTo(@Nonnull StringBuilder sb);
+
+    /**
+     * Appends the string representation of this vector to an appendable, in the form of {@link #toString()}.
+     * Appendables other than {@link StringBuilder} are given the text through {@link Numbers#formatBuffer()}
+     * and {@link Numbers#append(Appendable, StringBuilder)}, so string builders and writers receive it
+     * without a string being created per vector.
+     *
+     * @param out Appendable to append to
+     * @param <A> Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    default <A extends Appendable> A appendTo(@Nonnull A out) throws IOException {
+        if (out instanceof StringBuilder sb) {
+            appendTo(sb);
+        } else {
+            Numbers.append(out, appendTo(Numbers.formatBuffer()));
+        }
+
+        return out;
+    }
+
     /**
      * Parses a string to a vector.
      *
@@ -87,26 +132,9 @@ public interface Vector extends Serializable {
      */
     @Nonnull
     static Vector parse(@Nonnull String s) throws NumberFormatException {
-        try {
-            return Vector2.parseVector(s);
-        } catch (NumberFormatException e1) {
-            try {
-                return Vector3.parseVector(s);
-            } catch (NumberFormatException e2) {
-                try {
-                    return Vector4.parseVector(s);
-                } catch (NumberFormatException e3) {
-                    try {
-                        return Quaternion.parseQuaternion(s);
-                    } catch (NumberFormatException e4) {
-                        try {
-                            return Rotation.parseRotation(s);
-                        } catch (NumberFormatException e5) {
-                            throw new NumberFormatException("String is not a vector.");
-                        }
-                    }
-                }
-            }
-        }
+        final Vector v = VectorParser.parse(s);
+        if (v == null) throw new NumberFormatException("String is not a vector.");
+
+        return v;
     }
 }
@@ -1,9 +1,12 @@
 package civitas.celestis.math.vector;
 
+import civitas.celestis.io.VectorProxy;
 import civitas.celestis.math.Numbers;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 
 /**
  * <h2>Vector3</h2>
@@ -35,8 +38,32 @@ public final class Vector2 implements Vector {
      * @param y Y value of this vector
      */
     public Vector2(double x, double y) {
-        this.x = Numbers.requireFinite(x);
-        this.y = Numbers.requireFinite(y);
+        this(x, y, true);
+    }
+
+    /**
+     * Creates a new vector, optionally skipping validation.
+     *
+     * @param x        X value of this vector
+     * @param y        Y value of this vector
+     * @param validate {@code true} to require finite values
+     */
+    private Vector2(double x, double y, boolean validate) {
+        this.x = validate ? Numbers.requireFinite(x) : x;
+        this.y = validate ? Numbers.requireFinite(y) : y;
+    }
+
+    /**
+     * Creates a new vector without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param x X value of the vector
+     * @param y Y value of the vector
+     * @return Created vector
+     */
+    @Nonnull
+    public static Vector2 unchecked(double x, double y) {
+        return new Vector2(x, y, Numbers.DEBUG);
     }
 
     /**
@@ -76,10 +103,7 @@ public final class Vector2 implements Vector {
 
     @Override
     public double magnitude() {
-        final double isqrt = Numbers.isqrt(magnitude2());
-        if (isqrt == 0) return 0;
-
-        return 1 / isqrt;
+        return Numbers.sqrt(magnitude2());
     }
 
     @Override
@@ -94,26 +118,26 @@ public final class Vector2 implements Vector {
     @Nonnull
     @Override
     public Vector2 add(double s) {
-        return new Vector2(x + s, y + s);
+        return unchecked(x + s, y + s);
     }
 
     @Nonnull
     @Override
     public Vector2 subtract(double s) {
-        return new Vector2(x - s, y - s);
+        return unchecked(x - s, y - s);
     }
 
     @Nonnull
     @Override
     public Vector2 multiply(double s) {
-        return new Vector2(x * s, y * s);
+        return unchecked(x * s, y * s);
     }
 
     @Nonnull
     @Override
     public Vector2 divide(double s) throws ArithmeticException {
         if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
-        return new Vector2(x / s, y / s);
+        return unchecked(x / s, y / s);
     }
 
     //
@@ -128,7 +152,7 @@ public final class Vector2 implements Vector {
      */
     @Nonnull
     public Vector2 add(@Nonnull Vector2 v) {
-        return new Vector2(x + v.x, y + v.y);
+        return unchecked(x + v.x, y + v.y);
     }
 
     /**
@@ -139,7 +163,7 @@ public final class Vector2 implements Vector {
      */
     @Nonnull
     public Vector2 subtract(@Nonnull Vector2 v) {
-        return new Vector2(x - v.x, y - v.y);
+        return unchecked(x - v.x, y - v.y);
     }
 
     /**
@@ -160,7 +184,7 @@ public final class Vector2 implements Vector {
      */
     @Nonnull
     public Vector2 multiply(@Nonnull Vector2 v) {
-        return new Vector2(x * v.x - y * v.y, x * v.y + y * v.x);
+        return unchecked(x * v.x - y * v.y, x * v.y + y * v.x);
     }
 
     //
@@ -180,6 +204,18 @@ public final class Vector2 implements Vector {
         return x == v2.x && y == v2.y;
     }
 
+    /**
+     * Gets the hash code of this vector.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Double.hashCode(x + 0d);
+        hash = 31 * hash + Double.hashCode(y + 0d);
+        return hash;
+    }
 
     //
     // Util
@@ -194,7 +230,15 @@ public final class Vector2 implements Vector {
     @Nonnull
     @Override
     public Vector2 normalize() {
-        return multiply(Numbers.isqrt(magnitude2()));
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.abs(x), Math.abs(y));
+            return max == 0 ? this : divide(max).normalize();
+        }
+
+        return multiply(Numbers.isqrt(m2));
     }
 
     /**
@@ -241,26 +285,26 @@ public final class Vector2 implements Vector {
      */
     @Nonnull
     public static Vector2 parseVector(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Vector2{")) throw new NumberFormatException("Given string is not a vector.");
+        final Vector2 v = VectorParser.parseVector2(s);
+        if (v == null) throw new NumberFormatException("Given string is not a vector.");
 
-        final String[] strings = s
-                .replaceAll("Vector2\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a vector.");
-
-            switch (split[0]) {
-                case "x" -> values[0] = Double.parseDouble(split[1]);
-                case "y" -> values[1] = Double.parseDouble(split[1]);
-            }
-        });
+        return v;
+    }
 
-        return new Vector2(values[0], values[1]);
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Vector2{")
+                .append("x=").append(x)
+                .append(", y=").append(y)
+                .append('}');
     }
 
     /**
@@ -271,9 +315,27 @@ public final class Vector2 implements Vector {
     @Override
     @Nonnull
     public String toString() {
-        return "Vector2{" +
-                "x=" + x +
-                ", y=" + y +
-                '}';
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this vector with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
     }
 }
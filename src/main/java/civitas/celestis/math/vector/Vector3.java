@@ -1,11 +1,14 @@
 package civitas.celestis.math.vector;
 
+import civitas.celestis.io.VectorProxy;
 import civitas.celestis.math.Numbers;
 import civitas.celestis.math.quaternion.Quaternion;
 import civitas.celestis.math.rotation.Rotation;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 
 /**
  * <h2>Vector3</h2>
@@ -40,9 +43,35 @@ public final class Vector3 implements Vector {
      * @param z Z value of this vector
      */
     public Vector3(double x, double y, double z) {
-        this.x = Numbers.requireFinite(x);
-        this.y = Numbers.requireFinite(y);
-        this.z = Numbers.requireFinite(z);
+        this(x, y, z, true);
+    }
+
+    /**
+     * Creates a new vector, optionally skipping validation.
+     *
+     * @param x        X value of this vector
+     * @param y        Y value of this vector
+     * @param z        Z value of this vector
+     * @param validate {@code true} to require finite values
+     */
+    private Vector3(double x, double y, double z, boolean validate) {
+        this.x = validate ? Numbers.requireFinite(x) : x;
+        this.y = validate ? Numbers.requireFinite(y) : y;
+        this.z = validate ? Numbers.requireFinite(z) : z;
+    }
+
+    /**
+     * Creates a new vector without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param x X value of the vector
+     * @param y Y value of the vector
+     * @param z Z value of the vector
+     * @return Created vector
+     */
+    @Nonnull
+    public static Vector3 unchecked(double x, double y, double z) {
+        return new Vector3(x, y, z, Numbers.DEBUG);
     }
 
     /**
@@ -91,10 +120,7 @@ public final class Vector3 implements Vector {
 
     @Override
     public double magnitude() {
-        final double isqrt = Numbers.isqrt(magnitude2());
-        if (isqrt == 0) return 0;
-
-        return 1 / isqrt;
+        return Numbers.sqrt(magnitude2());
     }
 
     @Override
@@ -109,26 +135,26 @@ public final class Vector3 implements Vector {
     @Nonnull
     @Override
     public Vector3 add(double s) {
-        return new Vector3(x + s, y + s, z + s);
+        return unchecked(x + s, y + s, z + s);
     }
 
     @Nonnull
     @Override
     public Vector3 subtract(double s) {
-        return new Vector3(x - s, y - s, z - s);
+        return unchecked(x - s, y - s, z - s);
     }
 
     @Nonnull
     @Override
     public Vector3 multiply(double s) {
-        return new Vector3(x * s, y * s, z * s);
+        return unchecked(x * s, y * s, z * s);
     }
 
     @Nonnull
     @Override
     public Vector3 divide(double s) throws ArithmeticException {
         if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
-        return new Vector3(x / s, y / s, z / s);
+        return unchecked(x / s, y / s, z / s);
     }
 
     //
@@ -143,7 +169,7 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public Vector3 add(@Nonnull Vector3 v) {
-        return new Vector3(x + v.x, y + v.y, z + v.z);
+        return unchecked(x + v.x, y + v.y, z + v.z);
     }
 
     /**
@@ -154,7 +180,7 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public Vector3 subtract(@Nonnull Vector3 v) {
-        return new Vector3(x - v.x, y - v.y, z - v.z);
+        return unchecked(x - v.x, y - v.y, z - v.z);
     }
 
     /**
@@ -175,7 +201,7 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public Vector3 cross(@Nonnull Vector3 v) {
-        return new Vector3(
+        return unchecked(
                 y * v.z - z * v.y,
                 z * v.x - x * v.z,
                 x * v.y - y * v.x
@@ -200,6 +226,19 @@ public final class Vector3 implements Vector {
         return x == v3.x && y == v3.y && z == v3.z;
     }
 
+    /**
+     * Gets the hash code of this vector.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Double.hashCode(x + 0d);
+        hash = 31 * hash + Double.hashCode(y + 0d);
+        hash = 31 * hash + Double.hashCode(z + 0d);
+        return hash;
+    }
 
     //
     // Util
@@ -214,7 +253,15 @@ public final class Vector3 implements Vector {
     @Nonnull
     @Override
     public Vector3 normalize() {
-        return multiply(Numbers.isqrt(magnitude2()));
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+            return max == 0 ? this : divide(max).normalize();
+        }
+
+        return multiply(Numbers.isqrt(m2));
     }
 
     /**
@@ -249,14 +296,52 @@ public final class Vector3 implements Vector {
     }
 
     /**
-     * Rotates this vector by a rotation quaternion.
+     * Rotates this vector by a rotation quaternion, which must be a unit quaternion.
+     * This is equivalent to {@code rq.conjugate() * quaternion() * rq},
+     * but is computed directly without creating intermediate quaternions.
+     * The direct form relies on {@code rq} being of unit length, so other quaternions
+     * do not give the result of the product, nor a pure rotation.
      *
-     * @param rq Rotation quaternion to rotate by
+     * @param rq Unit rotation quaternion to rotate by
      * @return Rotated vector
      */
     @Nonnull
     public Vector3 rotate(@Nonnull Quaternion rq) {
-        return rq.multiply(quaternion()).multiply(rq.conjugate()).vector();
+        final double w = rq.w();
+        final double qx = rq.x();
+        final double qy = rq.y();
+        final double qz = rq.z();
+
+        // t = 2 * (v x q)
+        final double tx = 2 * (y * qz - z * qy);
+        final double ty = 2 * (z * qx - x * qz);
+        final double tz = 2 * (x * qy - y * qx);
+
+        // v' = v + w * t + t x q
+        return unchecked(
+                x + w * tx + (ty * qz - tz * qy),
+                y + w * ty + (tz * qx - tx * qz),
+                z + w * tz + (tx * qy - ty * qx)
+        );
+    }
+
+    /**
+     * Rotates multiple vectors by one rotation quaternion, which must be a unit quaternion.
+     * Each element of the result equals {@code vectors[i].rotate(rq)}.
+     *
+     * @param rq      Unit rotation quaternion to rotate by
+     * @param vectors Vectors to rotate
+     * @return Array of rotated vectors
+     */
+    @Nonnull
+    public static Vector3[] rotate(@Nonnull Quaternion rq, @Nonnull Vector3... vectors) {
+        final Vector3[] result = new Vector3[vectors.length];
+
+        for (int i = 0; i < vectors.length; i++) {
+            result[i] = vectors[i].rotate(rq);
+        }
+
+        return result;
     }
 
     /**
@@ -266,7 +351,7 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public Quaternion quaternion() {
-        return new Quaternion(0, x, y, z);
+        return Quaternion.unchecked(0, x, y, z);
     }
 
     //
@@ -282,27 +367,27 @@ public final class Vector3 implements Vector {
      */
     @Nonnull
     public static Vector3 parseVector(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Vector3{")) throw new NumberFormatException("Given string is not a vector.");
-
-        final String[] strings = s
-                .replaceAll("Vector3\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN};
+        final Vector3 v = VectorParser.parseVector3(s);
+        if (v == null) throw new NumberFormatException("Given string is not a vector.");
 
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a vector.");
-
-            switch (split[0]) {
-                case "x" -> values[0] = Double.parseDouble(split[1]);
-                case "y" -> values[1] = Double.parseDouble(split[1]);
-                case "z" -> values[2] = Double.parseDouble(split[1]);
-            }
-        });
+        return v;
+    }
 
-        return new Vector3(values[0], values[1], values[2]);
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Vector3{")
+                .append("x=").append(x)
+                .append(", y=").append(y)
+                .append(", z=").append(z)
+                .append('}');
     }
 
     /**
@@ -313,10 +398,27 @@ public final class Vector3 implements Vector {
     @Override
     @Nonnull
     public String toString() {
-        return "Vector3{" +
-                "x=" + x +
-                ", y=" + y +
-                ", z=" + z +
-                '}';
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this vector with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
     }
 }
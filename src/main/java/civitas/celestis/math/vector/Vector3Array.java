@@ -0,0 +1,634 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.io.Vector3ArrayProxy;
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.kernel.VectorKernels;
+import civitas.celestis.math.quaternion.Quaternion;
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <h2>Vector3Array</h2>
+ * <p>
+ * A resizable array of three-dimensional vectors, stored as a structure of arrays.
+ * Each component is kept in its own {@code double[]}, so bulk operations run over
+ * contiguous primitive memory instead of chasing references to {@link Vector3} objects.
+ * </p>
+ * <p>
+ * Bulk operations act on a range {@code [from, to)} of indices and modify this array in place.
+ * Dot products, normalization and rotation are delegated to the default {@link civitas.celestis.math.kernel.VectorKernel}.
+ * Like {@link MutableVector3}, components are not validated when they are written.
+ * </p>
+ */
+public final class Vector3Array implements Serializable {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new array of zero vectors.
+     *
+     * @param size Number of vectors
+     */
+    public Vector3Array(int size) {
+        if (size < 0) throw new IllegalArgumentException("Size cannot be negative.");
+
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.size = size;
+    }
+
+    /**
+     * Creates a new array from an array of vectors.
+     *
+     * @param vectors Vectors to copy
+     */
+    public Vector3Array(@Nonnull Vector3... vectors) {
+        this(vectors.length);
+
+        for (int i = 0; i < vectors.length; i++) {
+            set(i, vectors[i]);
+        }
+    }
+
+    /**
+     * Creates a new array from an existing array.
+     *
+     * @param other Array to copy
+     */
+    public Vector3Array(@Nonnull Vector3Array other) {
+        this.x = Arrays.copyOf(other.x, other.size);
+        this.y = Arrays.copyOf(other.y, other.size);
+        this.z = Arrays.copyOf(other.z, other.size);
+        this.size = other.size;
+    }
+
+    //
+    // Variables
+    //
+
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private int size;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of vectors in this array.
+     *
+     * @return Number of vectors
+     */
+    public int size() {return size;}
+
+    /**
+     * Gets the X value of the vector at given index.
+     *
+     * @param i Index of vector
+     * @return X value
+     */
+    public double x(int i) {return x[Objects.checkIndex(i, size)];}
+
+    /**
+     * Gets the Y value of the vector at given index.
+     *
+     * @param i Index of vector
+     * @return Y value
+     */
+    public double y(int i) {return y[Objects.checkIndex(i, size)];}
+
+    /**
+     * Gets the Z value of the vector at given index.
+     *
+     * @param i Index of vector
+     * @return Z value
+     */
+    public double z(int i) {return z[Objects.checkIndex(i, size)];}
+
+    /**
+     * Gets the vector at given index.
+     *
+     * @param i Index of vector
+     * @return Vector at given index
+     */
+    @Nonnull
+    public Vector3 get(int i) {
+        Objects.checkIndex(i, size);
+        return new Vector3(x[i], y[i], z[i]);
+    }
+
+    /**
+     * Copies the vector at given index into {@code dest}.
+     *
+     * @param i    Index of vector
+     * @param dest Vector to write to
+     * @return {@code dest}
+     */
+    @Nonnull
+    public MutableVector3 get(int i, @Nonnull MutableVector3 dest) {
+        Objects.checkIndex(i, size);
+        return dest.set(x[i], y[i], z[i]);
+    }
+
+    /**
+     * Gets the backing array of X values.
+     * The array is shared with this container and may be longer than {@link #size()}.
+     * It is replaced when this array grows, so it should not be held across calls to {@link #append(double, double, double)}.
+     *
+     * @return Backing array of X values
+     */
+    @Nonnull
+    public double[] xs() {return x;}
+
+    /**
+     * Gets the backing array of Y values.
+     * The array is shared with this container and may be longer than {@link #size()}.
+     * It is replaced when this array grows, so it should not be held across calls to {@link #append(double, double, double)}.
+     *
+     * @return Backing array of Y values
+     */
+    @Nonnull
+    public double[] ys() {return y;}
+
+    /**
+     * Gets the backing array of Z values.
+     * The array is shared with this container and may be longer than {@link #size()}.
+     * It is replaced when this array grows, so it should not be held across calls to {@link #append(double, double, double)}.
+     *
+     * @return Backing array of Z values
+     */
+    @Nonnull
+    public double[] zs() {return z;}
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the vector at given index.
+     *
+     * @param i Index of vector
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     */
+    public void set(int i, double x, double y, double z) {
+        Objects.checkIndex(i, size);
+
+        this.x[i] = x;
+        this.y[i] = y;
+        this.z[i] = z;
+    }
+
+    /**
+     * Sets the vector at given index.
+     *
+     * @param i Index of vector
+     * @param v Vector to set
+     */
+    public void set(int i, @Nonnull Vector3 v) {
+        set(i, v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Sets the vector at given index.
+     *
+     * @param i Index of vector
+     * @param v Vector to set
+     */
+    public void set(int i, @Nonnull MutableVector3 v) {
+        set(i, v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Appends a vector to the end of this array, growing it if necessary.
+     *
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     */
+    public void append(double x, double y, double z) {
+        if (size == this.x.length) grow(size + 1);
+
+        this.x[size] = x;
+        this.y[size] = y;
+        this.z[size] = z;
+        size++;
+    }
+
+    /**
+     * Appends a vector to the end of this array, growing it if necessary.
+     *
+     * @param v Vector to append
+     */
+    public void append(@Nonnull Vector3 v) {
+        append(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Removes every vector from this array. The capacity is retained.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Ensures this array can hold at least given number of vectors without growing.
+     *
+     * @param capacity Minimum capacity
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > x.length) grow(capacity);
+    }
+
+    private void grow(int minCapacity) {
+        final int capacity = Math.max(minCapacity, Math.max(16, x.length + (x.length >> 1)));
+
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+    }
+
+    //
+    // Bulk Arithmetic
+    //
+
+    /**
+     * Adds a vector to every vector in this array.
+     *
+     * @param v Vector to add
+     */
+    public void add(@Nonnull Vector3 v) {
+        add(v, 0, size);
+    }
+
+    /**
+     * Adds a vector to every vector in given range.
+     *
+     * @param v    Vector to add
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void add(@Nonnull Vector3 v, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        final double vx = v.x();
+        final double vy = v.y();
+        final double vz = v.z();
+
+        for (int i = from; i < to; i++) {
+            x[i] += vx;
+            y[i] += vy;
+            z[i] += vz;
+        }
+    }
+
+    /**
+     * Adds the vectors of another array to the vectors of this array, element by element.
+     *
+     * @param v Array to add
+     */
+    public void add(@Nonnull Vector3Array v) {
+        add(v, 0, size);
+    }
+
+    /**
+     * Adds the vectors of another array to the vectors of this array in given range, element by element.
+     *
+     * @param v    Array to add
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void add(@Nonnull Vector3Array v, int from, int to) {
+        addScaled(v, 1, from, to);
+    }
+
+    /**
+     * Adds the scaled vectors of another array to the vectors of this array, element by element.
+     * ({@code this[i] += v[i] * s})
+     *
+     * @param v Array to add
+     * @param s Scalar to multiply the vectors of {@code v} with
+     */
+    public void addScaled(@Nonnull Vector3Array v, double s) {
+        addScaled(v, s, 0, size);
+    }
+
+    /**
+     * Adds the scaled vectors of another array to the vectors of this array in given range, element by element.
+     * ({@code this[i] += v[i] * s})
+     *
+     * @param v    Array to add
+     * @param s    Scalar to multiply the vectors of {@code v} with
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void addScaled(@Nonnull Vector3Array v, double s, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        Objects.checkFromToIndex(from, to, v.size);
+
+        final double[] vx = v.x;
+        final double[] vy = v.y;
+        final double[] vz = v.z;
+
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i] * s;
+            y[i] += vy[i] * s;
+            z[i] += vz[i] * s;
+        }
+    }
+
+    /**
+     * Multiplies every vector in this array by a scalar.
+     *
+     * @param s Scalar to multiply with
+     */
+    public void scale(double s) {
+        scale(s, 0, size);
+    }
+
+    /**
+     * Multiplies every vector in given range by a scalar.
+     *
+     * @param s    Scalar to multiply with
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void scale(double s, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        for (int i = from; i < to; i++) {
+            x[i] *= s;
+            y[i] *= s;
+            z[i] *= s;
+        }
+    }
+
+    /**
+     * Gets the dot products of the vectors of this array and another array, element by element.
+     *
+     * @param v    Array to multiply with
+     * @param dest Array to write the dot products to, at the same indices
+     */
+    public void dot(@Nonnull Vector3Array v, @Nonnull double[] dest) {
+        dot(v, dest, 0, size);
+    }
+
+    /**
+     * Gets the dot products of the vectors of this array and another array in given range, element by element.
+     *
+     * @param v    Array to multiply with
+     * @param dest Array to write the dot products to, at the same indices
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void dot(@Nonnull Vector3Array v, @Nonnull double[] dest, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        Objects.checkFromToIndex(from, to, v.size);
+        Objects.checkFromToIndex(from, to, dest.length);
+
+        VectorKernels.get().dot3(x, y, z, v.x, v.y, v.z, dest, from, to);
+    }
+
+    /**
+     * Gets the cross products of the vectors of this array and another array, element by element.
+     *
+     * @param v    Array to multiply with
+     * @param dest Array to write the cross products to, at the same indices (may be {@code this} or {@code v})
+     */
+    public void cross(@Nonnull Vector3Array v, @Nonnull Vector3Array dest) {
+        cross(v, dest, 0, size);
+    }
+
+    /**
+     * Gets the cross products of the vectors of this array and another array in given range, element by element.
+     *
+     * @param v    Array to multiply with
+     * @param dest Array to write the cross products to, at the same indices (may be {@code this} or {@code v})
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void cross(@Nonnull Vector3Array v, @Nonnull Vector3Array dest, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        Objects.checkFromToIndex(from, to, v.size);
+        Objects.checkFromToIndex(from, to, dest.size);
+
+        final double[] vx = v.x;
+        final double[] vy = v.y;
+        final double[] vz = v.z;
+
+        for (int i = from; i < to; i++) {
+            final double ax = x[i], ay = y[i], az = z[i];
+            final double bx = vx[i], by = vy[i], bz = vz[i];
+
+            dest.x[i] = ay * bz - az * by;
+            dest.y[i] = az * bx - ax * bz;
+            dest.z[i] = ax * by - ay * bx;
+        }
+    }
+
+    /**
+     * Normalizes every vector in this array to a unit vector.
+     */
+    public void normalize() {
+        normalize(0, size);
+    }
+
+    /**
+     * Normalizes every vector in given range to a unit vector.
+     * Zero vectors are left unchanged.
+     *
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void normalize(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        VectorKernels.get().normalize3(x, y, z, from, to);
+    }
+
+    /**
+     * Gets the squared distances between the vectors of this array and a point.
+     *
+     * @param v    Point to get distance to
+     * @param dest Array to write the squared distances to, at the same indices
+     */
+    public void distance2(@Nonnull Vector3 v, @Nonnull double[] dest) {
+        distance2(v, dest, 0, size);
+    }
+
+    /**
+     * Gets the squared distances between the vectors of this array in given range and a point.
+     *
+     * @param v    Point to get distance to
+     * @param dest Array to write the squared distances to, at the same indices
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void distance2(@Nonnull Vector3 v, @Nonnull double[] dest, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        Objects.checkFromToIndex(from, to, dest.length);
+
+        final double vx = v.x();
+        final double vy = v.y();
+        final double vz = v.z();
+
+        for (int i = from; i < to; i++) {
+            final double dx = x[i] - vx;
+            final double dy = y[i] - vy;
+            final double dz = z[i] - vz;
+
+            dest[i] = dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * Rotates every vector in this array by a rotation quaternion.
+     *
+     * @param rq Rotation quaternion to rotate by
+     */
+    public void rotate(@Nonnull Quaternion rq) {
+        rotate(rq, 0, size);
+    }
+
+    /**
+     * Rotates every vector in given range by a rotation quaternion.
+     * The result is identical to {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param rq   Rotation quaternion to rotate by
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     */
+    public void rotate(@Nonnull Quaternion rq, int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+
+        VectorKernels.get().rotate3(rq.w(), rq.x(), rq.y(), rq.z(), x, y, z, from, to);
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this array to an array of immutable vectors.
+     *
+     * @return Array of vectors
+     */
+    @Nonnull
+    public Vector3[] toArray() {
+        final Vector3[] vectors = new Vector3[size];
+
+        for (int i = 0; i < size; i++) {
+            vectors[i] = new Vector3(x[i], y[i], z[i]);
+        }
+
+        return vectors;
+    }
+
+    //
+    // Text
+    //
+
+    /**
+     * Appends a range of vectors to an appendable, one per line, in the form of {@link Vector3#toString()}.
+     * The output can be parsed back line by line with {@link VectorParser#parseVector3(CharSequence, int, int)}.
+     *
+     * @param out  Appendable to append to
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     * @param <A>  Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public <A extends Appendable> A appendLines(@Nonnull A out, int from, int to) throws IOException {
+        return appendText(out, from, to, false);
+    }
+
+    /**
+     * Appends a range of vectors to an appendable as comma-separated values, one {@code x,y,z} triple per line.
+     *
+     * @param out  Appendable to append to
+     * @param from Index of first vector (inclusive)
+     * @param to   Index of last vector (exclusive)
+     * @param <A>  Type of appendable
+     * @return {@code out}
+     * @throws IOException When the appendable throws it
+     */
+    @Nonnull
+    public <A extends Appendable> A appendCsv(@Nonnull A out, int from, int to) throws IOException {
+        return appendText(out, from, to, true);
+    }
+
+    private <A extends Appendable> A appendText(A out, int from, int to, boolean csv) throws IOException {
+        Objects.checkFromToIndex(from, to, size);
+
+        // Other appendables are given the text in blocks, so at most one string is created per block
+        final boolean direct = out instanceof StringBuilder;
+        final StringBuilder sb = direct ? (StringBuilder) out : Numbers.formatBuffer();
+
+        for (int i = from; i < to; i++) {
+            if (csv) {
+                sb.append(x[i]).append(',').append(y[i]).append(',').append(z[i]).append('\n');
+            } else {
+                sb.append("Vector3{x=").append(x[i]).append(", y=").append(y[i]).append(", z=").append(z[i]).append("}\n");
+            }
+
+            if (!direct && sb.length() >= 8192) {
+                Numbers.append(out, sb);
+                sb.setLength(0);
+            }
+        }
+
+        if (!direct) Numbers.append(out, sb);
+        return out;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this array to a string.
+     *
+     * @return Stringified array
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3Array{" +
+                "size=" + size +
+                '}';
+    }
+
+    /**
+     * Replaces this array with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new Vector3ArrayProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances which bypass the serialization proxy.
+     *
+     * @param in Stream to read from
+     * @throws InvalidObjectException Always
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required.");
+    }
+}
@@ -0,0 +1,406 @@
+package civitas.celestis.math.vector;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+
+/**
+ * <h2>Vector3IntMap</h2>
+ * <p>
+ * A hash map from three-dimensional vectors to {@code int} values, using open addressing with linear probing.
+ * Keys are stored as coordinates in parallel primitive arrays, so no object is created per entry,
+ * and lookups can be made by coordinates without creating a {@link Vector3}.
+ * </p>
+ * <p>
+ * Keys are compared the same way as {@link Vector3#equals(Object)}: component by component using {@code ==}.
+ * {@code 0.0} and {@code -0.0} are therefore the same key. Keys must not contain {@code NaN}.
+ * </p>
+ * <p>
+ * A typical use is vertex deduplication, where each unique position is assigned the next free index:
+ * {@code final int index = map.putIfAbsent(x, y, z, map.size());}
+ * </p>
+ */
+public final class Vector3IntMap {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new empty map.
+     */
+    public Vector3IntMap() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty map which can hold given number of entries without growing.
+     *
+     * @param expectedSize Expected number of entries
+     */
+    public Vector3IntMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative.");
+
+        allocate(capacityFor(expectedSize));
+    }
+
+    //
+    // Variables
+    //
+
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of entries in this map.
+     *
+     * @return Number of entries
+     */
+    public int size() {return size;}
+
+    /**
+     * Checks if this map is empty.
+     *
+     * @return {@code true} if this map has no entries
+     */
+    public boolean isEmpty() {return size == 0;}
+
+    /**
+     * Checks if this map contains given key.
+     *
+     * @param x X value of key
+     * @param y Y value of key
+     * @param z Z value of key
+     * @return {@code true} if the key is present
+     */
+    public boolean containsKey(double x, double y, double z) {
+        return find(x, y, z) >= 0;
+    }
+
+    /**
+     * Checks if this map contains given key.
+     *
+     * @param key Key to look up
+     * @return {@code true} if the key is present
+     */
+    public boolean containsKey(@Nonnull Vector3 key) {
+        return containsKey(key.x(), key.y(), key.z());
+    }
+
+    /**
+     * Gets the value associated with given key.
+     *
+     * @param x            X value of key
+     * @param y            Y value of key
+     * @param z            Z value of key
+     * @param defaultValue Value to return when the key is not present
+     * @return Associated value, or {@code defaultValue} if the key is not present
+     */
+    public int get(double x, double y, double z, int defaultValue) {
+        final int slot = find(x, y, z);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Gets the value associated with given key.
+     *
+     * @param key          Key to look up
+     * @param defaultValue Value to return when the key is not present
+     * @return Associated value, or {@code defaultValue} if the key is not present
+     */
+    public int get(@Nonnull Vector3 key, int defaultValue) {
+        return get(key.x(), key.y(), key.z(), defaultValue);
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Associates given value with given key, replacing any previous value.
+     *
+     * @param x     X value of key
+     * @param y     Y value of key
+     * @param z     Z value of key
+     * @param value Value to associate
+     * @return {@code true} if the key was not present before
+     */
+    public boolean put(double x, double y, double z, int value) {
+        final int slot = slot(x, y, z);
+        final boolean added = !used[slot];
+
+        values[slot] = value;
+        if (added) occupy(slot, x, y, z);
+
+        return added;
+    }
+
+    /**
+     * Associates given value with given key, replacing any previous value.
+     *
+     * @param key   Key to associate with
+     * @param value Value to associate
+     * @return {@code true} if the key was not present before
+     */
+    public boolean put(@Nonnull Vector3 key, int value) {
+        return put(key.x(), key.y(), key.z(), value);
+    }
+
+    /**
+     * Associates given value with given key, unless the key is already present.
+     *
+     * @param x     X value of key
+     * @param y     Y value of key
+     * @param z     Z value of key
+     * @param value Value to associate
+     * @return The value associated with the key after this call
+     */
+    public int putIfAbsent(double x, double y, double z, int value) {
+        final int slot = slot(x, y, z);
+        if (used[slot]) return values[slot];
+
+        values[slot] = value;
+        occupy(slot, x, y, z);
+
+        return value;
+    }
+
+    /**
+     * Associates given value with given key, unless the key is already present.
+     *
+     * @param key   Key to associate with
+     * @param value Value to associate
+     * @return The value associated with the key after this call
+     */
+    public int putIfAbsent(@Nonnull Vector3 key, int value) {
+        return putIfAbsent(key.x(), key.y(), key.z(), value);
+    }
+
+    /**
+     * Removes given key from this map.
+     *
+     * @param x            X value of key
+     * @param y            Y value of key
+     * @param z            Z value of key
+     * @param defaultValue Value to return when the key is not present
+     * @return Removed value, or {@code defaultValue} if the key was not present
+     */
+    public int remove(double x, double y, double z, int defaultValue) {
+        final int slot = find(x, y, z);
+        if (slot < 0) return defaultValue;
+
+        final int value = values[slot];
+        vacate(slot);
+
+        return value;
+    }
+
+    /**
+     * Removes given key from this map.
+     *
+     * @param key          Key to remove
+     * @param defaultValue Value to return when the key is not present
+     * @return Removed value, or {@code defaultValue} if the key was not present
+     */
+    public int remove(@Nonnull Vector3 key, int defaultValue) {
+        return remove(key.x(), key.y(), key.z(), defaultValue);
+    }
+
+    /**
+     * Removes every entry from this map. The capacity is retained.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    //
+    // Iteration
+    //
+
+    /**
+     * Performs an action for every entry of this map, in no particular order.
+     *
+     * @param action Action to perform
+     */
+    public void forEach(@Nonnull EntryConsumer action) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) action.accept(x[i], y[i], z[i], values[i]);
+        }
+    }
+
+    /**
+     * <h2>EntryConsumer</h2>
+     * <p>Accepts the entries of a {@link Vector3IntMap} without boxing them.</p>
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Accepts an entry.
+         *
+         * @param x     X value of key
+         * @param y     Y value of key
+         * @param z     Z value of key
+         * @param value Value associated with the key
+         */
+        void accept(double x, double y, double z, int value);
+    }
+
+    //
+    // Hashing
+    //
+
+    /**
+     * Hashes a key. The bits of all three components are mixed so that
+     * nearby positions on a regular grid spread over the whole table.
+     *
+     * @param x X value of key
+     * @param y Y value of key
+     * @param z Z value of key
+     * @return Hash of the key
+     */
+    static int hash(double x, double y, double z) {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with ==
+        long h = Double.doubleToLongBits(x + 0d);
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(y + 0d);
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(z + 0d);
+
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+
+        return (int) h;
+    }
+
+    /**
+     * Gets the table capacity needed to hold given number of entries.
+     *
+     * @param expectedSize Expected number of entries
+     * @return Power of two capacity
+     */
+    static int capacityFor(int expectedSize) {
+        // Keep the load factor at or below 0.75
+        final long minCapacity = Math.max(16, (long) expectedSize * 4 / 3 + 1);
+        if (minCapacity > 1 << 30) throw new IllegalArgumentException("Expected size is too large.");
+
+        return Integer.highestOneBit((int) minCapacity - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Finds the slot of given key.
+     *
+     * @return Slot of the key, or {@code -1} if the key is not present
+     */
+    private int find(double x, double y, double z) {
+        for (int i = hash(x, y, z) & mask; used[i]; i = (i + 1) & mask) {
+            if (this.x[i] == x && this.y[i] == y && this.z[i] == z) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the slot of given key, or the empty slot where it should be inserted.
+     */
+    private int slot(double x, double y, double z) {
+        int i = hash(x, y, z) & mask;
+
+        while (used[i]) {
+            if (this.x[i] == x && this.y[i] == y && this.z[i] == z) return i;
+            i = (i + 1) & mask;
+        }
+
+        return i;
+    }
+
+    private void occupy(int slot, double x, double y, double z) {
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.z[slot] = z;
+        used[slot] = true;
+
+        if (++size > threshold) rehash(used.length << 1);
+    }
+
+    /**
+     * Empties given slot, shifting later entries of the same probe run back so that no tombstones are needed.
+     */
+    private void vacate(int slot) {
+        int gap = slot;
+
+        for (int i = (gap + 1) & mask; used[i]; i = (i + 1) & mask) {
+            final int home = hash(x[i], y[i], z[i]) & mask;
+
+            // Move the entry into the gap unless its home lies cyclically in (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                x[gap] = x[i];
+                y[gap] = y[i];
+                z[gap] = z[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+
+        used[gap] = false;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        final double[] oldX = x;
+        final double[] oldY = y;
+        final double[] oldZ = z;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+
+            int j = hash(oldX[i], oldY[i], oldZ[i]) & mask;
+            while (used[j]) j = (j + 1) & mask;
+
+            x[j] = oldX[i];
+            y[j] = oldY[i];
+            z[j] = oldZ[i];
+            values[j] = oldValues[i];
+            used[j] = true;
+        }
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this map to a string.
+     *
+     * @return Stringified map
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3IntMap{" +
+                "size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,286 @@
+package civitas.celestis.math.vector;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+
+/**
+ * <h2>Vector3Set</h2>
+ * <p>
+ * A hash set of three-dimensional vectors, using open addressing with linear probing.
+ * This is the set counterpart of {@link Vector3IntMap}: elements are stored as coordinates
+ * in parallel primitive arrays, and no object is created per element.
+ * </p>
+ * <p>
+ * Elements are compared the same way as {@link Vector3#equals(Object)}.
+ * {@code 0.0} and {@code -0.0} are therefore the same element. Elements must not contain {@code NaN}.
+ * </p>
+ */
+public final class Vector3Set {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new empty set.
+     */
+    public Vector3Set() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty set which can hold given number of elements without growing.
+     *
+     * @param expectedSize Expected number of elements
+     */
+    public Vector3Set(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative.");
+
+        allocate(Vector3IntMap.capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a new set from an array of vectors. Duplicates are removed.
+     *
+     * @param vectors Vectors to add
+     */
+    public Vector3Set(@Nonnull Vector3Array vectors) {
+        this(vectors.size());
+
+        final double[] vx = vectors.xs();
+        final double[] vy = vectors.ys();
+        final double[] vz = vectors.zs();
+
+        for (int i = 0; i < vectors.size(); i++) {
+            add(vx[i], vy[i], vz[i]);
+        }
+    }
+
+    //
+    // Variables
+    //
+
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of elements in this set.
+     *
+     * @return Number of elements
+     */
+    public int size() {return size;}
+
+    /**
+     * Checks if this set is empty.
+     *
+     * @return {@code true} if this set has no elements
+     */
+    public boolean isEmpty() {return size == 0;}
+
+    /**
+     * Checks if this set contains given vector.
+     *
+     * @param x X value of vector
+     * @param y Y value of vector
+     * @param z Z value of vector
+     * @return {@code true} if the vector is present
+     */
+    public boolean contains(double x, double y, double z) {
+        return find(x, y, z) >= 0;
+    }
+
+    /**
+     * Checks if this set contains given vector.
+     *
+     * @param v Vector to look up
+     * @return {@code true} if the vector is present
+     */
+    public boolean contains(@Nonnull Vector3 v) {
+        return contains(v.x(), v.y(), v.z());
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Adds a vector to this set.
+     *
+     * @param x X value of vector
+     * @param y Y value of vector
+     * @param z Z value of vector
+     * @return {@code true} if the vector was not present before
+     */
+    public boolean add(double x, double y, double z) {
+        int i = Vector3IntMap.hash(x, y, z) & mask;
+
+        while (used[i]) {
+            if (this.x[i] == x && this.y[i] == y && this.z[i] == z) return false;
+            i = (i + 1) & mask;
+        }
+
+        this.x[i] = x;
+        this.y[i] = y;
+        this.z[i] = z;
+        used[i] = true;
+
+        if (++size > threshold) rehash(used.length << 1);
+        return true;
+    }
+
+    /**
+     * Adds a vector to this set.
+     *
+     * @param v Vector to add
+     * @return {@code true} if the vector was not present before
+     */
+    public boolean add(@Nonnull Vector3 v) {
+        return add(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Removes a vector from this set.
+     *
+     * @param x X value of vector
+     * @param y Y value of vector
+     * @param z Z value of vector
+     * @return {@code true} if the vector was present
+     */
+    public boolean remove(double x, double y, double z) {
+        final int slot = find(x, y, z);
+        if (slot < 0) return false;
+
+        int gap = slot;
+
+        for (int i = (gap + 1) & mask; used[i]; i = (i + 1) & mask) {
+            final int home = Vector3IntMap.hash(this.x[i], this.y[i], this.z[i]) & mask;
+
+            // Move the element into the gap unless its home lies cyclically in (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                this.x[gap] = this.x[i];
+                this.y[gap] = this.y[i];
+                this.z[gap] = this.z[i];
+                gap = i;
+            }
+        }
+
+        used[gap] = false;
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Removes a vector from this set.
+     *
+     * @param v Vector to remove
+     * @return {@code true} if the vector was present
+     */
+    public boolean remove(@Nonnull Vector3 v) {
+        return remove(v.x(), v.y(), v.z());
+    }
+
+    /**
+     * Removes every element from this set. The capacity is retained.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Copies the elements of this set into a new array, in no particular order.
+     *
+     * @return Array of elements
+     */
+    @Nonnull
+    public Vector3Array toArray() {
+        final Vector3Array result = new Vector3Array(size);
+        final double[] rx = result.xs();
+        final double[] ry = result.ys();
+        final double[] rz = result.zs();
+
+        for (int i = 0, j = 0; i < used.length; i++) {
+            if (!used[i]) continue;
+
+            rx[j] = x[i];
+            ry[j] = y[i];
+            rz[j] = z[i];
+            j++;
+        }
+
+        return result;
+    }
+
+    //
+    // Hashing
+    //
+
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    private int find(double x, double y, double z) {
+        for (int i = Vector3IntMap.hash(x, y, z) & mask; used[i]; i = (i + 1) & mask) {
+            if (this.x[i] == x && this.y[i] == y && this.z[i] == z) return i;
+        }
+
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        final double[] oldX = x;
+        final double[] oldY = y;
+        final double[] oldZ = z;
+        final boolean[] oldUsed = used;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+
+            int j = Vector3IntMap.hash(oldX[i], oldY[i], oldZ[i]) & mask;
+            while (used[j]) j = (j + 1) & mask;
+
+            x[j] = oldX[i];
+            y[j] = oldY[i];
+            z[j] = oldZ[i];
+            used[j] = true;
+        }
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this set to a string.
+     *
+     * @return Stringified set
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Vector3Set{" +
+                "size=" + size +
+                '}';
+    }
+}
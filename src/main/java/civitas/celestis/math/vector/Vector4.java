@@ -1,15 +1,24 @@
 package civitas.celestis.math.vector;
 
+import civitas.celestis.io.VectorProxy;
 import civitas.celestis.math.Numbers;
 import jakarta.annotation.Nonnull;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 
 /**
  * <h2>Vector4</h2>
  * <p>A four-dimensional vector.</p>
+ * <p>
+ * {@link civitas.celestis.math.quaternion.Quaternion} and {@link civitas.celestis.math.rotation.Rotation}
+ * extend this class. Both are final, and the accessors and metrics of this class cannot be overridden,
+ * so calls to them stay monomorphic even when the call site sees all three types.
+ * </p>
  */
-public class Vector4 implements Vector {
+public non-sealed class Vector4 implements Vector {
     //
     // Constants
     //
@@ -41,10 +50,42 @@ public class Vector4 implements Vector {
      * @param z Z value of this vector
      */
     public Vector4(double w, double x, double y, double z) {
-        this.w = Numbers.requireFinite(w);
-        this.x = Numbers.requireFinite(x);
-        this.y = Numbers.requireFinite(y);
-        this.z = Numbers.requireFinite(z);
+        this(w, x, y, z, true);
+    }
+
+    /**
+     * Creates a new vector, optionally skipping validation.
+     * Subclasses use this to provide their own {@code unchecked} factories.
+     * Validation cannot be skipped while {@link Numbers#DEBUG} is enabled.
+     *
+     * @param w        W value of this vector
+     * @param x        X value of this vector
+     * @param y        Y value of this vector
+     * @param z        Z value of this vector
+     * @param validate {@code true} to require finite values
+     */
+    protected Vector4(double w, double x, double y, double z, boolean validate) {
+        final boolean check = validate || Numbers.DEBUG;
+
+        this.w = check ? Numbers.requireFinite(w) : w;
+        this.x = check ? Numbers.requireFinite(x) : x;
+        this.y = check ? Numbers.requireFinite(y) : y;
+        this.z = check ? Numbers.requireFinite(z) : z;
+    }
+
+    /**
+     * Creates a new vector without validating its values, unless {@link Numbers#DEBUG} is enabled.
+     * This is the fast path used by arithmetic, and may be used by callers whose values are known to be finite.
+     *
+     * @param w W value of the vector
+     * @param x X value of the vector
+     * @param y Y value of the vector
+     * @param z Z value of the vector
+     * @return Created vector
+     */
+    @Nonnull
+    public static Vector4 unchecked(double w, double x, double y, double z) {
+        return new Vector4(w, x, y, z, Numbers.DEBUG);
     }
 
     /**
@@ -77,39 +118,36 @@ public class Vector4 implements Vector {
      *
      * @return W value
      */
-    public double w() {return w;}
+    public final double w() {return w;}
 
     /**
      * Gets the X value of this vector.
      *
      * @return X value
      */
-    public double x() {return x;}
+    public final double x() {return x;}
 
     /**
      * Gets the Y value of this vector.
      *
      * @return Y value
      */
-    public double y() {return y;}
+    public final double y() {return y;}
 
     /**
      * Gets the Z value of this vector.
      *
      * @return Z value
      */
-    public double z() {return z;}
+    public final double z() {return z;}
 
     @Override
-    public double magnitude() {
-        final double isqrt = Numbers.isqrt(magnitude2());
-        if (isqrt == 0) return 0;
-
-        return 1 / isqrt;
+    public final double magnitude() {
+        return Numbers.sqrt(magnitude2());
     }
 
     @Override
-    public double magnitude2() {
+    public final double magnitude2() {
         return w * w + x * x + y * y + z * z;
     }
 
@@ -120,26 +158,26 @@ public class Vector4 implements Vector {
     @Nonnull
     @Override
     public Vector4 add(double s) {
-        return new Vector4(w + s, x + s, y + s, z + s);
+        return unchecked(w + s, x + s, y + s, z + s);
     }
 
     @Nonnull
     @Override
     public Vector4 subtract(double s) {
-        return new Vector4(w - s, x - s, y - s, z - s);
+        return unchecked(w - s, x - s, y - s, z - s);
     }
 
     @Nonnull
     @Override
     public Vector4 multiply(double s) {
-        return new Vector4(w * s, x * s, y * s, z * s);
+        return unchecked(w * s, x * s, y * s, z * s);
     }
 
     @Nonnull
     @Override
     public Vector4 divide(double s) throws ArithmeticException {
         if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
-        return new Vector4(w / s, x / s, y / s, z / s);
+        return unchecked(w / s, x / s, y / s, z / s);
     }
 
     //
@@ -154,7 +192,7 @@ public class Vector4 implements Vector {
      */
     @Nonnull
     public Vector4 add(@Nonnull Vector4 v) {
-        return new Vector4(w + v.w, x + v.x, y + v.y, z + v.z);
+        return unchecked(w + v.w, x + v.x, y + v.y, z + v.z);
     }
 
     /**
@@ -165,7 +203,7 @@ public class Vector4 implements Vector {
      */
     @Nonnull
     public Vector4 subtract(@Nonnull Vector4 v) {
-        return new Vector4(w - v.w, x - v.x, y - v.y, z - v.y);
+        return unchecked(w - v.w, x - v.x, y - v.y, z - v.z);
     }
 
     //
@@ -185,6 +223,21 @@ public class Vector4 implements Vector {
         return w == v4.w && x == v4.x && y == v4.y && z == v4.z;
     }
 
+    /**
+     * Gets the hash code of this vector.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        // Adding zero maps -0.0 to 0.0, keeping this consistent with equals
+        int hash = Double.hashCode(w + 0d);
+        hash = 31 * hash + Double.hashCode(x + 0d);
+        hash = 31 * hash + Double.hashCode(y + 0d);
+        hash = 31 * hash + Double.hashCode(z + 0d);
+        return hash;
+    }
+
     //
     // Util
     //
@@ -198,7 +251,15 @@ public class Vector4 implements Vector {
     @Nonnull
     @Override
     public Vector4 normalize() {
-        return multiply(Numbers.isqrt(magnitude2()));
+        final double m2 = magnitude2();
+
+        // The squared magnitude underflowed or overflowed, so scale the largest component to one first
+        if (m2 == 0 || m2 == Double.POSITIVE_INFINITY) {
+            final double max = Math.max(Math.max(Math.abs(w), Math.abs(x)), Math.max(Math.abs(y), Math.abs(z)));
+            return max == 0 ? this : divide(max).normalize();
+        }
+
+        return multiply(Numbers.isqrt(m2));
     }
 
     /**
@@ -207,8 +268,8 @@ public class Vector4 implements Vector {
      * @param v Vector to get distance to
      * @return Distance between two vectors
      */
-    public double distance(@Nonnull Vector4 v) {
-        return subtract(v).magnitude();
+    public final double distance(@Nonnull Vector4 v) {
+        return Numbers.sqrt(distance2(v));
     }
 
     /**
@@ -217,8 +278,13 @@ public class Vector4 implements Vector {
      * @param v Vector to get distance to
      * @return Distance between two vectors
      */
-    public double distance2(@Nonnull Vector4 v) {
-        return subtract(v).magnitude2();
+    public final double distance2(@Nonnull Vector4 v) {
+        final double dw = w - v.w;
+        final double dx = x - v.x;
+        final double dy = y - v.y;
+        final double dz = z - v.z;
+
+        return dw * dw + dx * dx + dy * dy + dz * dz;
     }
 
     //
@@ -234,28 +300,28 @@ public class Vector4 implements Vector {
      */
     @Nonnull
     public static Vector4 parseVector(@Nonnull String s) throws NumberFormatException {
-        if (!s.startsWith("Vector4{")) throw new NumberFormatException("Given string is not a vector.");
+        final Vector4 v = VectorParser.parseVector4(s);
+        if (v == null) throw new NumberFormatException("Given string is not a vector.");
 
-        final String[] strings = s
-                .replaceAll("Vector4\\{", "")
-                .replaceAll("}", "")
-                .split(", ");
-
-        final double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
-
-        Arrays.stream(strings).forEach(string -> {
-            final String[] split = string.split("=");
-            if (split.length != 2) throw new NumberFormatException("Given string is not a vector.");
-
-            switch (split[0]) {
-                case "w" -> values[0] = Double.parseDouble(split[1]);
-                case "x" -> values[1] = Double.parseDouble(split[1]);
-                case "y" -> values[2] = Double.parseDouble(split[1]);
-                case "z" -> values[3] = Double.parseDouble(split[1]);
-            }
-        });
+        return v;
+    }
 
-        return new Vector4(values[0], values[1], values[2], values[3]);
+    /**
+     * Appends the string representation of this vector to a string builder, in the form of {@link #toString()}.
+     * Components are written in their shortest round-trip form without creating intermediate strings.
+     *
+     * @param sb String builder to append to
+     * @return {@code sb}
+     */
+    @Override
+    @Nonnull
+    public StringBuilder appendTo(@Nonnull StringBuilder sb) {
+        return sb.append("Vector4{")
+                .append("w=").append(w)
+                .append(", x=").append(x)
+                .append(", y=").append(y)
+                .append(", z=").append(z)
+                .append('}');
     }
 
     /**
@@ -266,11 +332,36 @@ public class Vector4 implements Vector {
     @Override
     @Nonnull
     public String toString() {
-        return "Vector4{" +
-                "w=" + w +
-                ", x=" + x +
-                ", y=" + y +
-                ", z=" + z +
-                '}';
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Replaces this vector with its compact serialized form.
+     *
+     * @return Serialization proxy
+     */
+    @Serial
+    private Object writeReplace() {
+        return new VectorProxy(this);
+    }
+
+    /**
+     * Prevents deserializing instances of this class which bypass the serialization proxy.
+     * Subclasses which do not replace themselves are deserialized by default, and their components are validated.
+     *
+     * @param in Stream to read from
+     * @throws IOException            When an I/O error occurs
+     * @throws ClassNotFoundException When a class of the stream cannot be found
+     * @throws InvalidObjectException When this is a Vector4, or a component is not finite
+     */
+    @Serial
+    private void readObject(@Nonnull ObjectInputStream in) throws IOException, ClassNotFoundException {
+        if (getClass() == Vector4.class) throw new InvalidObjectException("Serialization proxy required.");
+
+        in.defaultReadObject();
+
+        if (!(Double.isFinite(w) && Double.isFinite(x) && Double.isFinite(y) && Double.isFinite(z))) {
+            throw new InvalidObjectException("Components must be finite.");
+        }
     }
 }
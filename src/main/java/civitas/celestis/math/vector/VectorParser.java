@@ -0,0 +1,412 @@
+package civitas.celestis.math.vector;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.quaternion.FloatQuaternion;
+import civitas.celestis.math.quaternion.Quaternion;
+import civitas.celestis.math.rotation.FloatRotation;
+import civitas.celestis.math.rotation.Rotation;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * <h2>VectorParser</h2>
+ * <p>
+ * Parses the string form of every vector type, as produced by their {@code toString()} methods.
+ * e.g. {@code Vector3{x=1.0, y=2.0, z=3.0}} or {@code Rotation{angle=0.5, x=0.0, y=1.0, z=0.0}}
+ * </p>
+ * <p>
+ * Parsing is a single pass over a {@link CharSequence}, so a region of a larger buffer can be parsed
+ * without copying it into a {@link String}. Instead of throwing, every method returns {@code null}
+ * when its input is malformed, when a component is missing or repeated, or when a component is not finite.
+ * Fields may appear in any order.
+ * </p>
+ */
+public final class VectorParser {
+    private static final String[] XY = {"x", "y"};
+    private static final String[] XYZ = {"x", "y", "z"};
+    private static final String[] WXYZ = {"w", "x", "y", "z"};
+    private static final String[] ANGLE_XYZ = {"angle", "x", "y", "z"};
+
+    private VectorParser() {}
+
+    //
+    // Dispatch
+    //
+
+    /**
+     * Parses a vector of any type, choosing the type by the name in front of the opening brace.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a vector
+     */
+    @Nullable
+    public static Vector parse(@Nonnull CharSequence s) {
+        return parse(s, 0, s.length());
+    }
+
+    /**
+     * Parses a vector of any type from a range of characters,
+     * choosing the type by the name in front of the opening brace.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a vector
+     */
+    @Nullable
+    public static Vector parse(@Nonnull CharSequence s, int from, int to) {
+        Objects.checkFromToIndex(from, to, s.length());
+        if (from == to) return null;
+
+        return switch (s.charAt(from)) {
+            case 'V' -> to - from > 6 ? switch (s.charAt(from + 6)) {
+                case '2' -> parseVector2(s, from, to);
+                case '3' -> parseVector3(s, from, to);
+                case '4' -> parseVector4(s, from, to);
+                default -> null;
+            } : null;
+            case 'Q' -> parseQuaternion(s, from, to);
+            case 'R' -> parseRotation(s, from, to);
+            case 'F' -> to - from > 5 ? switch (s.charAt(from + 5)) {
+                case 'V' -> to - from > 11 ? switch (s.charAt(from + 11)) {
+                    case '2' -> parseFloatVector2(s, from, to);
+                    case '3' -> parseFloatVector3(s, from, to);
+                    case '4' -> parseFloatVector4(s, from, to);
+                    default -> null;
+                } : null;
+                case 'Q' -> parseFloatQuaternion(s, from, to);
+                case 'R' -> parseFloatRotation(s, from, to);
+                default -> null;
+            } : null;
+            default -> null;
+        };
+    }
+
+    //
+    // Double Precision
+    //
+
+    /**
+     * Parses a {@link Vector2}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a {@link Vector2}
+     */
+    @Nullable
+    public static Vector2 parseVector2(@Nonnull CharSequence s) {
+        return parseVector2(s, 0, s.length());
+    }
+
+    /**
+     * Parses a {@link Vector2} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a {@link Vector2}
+     */
+    @Nullable
+    public static Vector2 parseVector2(@Nonnull CharSequence s, int from, int to) {
+        final double[] v = fields(s, from, to, "Vector2", XY);
+        return v != null ? Vector2.unchecked(v[0], v[1]) : null;
+    }
+
+    /**
+     * Parses a {@link Vector3}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a {@link Vector3}
+     */
+    @Nullable
+    public static Vector3 parseVector3(@Nonnull CharSequence s) {
+        return parseVector3(s, 0, s.length());
+    }
+
+    /**
+     * Parses a {@link Vector3} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a {@link Vector3}
+     */
+    @Nullable
+    public static Vector3 parseVector3(@Nonnull CharSequence s, int from, int to) {
+        final double[] v = fields(s, from, to, "Vector3", XYZ);
+        return v != null ? Vector3.unchecked(v[0], v[1], v[2]) : null;
+    }
+
+    /**
+     * Parses a {@link Vector3} from a range of characters into an array, without creating any object.
+     * This is meant for bulk parsing, where the components are immediately stored elsewhere.
+     *
+     * @param s      Characters to parse
+     * @param from   Index of first character (inclusive)
+     * @param to     Index of last character (exclusive)
+     * @param dest   Array to write the X, Y and Z values to; partially overwritten when the range is malformed
+     * @param offset Index of {@code dest} to write the X value to
+     * @return {@code true} if the range is a {@link Vector3}, {@code false} otherwise
+     */
+    public static boolean parseVector3(@Nonnull CharSequence s, int from, int to, @Nonnull double[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 3, dest.length);
+        return fields(s, from, to, "Vector3", XYZ, dest, offset);
+    }
+
+    /**
+     * Parses a {@link Vector4}.
+     *
+     * @param s String to parse
+     * @return Parsed vector, or {@code null} if the string is not a {@link Vector4}
+     */
+    @Nullable
+    public static Vector4 parseVector4(@Nonnull CharSequence s) {
+        return parseVector4(s, 0, s.length());
+    }
+
+    /**
+     * Parses a {@link Vector4} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a {@link Vector4}
+     */
+    @Nullable
+    public static Vector4 parseVector4(@Nonnull CharSequence s, int from, int to) {
+        final double[] v = fields(s, from, to, "Vector4", WXYZ);
+        return v != null ? Vector4.unchecked(v[0], v[1], v[2], v[3]) : null;
+    }
+
+    /**
+     * Parses a {@link Quaternion}.
+     *
+     * @param s String to parse
+     * @return Parsed quaternion, or {@code null} if the string is not a {@link Quaternion}
+     */
+    @Nullable
+    public static Quaternion parseQuaternion(@Nonnull CharSequence s) {
+        return parseQuaternion(s, 0, s.length());
+    }
+
+    /**
+     * Parses a {@link Quaternion} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed quaternion, or {@code null} if the range is not a {@link Quaternion}
+     */
+    @Nullable
+    public static Quaternion parseQuaternion(@Nonnull CharSequence s, int from, int to) {
+        final double[] v = fields(s, from, to, "Quaternion", WXYZ);
+        return v != null ? Quaternion.unchecked(v[0], v[1], v[2], v[3]) : null;
+    }
+
+    /**
+     * Parses a {@link Rotation}.
+     *
+     * @param s String to parse
+     * @return Parsed rotation, or {@code null} if the string is not a {@link Rotation}
+     */
+    @Nullable
+    public static Rotation parseRotation(@Nonnull CharSequence s) {
+        return parseRotation(s, 0, s.length());
+    }
+
+    /**
+     * Parses a {@link Rotation} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed rotation, or {@code null} if the range is not a {@link Rotation}
+     */
+    @Nullable
+    public static Rotation parseRotation(@Nonnull CharSequence s, int from, int to) {
+        final double[] v = fields(s, from, to, "Rotation", ANGLE_XYZ);
+        return v != null ? Rotation.unchecked(v[0], v[1], v[2], v[3]) : null;
+    }
+
+    //
+    // Single Precision
+    //
+
+    /**
+     * Parses a {@link FloatVector2} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a {@link FloatVector2}
+     */
+    @Nullable
+    public static FloatVector2 parseFloatVector2(@Nonnull CharSequence s, int from, int to) {
+        final float[] v = floatFields(s, from, to, "FloatVector2", XY);
+        return v != null ? FloatVector2.unchecked(v[0], v[1]) : null;
+    }
+
+    /**
+     * Parses a {@link FloatVector3} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a {@link FloatVector3}
+     */
+    @Nullable
+    public static FloatVector3 parseFloatVector3(@Nonnull CharSequence s, int from, int to) {
+        final float[] v = floatFields(s, from, to, "FloatVector3", XYZ);
+        return v != null ? FloatVector3.unchecked(v[0], v[1], v[2]) : null;
+    }
+
+    /**
+     * Parses a {@link FloatVector4} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed vector, or {@code null} if the range is not a {@link FloatVector4}
+     */
+    @Nullable
+    public static FloatVector4 parseFloatVector4(@Nonnull CharSequence s, int from, int to) {
+        final float[] v = floatFields(s, from, to, "FloatVector4", WXYZ);
+        return v != null ? FloatVector4.unchecked(v[0], v[1], v[2], v[3]) : null;
+    }
+
+    /**
+     * Parses a {@link FloatQuaternion} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed quaternion, or {@code null} if the range is not a {@link FloatQuaternion}
+     */
+    @Nullable
+    public static FloatQuaternion parseFloatQuaternion(@Nonnull CharSequence s, int from, int to) {
+        final float[] v = floatFields(s, from, to, "FloatQuaternion", WXYZ);
+        return v != null ? FloatQuaternion.unchecked(v[0], v[1], v[2], v[3]) : null;
+    }
+
+    /**
+     * Parses a {@link FloatRotation} from a range of characters.
+     *
+     * @param s    Characters to parse
+     * @param from Index of first character (inclusive)
+     * @param to   Index of last character (exclusive)
+     * @return Parsed rotation, or {@code null} if the range is not a {@link FloatRotation}
+     */
+    @Nullable
+    public static FloatRotation parseFloatRotation(@Nonnull CharSequence s, int from, int to) {
+        final float[] v = floatFields(s, from, to, "FloatRotation", ANGLE_XYZ);
+        return v != null ? FloatRotation.unchecked(v[0], v[1], v[2], v[3]) : null;
+    }
+
+    //
+    // Fields
+    //
+
+    /**
+     * Parses {@code type{name=value, ...}} where the names are exactly {@code names}, in any order.
+     *
+     * @return Finite values in the order of {@code names}, or {@code null} if the range is malformed
+     */
+    @Nullable
+    private static double[] fields(CharSequence s, int from, int to, String type, String[] names) {
+        final double[] values = new double[names.length];
+        return fields(s, from, to, type, names, values, 0) ? values : null;
+    }
+
+    /**
+     * Parses {@code type{name=value, ...}} into an array, where the names are exactly {@code names}, in any order.
+     *
+     * @return {@code true} if the values were written to {@code values} in the order of {@code names},
+     * starting at {@code offset}, or {@code false} if the range is malformed
+     */
+    private static boolean fields(CharSequence s, int from, int to, String type, String[] names, double[] values, int offset) {
+        Objects.checkFromToIndex(from, to, s.length());
+
+        // The type name and both braces
+        final int start = from + type.length() + 1;
+        if (to - start < 1) return false;
+        if (!matches(s, from, type) || s.charAt(start - 1) != '{' || s.charAt(to - 1) != '}') return false;
+
+        int found = 0;
+        int i = start;
+        final int end = to - 1;
+
+        while (true) {
+            // Name
+            int equals = i;
+            while (equals < end && s.charAt(equals) != '=') equals++;
+            if (equals == end) return false;
+
+            final int field = indexOf(s, i, equals, names);
+            if (field < 0 || (found & (1 << field)) != 0) return false;
+
+            // Value
+            int comma = equals + 1;
+            while (comma < end && s.charAt(comma) != ',') comma++;
+
+            final double value = Numbers.parseDouble(s, equals + 1, comma);
+            if (!Double.isFinite(value)) return false;
+
+            values[offset + field] = value;
+            found |= 1 << field;
+
+            if (comma == end) break;
+
+            // Separator
+            i = comma + 1;
+            if (i < end && s.charAt(i) == ' ') i++;
+        }
+
+        return found == (1 << names.length) - 1;
+    }
+
+    /**
+     * Parses like {@link #fields(CharSequence, int, int, String, String[])}, narrowing the values to single precision.
+     *
+     * @return Finite values in the order of {@code names}, or {@code null} if the range is malformed
+     */
+    @Nullable
+    private static float[] floatFields(CharSequence s, int from, int to, String type, String[] names) {
+        final double[] values = fields(s, from, to, type, names);
+        if (values == null) return null;
+
+        final float[] result = new float[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+            if (!Float.isFinite(result[i])) return null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if the characters starting at {@code from} are equal to {@code prefix}.
+     */
+    private static boolean matches(CharSequence s, int from, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(from + i) != prefix.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the name which is equal to the range {@code [from, to)}.
+     *
+     * @return Index of the name, or {@code -1} if no name matches
+     */
+    private static int indexOf(CharSequence s, int from, int to, String[] names) {
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            if (name.length() == to - from && matches(s, from, name)) return i;
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,380 @@
+package civitas.celestis.spatial;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+/**
+ * <h2>AABB</h2>
+ * <p>
+ * An axis-aligned bounding box, given by its minimum and maximum corners.
+ * Boxes are closed, so boxes which only touch are considered to intersect.
+ * A box whose corners are equal is a point, which is valid.
+ * </p>
+ */
+public final class AABB {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new box.
+     *
+     * @param min Minimum corner of this box
+     * @param max Maximum corner of this box
+     * @throws IllegalArgumentException When {@code min} is greater than {@code max} on any axis
+     */
+    public AABB(@Nonnull Vector3 min, @Nonnull Vector3 max) {
+        if (min.x() > max.x() || min.y() > max.y() || min.z() > max.z()) {
+            throw new IllegalArgumentException("Minimum corner cannot be greater than maximum corner.");
+        }
+
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Creates a new box.
+     *
+     * @param minX Minimum X value of this box
+     * @param minY Minimum Y value of this box
+     * @param minZ Minimum Z value of this box
+     * @param maxX Maximum X value of this box
+     * @param maxY Maximum Y value of this box
+     * @param maxZ Maximum Z value of this box
+     * @throws IllegalArgumentException When a minimum is greater than its maximum
+     */
+    public AABB(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this(new Vector3(minX, minY, minZ), new Vector3(maxX, maxY, maxZ));
+    }
+
+    /**
+     * Creates a new box from its center and half of its size along each axis.
+     *
+     * @param center      Center of the box
+     * @param halfExtents Half of the size of the box along each axis
+     * @return Created box
+     * @throws IllegalArgumentException When a component of {@code halfExtents} is negative
+     */
+    @Nonnull
+    public static AABB around(@Nonnull Vector3 center, @Nonnull Vector3 halfExtents) {
+        return new AABB(center.subtract(halfExtents), center.add(halfExtents));
+    }
+
+    /**
+     * Creates the smallest box containing every point of an array.
+     *
+     * @param points Points to bound
+     * @return Bounding box of the points
+     * @throws IllegalArgumentException When the array is empty
+     */
+    @Nonnull
+    public static AABB of(@Nonnull Vector3Array points) {
+        if (points.size() == 0) throw new IllegalArgumentException("Cannot bound an empty array.");
+
+        final double[] x = points.xs();
+        final double[] y = points.ys();
+        final double[] z = points.zs();
+
+        double minX = x[0], minY = y[0], minZ = z[0];
+        double maxX = minX, maxY = minY, maxZ = minZ;
+
+        for (int i = 1; i < points.size(); i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            minZ = Math.min(minZ, z[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+            maxZ = Math.max(maxZ, z[i]);
+        }
+
+        return new AABB(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Creates the smallest box containing every given point.
+     *
+     * @param points Points to bound
+     * @return Bounding box of the points
+     * @throws IllegalArgumentException When no points are given
+     */
+    @Nonnull
+    public static AABB of(@Nonnull Vector3... points) {
+        return of(new Vector3Array(points));
+    }
+
+    //
+    // Variables
+    //
+
+    @Nonnull
+    private final Vector3 min;
+    @Nonnull
+    private final Vector3 max;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the minimum corner of this box.
+     *
+     * @return Minimum corner
+     */
+    @Nonnull
+    public Vector3 min() {return min;}
+
+    /**
+     * Gets the maximum corner of this box.
+     *
+     * @return Maximum corner
+     */
+    @Nonnull
+    public Vector3 max() {return max;}
+
+    /**
+     * Gets the center of this box.
+     *
+     * @return Center
+     */
+    @Nonnull
+    public Vector3 center() {
+        return min.add(max).multiply(0.5);
+    }
+
+    /**
+     * Gets the size of this box along each axis.
+     *
+     * @return Size of this box
+     */
+    @Nonnull
+    public Vector3 size() {
+        return max.subtract(min);
+    }
+
+    /**
+     * Gets the surface area of this box.
+     *
+     * @return Surface area
+     */
+    public double surfaceArea() {
+        return surfaceArea(max.x() - min.x(), max.y() - min.y(), max.z() - min.z());
+    }
+
+    /**
+     * Gets the volume of this box.
+     *
+     * @return Volume
+     */
+    public double volume() {
+        return (max.x() - min.x()) * (max.y() - min.y()) * (max.z() - min.z());
+    }
+
+    //
+    // Queries
+    //
+
+    /**
+     * Checks if this box contains a point.
+     *
+     * @param p Point to check
+     * @return {@code true} if the point lies within or on this box
+     */
+    public boolean contains(@Nonnull Vector3 p) {
+        return p.x() >= min.x() && p.x() <= max.x()
+                && p.y() >= min.y() && p.y() <= max.y()
+                && p.z() >= min.z() && p.z() <= max.z();
+    }
+
+    /**
+     * Checks if this box contains another box.
+     *
+     * @param b Box to check
+     * @return {@code true} if {@code b} lies entirely within this box
+     */
+    public boolean contains(@Nonnull AABB b) {
+        return contains(b.min) && contains(b.max);
+    }
+
+    /**
+     * Checks if this box intersects another box.
+     *
+     * @param b Box to check
+     * @return {@code true} if the boxes overlap or touch
+     */
+    public boolean intersects(@Nonnull AABB b) {
+        return min.x() <= b.max.x() && max.x() >= b.min.x()
+                && min.y() <= b.max.y() && max.y() >= b.min.y()
+                && min.z() <= b.max.z() && max.z() >= b.min.z();
+    }
+
+    /**
+     * Gets the distance along a ray at which it enters this box.
+     *
+     * @param origin      Origin of the ray
+     * @param direction   Direction of the ray, which need not be normalized
+     * @param maxDistance Length of the ray, in multiples of {@code direction}
+     * @return Distance in multiples of {@code direction}, {@code 0} if the origin lies within this box,
+     * or {@link Double#POSITIVE_INFINITY} if the ray misses this box
+     */
+    public double intersectRay(@Nonnull Vector3 origin, @Nonnull Vector3 direction, double maxDistance) {
+        return intersectRay(
+                min.x(), min.y(), min.z(), max.x(), max.y(), max.z(),
+                origin.x(), origin.y(), origin.z(),
+                1 / direction.x(), 1 / direction.y(), 1 / direction.z(),
+                maxDistance
+        );
+    }
+
+    //
+    // Transformation
+    //
+
+    /**
+     * Gets the smallest box containing both this box and another box.
+     *
+     * @param b Box to include
+     * @return Union of the boxes
+     */
+    @Nonnull
+    public AABB union(@Nonnull AABB b) {
+        return new AABB(
+                Math.min(min.x(), b.min.x()), Math.min(min.y(), b.min.y()), Math.min(min.z(), b.min.z()),
+                Math.max(max.x(), b.max.x()), Math.max(max.y(), b.max.y()), Math.max(max.z(), b.max.z())
+        );
+    }
+
+    /**
+     * Gets the smallest box containing both this box and a point.
+     *
+     * @param p Point to include
+     * @return Expanded box
+     */
+    @Nonnull
+    public AABB include(@Nonnull Vector3 p) {
+        return new AABB(
+                Math.min(min.x(), p.x()), Math.min(min.y(), p.y()), Math.min(min.z(), p.z()),
+                Math.max(max.x(), p.x()), Math.max(max.y(), p.y()), Math.max(max.z(), p.z())
+        );
+    }
+
+    /**
+     * Grows this box by a margin on every side. Fat boxes like this let moving objects
+     * stay within their bounds for several frames.
+     *
+     * @param margin Margin to add, which may be negative as long as the box does not invert
+     * @return Expanded box
+     */
+    @Nonnull
+    public AABB expand(double margin) {
+        return new AABB(min.subtract(margin), max.add(margin));
+    }
+
+    /**
+     * Moves this box by an offset.
+     *
+     * @param offset Offset to move by
+     * @return Moved box
+     */
+    @Nonnull
+    public AABB translate(@Nonnull Vector3 offset) {
+        return new AABB(min.add(offset), max.add(offset));
+    }
+
+    //
+    // Helpers
+    //
+
+    /**
+     * Gets the surface area of a box of given size.
+     */
+    static double surfaceArea(double dx, double dy, double dz) {
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Gets the distance along a ray at which it enters a box, using the slab method.
+     * The direction is given by its reciprocal, so that axis-parallel rays divide by zero into infinities.
+     * Along such an axis the slab test would multiply zero by infinity when the origin lies on a face of the box,
+     * so the ray is instead checked to lie between the faces, which keeps boxes closed.
+     *
+     * @return Entry distance, or {@link Double#POSITIVE_INFINITY} if the ray misses the box
+     */
+    static double intersectRay(
+            double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+            double ox, double oy, double oz, double ix, double iy, double iz, double maxDistance
+    ) {
+        double near = 0, far = maxDistance;
+
+        if (Double.isInfinite(ix)) {
+            if (ox < minX || ox > maxX) return Double.POSITIVE_INFINITY;
+        } else {
+            final double x1 = (minX - ox) * ix, x2 = (maxX - ox) * ix;
+            near = Math.max(near, Math.min(x1, x2));
+            far = Math.min(far, Math.max(x1, x2));
+        }
+
+        if (Double.isInfinite(iy)) {
+            if (oy < minY || oy > maxY) return Double.POSITIVE_INFINITY;
+        } else {
+            final double y1 = (minY - oy) * iy, y2 = (maxY - oy) * iy;
+            near = Math.max(near, Math.min(y1, y2));
+            far = Math.min(far, Math.max(y1, y2));
+        }
+
+        if (Double.isInfinite(iz)) {
+            if (oz < minZ || oz > maxZ) return Double.POSITIVE_INFINITY;
+        } else {
+            final double z1 = (minZ - oz) * iz, z2 = (maxZ - oz) * iz;
+            near = Math.max(near, Math.min(z1, z2));
+            far = Math.min(far, Math.max(z1, z2));
+        }
+
+        return near <= far ? near : Double.POSITIVE_INFINITY;
+    }
+
+    //
+    // Equality
+    //
+
+    /**
+     * Checks for equality.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the corners are equal
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (!(obj instanceof AABB b)) return false;
+        return min.equals(b.min) && max.equals(b.max);
+    }
+
+    /**
+     * Gets the hash code of this box.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * min.hashCode() + max.hashCode();
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this box to a string.
+     *
+     * @return Stringified box
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "AABB{" +
+                "min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
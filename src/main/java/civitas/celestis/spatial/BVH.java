@@ -0,0 +1,849 @@
+package civitas.celestis.spatial;
+
+import civitas.celestis.math.Numbers;
+import civitas.celestis.math.vector.Vector3;
+import jakarta.annotation.Nonnull;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * <h2>BVH</h2>
+ * <p>
+ * A bounding volume hierarchy over a fixed set of axis-aligned boxes, for broad-phase collision detection
+ * and ray casting. Each box is identified by its index in the array the hierarchy was built from.
+ * </p>
+ * <p>
+ * The tree is built top-down, splitting each node where the surface area heuristic estimates the lowest cost of
+ * traversing it, evaluated over 16 bins of box centroids on each axis. Subtrees of large inputs are built in
+ * parallel on the common {@link ForkJoinPool}. The finished tree is flattened into primitive arrays in depth-first
+ * order: the left child of a node directly follows it, so traversal mostly reads memory sequentially.
+ * </p>
+ * <p>
+ * Moving objects are handled by {@link #update(int, AABB) updating} their boxes and then calling {@link #refit()},
+ * which recomputes the bounds of every node in linear time without changing the structure of the tree.
+ * Refitting degrades the quality of the tree as objects drift apart, so a tree which has changed greatly
+ * should be rebuilt. Queries may run on several threads at once, as long as the tree is not being modified.
+ * </p>
+ */
+public final class BVH {
+    /**
+     * The number of centroid bins evaluated per axis when splitting a node.
+     */
+    private static final int BINS = 16;
+
+    /**
+     * The most boxes a leaf may hold.
+     */
+    private static final int MAX_LEAF_SIZE = 4;
+
+    /**
+     * The cost of traversing a node, relative to the cost of testing a box.
+     */
+    private static final double TRAVERSAL_COST = 1;
+
+    /**
+     * The smallest subtree which is built as a separate task.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Builds a new hierarchy over an array of boxes.
+     *
+     * @param boxes Boxes to build over, identified by their index
+     * @throws IllegalArgumentException When the array is empty
+     */
+    public BVH(@Nonnull AABB[] boxes) {
+        if (boxes.length == 0) throw new IllegalArgumentException("Cannot build a hierarchy over no boxes.");
+
+        this.size = boxes.length;
+        this.boxes = new double[boxes.length * 6];
+
+        for (int i = 0; i < boxes.length; i++) {
+            put(this.boxes, i, boxes[i]);
+        }
+
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+
+        // Subtrees are first built at fixed slots: a subtree of n boxes uses at most 2n - 1 nodes,
+        // so the subtree at slot s places its left child at s + 1 and its right child after the slots of the left
+        final Builder builder = new Builder(this.boxes, order, size);
+        final BuildTask root = new BuildTask(builder, 0, size, 0);
+
+        if (size >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(root);
+        } else {
+            root.compute();
+        }
+
+        // Flatten the sparse slots into consecutive nodes
+        final int nodes = builder.countNodes(0);
+        this.bounds = new double[nodes * 6];
+        this.offsets = new int[nodes];
+        this.counts = new int[nodes];
+
+        this.depth = flatten(builder, 0, 0, 1)[1];
+    }
+
+    //
+    // Variables
+    //
+
+    private final int size;
+
+    /**
+     * The bounds of each box, as {@code minX, minY, minZ, maxX, maxY, maxZ}.
+     */
+    private final double[] boxes;
+
+    /**
+     * The indices of the boxes, in the order they are referenced by leaves.
+     */
+    private final int[] order;
+
+    /**
+     * The bounds of each node, in the same layout as {@link #boxes}.
+     */
+    private final double[] bounds;
+
+    /**
+     * The index of the first box in {@link #order} for leaves, or the index of the right child for interior nodes.
+     */
+    private final int[] offsets;
+
+    /**
+     * The number of boxes for leaves, or {@code 0} for interior nodes.
+     */
+    private final int[] counts;
+
+    /**
+     * The number of levels of the tree.
+     */
+    private final int depth;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of boxes in this hierarchy.
+     *
+     * @return Number of boxes
+     */
+    public int size() {return size;}
+
+    /**
+     * Gets the number of nodes of this hierarchy, including leaves.
+     *
+     * @return Number of nodes
+     */
+    public int nodeCount() {return counts.length;}
+
+    /**
+     * Gets the number of levels of this hierarchy.
+     *
+     * @return Depth of the tree
+     */
+    public int depth() {return depth;}
+
+    /**
+     * Gets the box with given index.
+     *
+     * @param id Index of box
+     * @return Box
+     */
+    @Nonnull
+    public AABB box(int id) {
+        Objects.checkIndex(id, size);
+        return get(boxes, id);
+    }
+
+    /**
+     * Gets the bounds of every box in this hierarchy.
+     *
+     * @return Bounds of the root node
+     */
+    @Nonnull
+    public AABB bounds() {
+        return get(bounds, 0);
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Replaces the box with given index. The tree is not updated until {@link #refit()} is called.
+     *
+     * @param id  Index of box
+     * @param box New box
+     */
+    public void update(int id, @Nonnull AABB box) {
+        Objects.checkIndex(id, size);
+        put(boxes, id, box);
+    }
+
+    /**
+     * Replaces the box with given index. The tree is not updated until {@link #refit()} is called.
+     *
+     * @param id   Index of box
+     * @param minX Minimum X value of box
+     * @param minY Minimum Y value of box
+     * @param minZ Minimum Z value of box
+     * @param maxX Maximum X value of box
+     * @param maxY Maximum Y value of box
+     * @param maxZ Maximum Z value of box
+     * @throws IllegalArgumentException When a value is not finite, or a minimum is greater than its maximum
+     */
+    public void update(int id, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        Objects.checkIndex(id, size);
+
+        // Validated the same way as the corners of an AABB
+        Numbers.requireFinite(minX);
+        Numbers.requireFinite(minY);
+        Numbers.requireFinite(minZ);
+        Numbers.requireFinite(maxX);
+        Numbers.requireFinite(maxY);
+        Numbers.requireFinite(maxZ);
+
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            throw new IllegalArgumentException("Minimum corner cannot be greater than maximum corner.");
+        }
+
+        final int p = id * 6;
+
+        boxes[p] = minX;
+        boxes[p + 1] = minY;
+        boxes[p + 2] = minZ;
+        boxes[p + 3] = maxX;
+        boxes[p + 4] = maxY;
+        boxes[p + 5] = maxZ;
+    }
+
+    /**
+     * Recomputes the bounds of every node from the current boxes, keeping the structure of the tree.
+     */
+    public void refit() {
+        // Children always follow their parent, so visiting nodes backwards handles children first
+        for (int n = counts.length - 1; n >= 0; n--) {
+            final int p = n * 6;
+
+            if (counts[n] > 0) {
+                bound(boxes, order, offsets[n], offsets[n] + counts[n], bounds, p);
+                continue;
+            }
+
+            final int l = (n + 1) * 6;
+            final int r = offsets[n] * 6;
+
+            for (int k = 0; k < 3; k++) {
+                bounds[p + k] = Math.min(bounds[l + k], bounds[r + k]);
+                bounds[p + 3 + k] = Math.max(bounds[l + 3 + k], bounds[r + 3 + k]);
+            }
+        }
+    }
+
+    /**
+     * Replaces every box of this hierarchy, then {@link #refit() refits} the tree.
+     *
+     * @param boxes New boxes, indexed the same way as the boxes this hierarchy was built from
+     * @throws IllegalArgumentException When the number of boxes differs
+     */
+    public void refit(@Nonnull AABB[] boxes) {
+        if (boxes.length != size) throw new IllegalArgumentException("Number of boxes must not change.");
+
+        for (int i = 0; i < size; i++) {
+            put(this.boxes, i, boxes[i]);
+        }
+
+        refit();
+    }
+
+    //
+    // Queries
+    //
+
+    /**
+     * Performs an action for every box which intersects given box, in no particular order.
+     *
+     * @param box    Box to test against
+     * @param action Action to perform with the index of each box
+     */
+    public void forEachIntersecting(@Nonnull AABB box, @Nonnull IntConsumer action) {
+        final Vector3 min = box.min();
+        final Vector3 max = box.max();
+
+        forEachIntersecting(min.x(), min.y(), min.z(), max.x(), max.y(), max.z(), NONE, action);
+    }
+
+    /**
+     * Performs an action for every pair of intersecting boxes in this hierarchy, in no particular order.
+     * Each pair is passed once, with the lower index first.
+     *
+     * @param action Action to perform with each pair
+     */
+    public void forEachIntersectingPair(@Nonnull PairConsumer action) {
+        for (int i = 0; i < size; i++) {
+            final int a = i;
+            final int p = i * 6;
+
+            forEachIntersecting(boxes[p], boxes[p + 1], boxes[p + 2], boxes[p + 3], boxes[p + 4], boxes[p + 5], a, b -> {
+                if (b > a) action.accept(a, b);
+            });
+        }
+    }
+
+    /**
+     * Performs an action for every box hit by a ray, in no particular order.
+     *
+     * @param origin      Origin of the ray
+     * @param direction   Direction of the ray, which need not be normalized
+     * @param maxDistance Length of the ray, in multiples of {@code direction}
+     * @param action      Action to perform with the index of each box
+     */
+    public void forEachHit(
+            @Nonnull Vector3 origin, @Nonnull Vector3 direction, double maxDistance, @Nonnull IntConsumer action
+    ) {
+        final double ox = origin.x(), oy = origin.y(), oz = origin.z();
+        final double ix = 1 / direction.x(), iy = 1 / direction.y(), iz = 1 / direction.z();
+
+        final Stack stack = Stack.acquire(depth);
+        final int[] nodes = stack.nodes;
+        int top = 0;
+
+        nodes[top++] = 0;
+
+        try {
+            while (top > 0) {
+                final int n = nodes[--top];
+                final int p = n * 6;
+
+                if (intersectRay(bounds, p, ox, oy, oz, ix, iy, iz, maxDistance) == Double.POSITIVE_INFINITY) continue;
+
+                if (counts[n] == 0) {
+                    nodes[top++] = offsets[n];
+                    nodes[top++] = n + 1;
+                    continue;
+                }
+
+                for (int k = offsets[n], end = k + counts[n]; k < end; k++) {
+                    final int id = order[k];
+
+                    if (intersectRay(boxes, id * 6, ox, oy, oz, ix, iy, iz, maxDistance) != Double.POSITIVE_INFINITY) {
+                        action.accept(id);
+                    }
+                }
+            }
+        } finally {
+            stack.release();
+        }
+    }
+
+    /**
+     * Finds the first box hit by a ray. Children are visited front to back, and subtrees which lie
+     * beyond the closest hit found so far are skipped. If the origin lies within several boxes,
+     * any of them may be returned.
+     *
+     * @param origin      Origin of the ray
+     * @param direction   Direction of the ray, which need not be normalized
+     * @param maxDistance Length of the ray, in multiples of {@code direction}
+     * @return Index of the box hit first, or {@code -1} if the ray hits no box
+     */
+    public int raycast(@Nonnull Vector3 origin, @Nonnull Vector3 direction, double maxDistance) {
+        final double ox = origin.x(), oy = origin.y(), oz = origin.z();
+        final double ix = 1 / direction.x(), iy = 1 / direction.y(), iz = 1 / direction.z();
+
+        double best = intersectRay(bounds, 0, ox, oy, oz, ix, iy, iz, maxDistance);
+        if (best == Double.POSITIVE_INFINITY) return NONE;
+
+        final Stack stack = Stack.acquire(depth);
+        final int[] nodes = stack.nodes;
+        final double[] distances = stack.distances;
+        int top = 0;
+
+        nodes[top] = 0;
+        distances[top++] = best;
+
+        best = maxDistance;
+        int hit = NONE;
+
+        try {
+            while (top > 0) {
+                final int n = nodes[--top];
+                if (distances[top] > best) continue;
+
+                if (counts[n] > 0) {
+                    for (int k = offsets[n], end = k + counts[n]; k < end; k++) {
+                        final int id = order[k];
+                        final double t = intersectRay(boxes, id * 6, ox, oy, oz, ix, iy, iz, best);
+
+                        if (t < best || (t == best && hit == NONE)) {
+                            best = t;
+                            hit = id;
+                        }
+                    }
+
+                    continue;
+                }
+
+                final int l = n + 1;
+                final int r = offsets[n];
+                final double tl = intersectRay(bounds, l * 6, ox, oy, oz, ix, iy, iz, best);
+                final double tr = intersectRay(bounds, r * 6, ox, oy, oz, ix, iy, iz, best);
+
+                // Push the farther child first, so that the nearer child is visited next
+                if (tl <= tr) {
+                    if (tr != Double.POSITIVE_INFINITY) {
+                        nodes[top] = r;
+                        distances[top++] = tr;
+                    }
+
+                    if (tl != Double.POSITIVE_INFINITY) {
+                        nodes[top] = l;
+                        distances[top++] = tl;
+                    }
+                } else {
+                    if (tl != Double.POSITIVE_INFINITY) {
+                        nodes[top] = l;
+                        distances[top++] = tl;
+                    }
+
+                    nodes[top] = r;
+                    distances[top++] = tr;
+                }
+            }
+        } finally {
+            stack.release();
+        }
+
+        return hit;
+    }
+
+    /**
+     * <h2>PairConsumer</h2>
+     * <p>Accepts pairs of box indices without boxing them.</p>
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+        /**
+         * Accepts a pair.
+         *
+         * @param a Index of first box
+         * @param b Index of second box
+         */
+        void accept(int a, int b);
+    }
+
+    //
+    // Helpers
+    //
+
+    private static final int NONE = -1;
+
+    private void forEachIntersecting(
+            double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+            int skip, IntConsumer action
+    ) {
+        final Stack stack = Stack.acquire(depth);
+        final int[] nodes = stack.nodes;
+        int top = 0;
+
+        nodes[top++] = 0;
+
+        try {
+            while (top > 0) {
+                final int n = nodes[--top];
+                if (!intersects(bounds, n * 6, minX, minY, minZ, maxX, maxY, maxZ)) continue;
+
+                if (counts[n] == 0) {
+                    nodes[top++] = offsets[n];
+                    nodes[top++] = n + 1;
+                    continue;
+                }
+
+                for (int k = offsets[n], end = k + counts[n]; k < end; k++) {
+                    final int id = order[k];
+
+                    if (id != skip && intersects(boxes, id * 6, minX, minY, minZ, maxX, maxY, maxZ)) {
+                        action.accept(id);
+                    }
+                }
+            }
+        } finally {
+            stack.release();
+        }
+    }
+
+    private static boolean intersects(
+            double[] b, int p, double minX, double minY, double minZ, double maxX, double maxY, double maxZ
+    ) {
+        return b[p] <= maxX && b[p + 3] >= minX
+                && b[p + 1] <= maxY && b[p + 4] >= minY
+                && b[p + 2] <= maxZ && b[p + 5] >= minZ;
+    }
+
+    private static double intersectRay(
+            double[] b, int p, double ox, double oy, double oz, double ix, double iy, double iz, double maxDistance
+    ) {
+        return AABB.intersectRay(b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5], ox, oy, oz, ix, iy, iz, maxDistance);
+    }
+
+    private static void put(double[] b, int i, AABB box) {
+        final Vector3 min = box.min();
+        final Vector3 max = box.max();
+        final int p = i * 6;
+
+        b[p] = min.x();
+        b[p + 1] = min.y();
+        b[p + 2] = min.z();
+        b[p + 3] = max.x();
+        b[p + 4] = max.y();
+        b[p + 5] = max.z();
+    }
+
+    private static AABB get(double[] b, int i) {
+        final int p = i * 6;
+        return new AABB(b[p], b[p + 1], b[p + 2], b[p + 3], b[p + 4], b[p + 5]);
+    }
+
+    /**
+     * Computes the bounds of a range of boxes into {@code dest}.
+     */
+    private static void bound(double[] boxes, int[] order, int from, int to, double[] dest, int p) {
+        double minX = Double.POSITIVE_INFINITY, minY = minX, minZ = minX;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+
+        for (int k = from; k < to; k++) {
+            final int b = order[k] * 6;
+
+            minX = Math.min(minX, boxes[b]);
+            minY = Math.min(minY, boxes[b + 1]);
+            minZ = Math.min(minZ, boxes[b + 2]);
+            maxX = Math.max(maxX, boxes[b + 3]);
+            maxY = Math.max(maxY, boxes[b + 4]);
+            maxZ = Math.max(maxZ, boxes[b + 5]);
+        }
+
+        dest[p] = minX;
+        dest[p + 1] = minY;
+        dest[p + 2] = minZ;
+        dest[p + 3] = maxX;
+        dest[p + 4] = maxY;
+        dest[p + 5] = maxZ;
+    }
+
+    /**
+     * Copies the subtree at a build slot into consecutive nodes, starting at {@code node}.
+     *
+     * @return The next free node, and the depth of the subtree
+     */
+    private int[] flatten(Builder builder, int slot, int node, int level) {
+        System.arraycopy(builder.bounds, slot * 6, bounds, node * 6, 6);
+
+        if (builder.counts[slot] > 0) {
+            offsets[node] = builder.starts[slot];
+            counts[node] = builder.counts[slot];
+            return new int[]{node + 1, level};
+        }
+
+        final int[] left = flatten(builder, slot + 1, node + 1, level + 1);
+        final int[] right = flatten(builder, builder.rights[slot], left[0], level + 1);
+
+        offsets[node] = left[0];
+        return new int[]{right[0], Math.max(left[1], right[1])};
+    }
+
+    /**
+     * Sparse storage of the tree during construction, indexed by build slot.
+     */
+    private static final class Builder {
+        private Builder(double[] boxes, int[] order, int size) {
+            this.boxes = boxes;
+            this.order = order;
+
+            this.centroids = new double[size * 3];
+
+            for (int i = 0; i < size; i++) {
+                final int b = i * 6;
+
+                centroids[i * 3] = (boxes[b] + boxes[b + 3]) * 0.5;
+                centroids[i * 3 + 1] = (boxes[b + 1] + boxes[b + 4]) * 0.5;
+                centroids[i * 3 + 2] = (boxes[b + 2] + boxes[b + 5]) * 0.5;
+            }
+
+            final int slots = 2 * size - 1;
+
+            this.bounds = new double[slots * 6];
+            this.starts = new int[slots];
+            this.counts = new int[slots];
+            this.rights = new int[slots];
+        }
+
+        private final double[] boxes;
+        private final int[] order;
+        private final double[] centroids;
+
+        private final double[] bounds;
+        private final int[] starts;
+        private final int[] counts;
+        private final int[] rights;
+
+        private int countNodes(int slot) {
+            return counts[slot] > 0 ? 1 : 1 + countNodes(slot + 1) + countNodes(rights[slot]);
+        }
+    }
+
+    /**
+     * Builds the subtree over a range of {@link Builder#order}, forking large subtrees.
+     */
+    private static final class BuildTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private BuildTask(Builder builder, int from, int to, int slot) {
+            this.builder = builder;
+            this.from = from;
+            this.to = to;
+            this.slot = slot;
+        }
+
+        private final transient Builder builder;
+        private final int from;
+        private final int to;
+        private final int slot;
+
+        @Override
+        protected void compute() {
+            final Builder b = builder;
+            final int count = to - from;
+
+            bound(b.boxes, b.order, from, to, b.bounds, slot * 6);
+
+            final int mid = split(b, from, to, b.bounds, slot * 6);
+
+            if (mid < 0) {
+                b.starts[slot] = from;
+                b.counts[slot] = count;
+                return;
+            }
+
+            final int right = slot + 2 * (mid - from);
+            b.rights[slot] = right;
+
+            final BuildTask leftTask = new BuildTask(b, from, mid, slot + 1);
+            final BuildTask rightTask = new BuildTask(b, mid, to, right);
+
+            if (count >= PARALLEL_THRESHOLD) {
+                invokeAll(leftTask, rightTask);
+            } else {
+                leftTask.compute();
+                rightTask.compute();
+            }
+        }
+    }
+
+    /**
+     * Partitions a range of boxes at the split with the lowest surface area heuristic cost.
+     *
+     * @return Index of the first box of the right half, or {@code -1} if the range should be a leaf
+     */
+    private static int split(Builder b, int from, int to, double[] nodeBounds, int p) {
+        final int count = to - from;
+        if (count == 1) return NONE;
+
+        final double[] c = b.centroids;
+        final int[] order = b.order;
+
+        // Bounds of the centroids, which determine the bins
+        final double[] cmin = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        final double[] cmax = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+        for (int k = from; k < to; k++) {
+            final int q = order[k] * 3;
+
+            for (int a = 0; a < 3; a++) {
+                cmin[a] = Math.min(cmin[a], c[q + a]);
+                cmax[a] = Math.max(cmax[a], c[q + a]);
+            }
+        }
+
+        final int[] binCounts = new int[BINS];
+        final double[] binBounds = new double[BINS * 6];
+        final double[] rightAreas = new double[BINS];
+
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestAxis = NONE;
+        int bestBin = 0;
+
+        for (int a = 0; a < 3; a++) {
+            final double extent = cmax[a] - cmin[a];
+            if (!(extent > 0)) continue;
+
+            final double scale = BINS / extent;
+
+            Arrays.fill(binCounts, 0);
+
+            for (int i = 0; i < BINS; i++) {
+                Arrays.fill(binBounds, i * 6, i * 6 + 3, Double.POSITIVE_INFINITY);
+                Arrays.fill(binBounds, i * 6 + 3, i * 6 + 6, Double.NEGATIVE_INFINITY);
+            }
+
+            for (int k = from; k < to; k++) {
+                final int id = order[k];
+                final int bin = bin(c[id * 3 + a], cmin[a], scale);
+                final int q = bin * 6;
+                final int s = id * 6;
+
+                binCounts[bin]++;
+
+                for (int j = 0; j < 3; j++) {
+                    binBounds[q + j] = Math.min(binBounds[q + j], b.boxes[s + j]);
+                    binBounds[q + 3 + j] = Math.max(binBounds[q + 3 + j], b.boxes[s + 3 + j]);
+                }
+            }
+
+            // Sweep from the right to find the area of every right half, then from the left to evaluate each split
+            final double[] acc = new double[6];
+
+            resetBounds(acc);
+            for (int i = BINS - 1; i > 0; i--) {
+                growBounds(acc, binBounds, i * 6);
+                rightAreas[i] = area(acc);
+            }
+
+            resetBounds(acc);
+            int leftCount = 0;
+
+            for (int i = 0; i < BINS - 1; i++) {
+                growBounds(acc, binBounds, i * 6);
+                leftCount += binCounts[i];
+
+                final int rightCount = count - leftCount;
+                if (leftCount == 0 || rightCount == 0) continue;
+
+                final double cost = area(acc) * leftCount + rightAreas[i + 1] * rightCount;
+
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = a;
+                    bestBin = i;
+                }
+            }
+        }
+
+        final double parentArea = AABB.surfaceArea(
+                nodeBounds[p + 3] - nodeBounds[p], nodeBounds[p + 4] - nodeBounds[p + 1], nodeBounds[p + 5] - nodeBounds[p + 2]
+        );
+
+        if (bestAxis == NONE) {
+            // Every centroid coincides, so no spatial split exists
+            return count <= MAX_LEAF_SIZE ? NONE : from + count / 2;
+        }
+
+        // Make a leaf if testing every box is cheaper than traversing a split
+        final double splitCost = TRAVERSAL_COST + (parentArea > 0 ? bestCost / parentArea : count);
+        if (count <= MAX_LEAF_SIZE && splitCost >= count) return NONE;
+
+        final double scale = BINS / (cmax[bestAxis] - cmin[bestAxis]);
+        final double min = cmin[bestAxis];
+
+        int i = from, j = to - 1;
+
+        while (i <= j) {
+            if (bin(c[order[i] * 3 + bestAxis], min, scale) <= bestBin) {
+                i++;
+            } else {
+                final int tmp = order[i];
+                order[i] = order[j];
+                order[j--] = tmp;
+            }
+        }
+
+        return i;
+    }
+
+    private static int bin(double centroid, double min, double scale) {
+        return Math.min(BINS - 1, (int) ((centroid - min) * scale));
+    }
+
+    private static void resetBounds(double[] b) {
+        Arrays.fill(b, 0, 3, Double.POSITIVE_INFINITY);
+        Arrays.fill(b, 3, 6, Double.NEGATIVE_INFINITY);
+    }
+
+    private static void growBounds(double[] b, double[] src, int p) {
+        for (int j = 0; j < 3; j++) {
+            b[j] = Math.min(b[j], src[p + j]);
+            b[3 + j] = Math.max(b[3 + j], src[p + 3 + j]);
+        }
+    }
+
+    private static double area(double[] b) {
+        return b[0] > b[3] ? 0 : AABB.surfaceArea(b[3] - b[0], b[4] - b[1], b[5] - b[2]);
+    }
+
+    /**
+     * A traversal stack. Each thread keeps one for reuse, so queries do not allocate.
+     * A query made from within the action of another query on the same thread gets a fresh stack.
+     */
+    private static final class Stack {
+        private static final ThreadLocal<Stack> CACHE = new ThreadLocal<>();
+
+        private Stack(int capacity) {
+            this.nodes = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        private final int[] nodes;
+        private final double[] distances;
+
+        /**
+         * Takes this thread's stack, if it is free and large enough for a tree of given depth.
+         */
+        private static Stack acquire(int depth) {
+            // A depth-first traversal holds at most one pending sibling per level, plus the node being expanded
+            final int capacity = depth + 2;
+            final Stack cached = CACHE.get();
+
+            if (cached == null || cached.nodes.length < capacity) {
+                return new Stack(Math.max(capacity, 64));
+            }
+
+            CACHE.set(null);
+            return cached;
+        }
+
+        private void release() {
+            final Stack cached = CACHE.get();
+            if (cached == null || cached.nodes.length < nodes.length) CACHE.set(this);
+        }
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this hierarchy to a string.
+     *
+     * @return Stringified hierarchy
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "BVH{" +
+                "size=" + size +
+                ", nodes=" + nodeCount() +
+                ", depth=" + depth +
+                '}';
+    }
+}
@@ -0,0 +1,550 @@
+package civitas.celestis.spatial;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * <h2>KdTree3</h2>
+ * <p>
+ * A k-d tree over a static set of three-dimensional points, for nearest neighbor, k-nearest neighbor
+ * and radius queries. Each point is identified by its index in the array the tree was built from.
+ * </p>
+ * <p>
+ * The tree is implicit: the points are copied into primitive arrays and reordered so that every subtree
+ * is a contiguous range whose median point splits it, along the axis over which the range is most spread out.
+ * No node objects exist, and the median of each range is found by quickselect, so building takes
+ * {@code O(n log n)} time. Ranges of a few points are left as leaves and scanned linearly.
+ * </p>
+ * <p>
+ * Queries allocate nothing beyond the buffers supplied by the caller,
+ * and may run on several threads at once.
+ * </p>
+ */
+public final class KdTree3 {
+    /**
+     * The most points a leaf may hold.
+     */
+    private static final int LEAF_SIZE = 8;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Builds a new tree over an array of points.
+     *
+     * @param points Points to build over, identified by their index
+     * @throws IllegalArgumentException When a point is not finite
+     */
+    public KdTree3(@Nonnull Vector3Array points) {
+        this.size = points.size();
+
+        this.x = Arrays.copyOf(points.xs(), size);
+        this.y = Arrays.copyOf(points.ys(), size);
+        this.z = Arrays.copyOf(points.zs(), size);
+        this.ids = new int[size];
+        this.axes = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            if (!Double.isFinite(x[i]) || !Double.isFinite(y[i]) || !Double.isFinite(z[i])) {
+                throw new IllegalArgumentException("Point " + i + " is not finite.");
+            }
+
+            ids[i] = i;
+        }
+
+        this.depth = build(0, size, 1);
+    }
+
+    /**
+     * Builds a new tree over an array of points.
+     *
+     * @param points Points to build over, identified by their index
+     */
+    public KdTree3(@Nonnull Vector3... points) {
+        this(new Vector3Array(points));
+    }
+
+    //
+    // Variables
+    //
+
+    private final int size;
+
+    // Points, in tree order
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+
+    /**
+     * The index of each point in the array this tree was built from.
+     */
+    private final int[] ids;
+
+    /**
+     * The split axis of each range, stored at the index of its median point.
+     */
+    private final byte[] axes;
+
+    /**
+     * The number of levels of the tree.
+     */
+    private final int depth;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of points in this tree.
+     *
+     * @return Number of points
+     */
+    public int size() {return size;}
+
+    /**
+     * Gets the number of levels of this tree.
+     *
+     * @return Depth of the tree
+     */
+    public int depth() {return depth;}
+
+    //
+    // Queries
+    //
+
+    /**
+     * Finds the point nearest to given position.
+     *
+     * @param qx X position to search around
+     * @param qy Y position to search around
+     * @param qz Z position to search around
+     * @return Index of the nearest point, or {@code -1} if this tree is empty
+     */
+    public int nearest(double qx, double qy, double qz) {
+        double best = Double.POSITIVE_INFINITY;
+        int hit = -1;
+
+        final RangeStack stack = RangeStack.acquire(depth);
+        int top = push(stack, 0, 0, size, 0);
+
+        try {
+            while (top > 0) {
+                final int lo = stack.from[--top];
+                final int hi = stack.to[top];
+                if (stack.bounds[top] >= best) continue;
+
+                if (hi - lo <= LEAF_SIZE) {
+                    for (int i = lo; i < hi; i++) {
+                        final double d2 = distance2(i, qx, qy, qz);
+
+                        if (d2 < best) {
+                            best = d2;
+                            hit = ids[i];
+                        }
+                    }
+
+                    continue;
+                }
+
+                final int mid = (lo + hi) >>> 1;
+                final double d2 = distance2(mid, qx, qy, qz);
+
+                if (d2 < best) {
+                    best = d2;
+                    hit = ids[mid];
+                }
+
+                top = pushChildren(stack, top, lo, mid, hi, qx, qy, qz, stack.bounds[top], best);
+            }
+        } finally {
+            stack.release();
+        }
+
+        return hit;
+    }
+
+    /**
+     * Finds the point nearest to given position.
+     *
+     * @param q Position to search around
+     * @return Index of the nearest point, or {@code -1} if this tree is empty
+     */
+    public int nearest(@Nonnull Vector3 q) {
+        return nearest(q.x(), q.y(), q.z());
+    }
+
+    /**
+     * Finds the {@code k} points nearest to given position, sorted from nearest to farthest.
+     *
+     * @param qx        X position to search around
+     * @param qy        Y position to search around
+     * @param qz        Z position to search around
+     * @param k         Number of points to find
+     * @param ids       Array to write the indices of the points to, of length at least {@code k}
+     * @param distances Array to write the squared distances of the points to, of length at least {@code k}
+     * @return Number of points found, which is {@code k} unless this tree has fewer points
+     */
+    public int nearest(double qx, double qy, double qz, int k, @Nonnull int[] ids, @Nonnull double[] distances) {
+        return nearest(qx, qy, qz, k, Double.POSITIVE_INFINITY, ids, distances);
+    }
+
+    /**
+     * Finds the {@code k} points nearest to given position, sorted from nearest to farthest.
+     *
+     * @param q         Position to search around
+     * @param k         Number of points to find
+     * @param ids       Array to write the indices of the points to, of length at least {@code k}
+     * @param distances Array to write the squared distances of the points to, of length at least {@code k}
+     * @return Number of points found, which is {@code k} unless this tree has fewer points
+     */
+    public int nearest(@Nonnull Vector3 q, int k, @Nonnull int[] ids, @Nonnull double[] distances) {
+        return nearest(q.x(), q.y(), q.z(), k, ids, distances);
+    }
+
+    /**
+     * Finds up to {@code k} points nearest to given position within a maximum distance,
+     * sorted from nearest to farthest.
+     *
+     * @param qx          X position to search around
+     * @param qy          Y position to search around
+     * @param qz          Z position to search around
+     * @param k           Maximum number of points to find
+     * @param maxDistance Maximum distance from the position (inclusive)
+     * @param ids         Array to write the indices of the points to, of length at least {@code k}
+     * @param distances   Array to write the squared distances of the points to, of length at least {@code k}
+     * @return Number of points found
+     */
+    public int nearest(
+            double qx, double qy, double qz, int k, double maxDistance, @Nonnull int[] ids, @Nonnull double[] distances
+    ) {
+        if (k < 0) throw new IllegalArgumentException("K cannot be negative.");
+        if (!(maxDistance >= 0)) throw new IllegalArgumentException("Maximum distance cannot be negative.");
+        Objects.checkFromIndexSize(0, k, ids.length);
+        Objects.checkFromIndexSize(0, k, distances.length);
+
+        if (k == 0) return 0;
+
+        // Points exactly at the maximum distance are accepted, so prune only beyond it
+        final double max = Math.nextUp(maxDistance * maxDistance);
+        int count = 0;
+
+        final RangeStack stack = RangeStack.acquire(depth);
+        int top = push(stack, 0, 0, size, 0);
+
+        try {
+            while (top > 0) {
+                final int lo = stack.from[--top];
+                final int hi = stack.to[top];
+                if (stack.bounds[top] >= NeighborHeap.bound(distances, count, k, max)) continue;
+
+                if (hi - lo <= LEAF_SIZE) {
+                    for (int i = lo; i < hi; i++) {
+                        final double d2 = distance2(i, qx, qy, qz);
+
+                        if (d2 < NeighborHeap.bound(distances, count, k, max)) {
+                            count = NeighborHeap.offer(ids, distances, count, k, this.ids[i], d2);
+                        }
+                    }
+
+                    continue;
+                }
+
+                final int mid = (lo + hi) >>> 1;
+                final double d2 = distance2(mid, qx, qy, qz);
+
+                if (d2 < NeighborHeap.bound(distances, count, k, max)) {
+                    count = NeighborHeap.offer(ids, distances, count, k, this.ids[mid], d2);
+                }
+
+                final double best = NeighborHeap.bound(distances, count, k, max);
+                top = pushChildren(stack, top, lo, mid, hi, qx, qy, qz, stack.bounds[top], best);
+            }
+        } finally {
+            stack.release();
+        }
+
+        NeighborHeap.sort(ids, distances, count);
+        return count;
+    }
+
+    /**
+     * Performs an action for every point within given distance of a position, in no particular order.
+     *
+     * @param qx     X position to search around
+     * @param qy     Y position to search around
+     * @param qz     Z position to search around
+     * @param radius Maximum distance from the position (inclusive)
+     * @param action Action to perform with the index of each point
+     */
+    public void forEachWithin(double qx, double qy, double qz, double radius, @Nonnull IntConsumer action) {
+        if (!(radius >= 0)) throw new IllegalArgumentException("Radius cannot be negative.");
+
+        final double r2 = radius * radius;
+
+        final RangeStack stack = RangeStack.acquire(depth);
+        int top = push(stack, 0, 0, size, 0);
+
+        try {
+            while (top > 0) {
+                final int lo = stack.from[--top];
+                final int hi = stack.to[top];
+
+                if (hi - lo <= LEAF_SIZE) {
+                    for (int i = lo; i < hi; i++) {
+                        if (distance2(i, qx, qy, qz) <= r2) action.accept(ids[i]);
+                    }
+
+                    continue;
+                }
+
+                final int mid = (lo + hi) >>> 1;
+                if (distance2(mid, qx, qy, qz) <= r2) action.accept(ids[mid]);
+
+                final double diff = difference(mid, qx, qy, qz);
+
+                // Each side is only visited if the splitting plane lies within the radius
+                if (diff <= 0 || diff * diff <= r2) top = push(stack, top, lo, mid, 0);
+                if (diff >= 0 || diff * diff <= r2) top = push(stack, top, mid + 1, hi, 0);
+            }
+        } finally {
+            stack.release();
+        }
+    }
+
+    /**
+     * Performs an action for every point within given distance of a position, in no particular order.
+     *
+     * @param q      Position to search around
+     * @param radius Maximum distance from the position (inclusive)
+     * @param action Action to perform with the index of each point
+     */
+    public void forEachWithin(@Nonnull Vector3 q, double radius, @Nonnull IntConsumer action) {
+        forEachWithin(q.x(), q.y(), q.z(), radius, action);
+    }
+
+    /**
+     * Finds every point within given distance of a position, writing their indices to an array in no particular order.
+     * If more points are found than {@code dest} can hold, only the first {@code dest.length} are written,
+     * but all are counted, so the caller can retry with a larger array.
+     *
+     * @param qx     X position to search around
+     * @param qy     Y position to search around
+     * @param qz     Z position to search around
+     * @param radius Maximum distance from the position (inclusive)
+     * @param dest   Array to write indices to
+     * @return Number of points found
+     */
+    public int within(double qx, double qy, double qz, double radius, @Nonnull int[] dest) {
+        if (!(radius >= 0)) throw new IllegalArgumentException("Radius cannot be negative.");
+
+        final double r2 = radius * radius;
+        int count = 0;
+
+        final RangeStack stack = RangeStack.acquire(depth);
+        int top = push(stack, 0, 0, size, 0);
+
+        try {
+            while (top > 0) {
+                final int lo = stack.from[--top];
+                final int hi = stack.to[top];
+
+                if (hi - lo <= LEAF_SIZE) {
+                    for (int i = lo; i < hi; i++) {
+                        if (distance2(i, qx, qy, qz) > r2) continue;
+
+                        if (count < dest.length) dest[count] = ids[i];
+                        count++;
+                    }
+
+                    continue;
+                }
+
+                final int mid = (lo + hi) >>> 1;
+
+                if (distance2(mid, qx, qy, qz) <= r2) {
+                    if (count < dest.length) dest[count] = ids[mid];
+                    count++;
+                }
+
+                final double diff = difference(mid, qx, qy, qz);
+
+                if (diff <= 0 || diff * diff <= r2) top = push(stack, top, lo, mid, 0);
+                if (diff >= 0 || diff * diff <= r2) top = push(stack, top, mid + 1, hi, 0);
+            }
+        } finally {
+            stack.release();
+        }
+
+        return count;
+    }
+
+    /**
+     * Finds every point within given distance of a position, writing their indices to an array in no particular order.
+     * If more points are found than {@code dest} can hold, only the first {@code dest.length} are written,
+     * but all are counted, so the caller can retry with a larger array.
+     *
+     * @param q      Position to search around
+     * @param radius Maximum distance from the position (inclusive)
+     * @param dest   Array to write indices to
+     * @return Number of points found
+     */
+    public int within(@Nonnull Vector3 q, double radius, @Nonnull int[] dest) {
+        return within(q.x(), q.y(), q.z(), radius, dest);
+    }
+
+    //
+    // Helpers
+    //
+
+    private double distance2(int i, double qx, double qy, double qz) {
+        final double dx = x[i] - qx;
+        final double dy = y[i] - qy;
+        final double dz = z[i] - qz;
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Gets the signed distance from the splitting plane of the range with given median to a position.
+     * Positions on the negative side lie with the lower half of the range.
+     */
+    private double difference(int mid, double qx, double qy, double qz) {
+        return switch (axes[mid]) {
+            case 0 -> qx - x[mid];
+            case 1 -> qy - y[mid];
+            default -> qz - z[mid];
+        };
+    }
+
+    private static int push(RangeStack stack, int top, int from, int to, double bound) {
+        if (from >= to) return top;
+
+        stack.from[top] = from;
+        stack.to[top] = to;
+        stack.bounds[top] = bound;
+
+        return top + 1;
+    }
+
+    /**
+     * Pushes the halves of a range, the half containing the position last so that it is visited first.
+     * The other half is bounded by the squared distance to the splitting plane, and skipped if that exceeds {@code best}.
+     */
+    private int pushChildren(
+            RangeStack stack, int top, int lo, int mid, int hi, double qx, double qy, double qz, double bound, double best
+    ) {
+        final double diff = difference(mid, qx, qy, qz);
+        final double far = Math.max(bound, diff * diff);
+
+        if (diff < 0) {
+            if (far < best) top = push(stack, top, mid + 1, hi, far);
+            return push(stack, top, lo, mid, bound);
+        } else {
+            if (far < best) top = push(stack, top, lo, mid, far);
+            return push(stack, top, mid + 1, hi, bound);
+        }
+    }
+
+    /**
+     * Builds the subtree over a range, partitioning it around its median along the axis of greatest spread.
+     *
+     * @return Depth of the subtree
+     */
+    private int build(int lo, int hi, int level) {
+        if (hi - lo <= LEAF_SIZE) return level;
+
+        double minX = x[lo], maxX = minX;
+        double minY = y[lo], maxY = minY;
+        double minZ = z[lo], maxZ = minZ;
+
+        for (int i = lo + 1; i < hi; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+            minZ = Math.min(minZ, z[i]);
+            maxZ = Math.max(maxZ, z[i]);
+        }
+
+        final double sx = maxX - minX, sy = maxY - minY, sz = maxZ - minZ;
+        final int axis = sx >= sy && sx >= sz ? 0 : sy >= sz ? 1 : 2;
+
+        final int mid = (lo + hi) >>> 1;
+        select(lo, hi, mid, axis == 0 ? x : axis == 1 ? y : z);
+        axes[mid] = (byte) axis;
+
+        return Math.max(build(lo, mid, level + 1), build(mid + 1, hi, level + 1));
+    }
+
+    /**
+     * Reorders a range so that the point at index {@code k} is the one which would be there if the range
+     * were sorted by {@code c}, with no greater values before it and no lesser values after it.
+     */
+    private void select(int lo, int hi, int k, double[] c) {
+        int l = lo, h = hi - 1;
+
+        while (l < h) {
+            // Median of three, which avoids the worst case on sorted input
+            final int m = (l + h) >>> 1;
+            final double a = c[l], b = c[m], d = c[h];
+            final double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), d));
+
+            int i = l, j = h;
+
+            while (i <= j) {
+                while (c[i] < pivot) i++;
+                while (c[j] > pivot) j--;
+
+                if (i <= j) swap(i++, j--);
+            }
+
+            // Now [l, j] <= pivot, (j, i) == pivot and [i, h] >= pivot
+            if (k <= j) {
+                h = j;
+            } else if (k >= i) {
+                l = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        final double tx = x[i], ty = y[i], tz = z[i];
+        final int id = ids[i];
+
+        x[i] = x[j];
+        y[i] = y[j];
+        z[i] = z[j];
+        ids[i] = ids[j];
+
+        x[j] = tx;
+        y[j] = ty;
+        z[j] = tz;
+        ids[j] = id;
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this tree to a string.
+     *
+     * @return Stringified tree
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "KdTree3{" +
+                "size=" + size +
+                ", depth=" + depth +
+                '}';
+    }
+}
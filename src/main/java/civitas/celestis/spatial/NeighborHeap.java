@@ -0,0 +1,102 @@
+package civitas.celestis.spatial;
+
+/**
+ * <h2>NeighborHeap</h2>
+ * <p>
+ * Operations on a bounded max-heap of neighbors, stored in a caller's arrays of indices and squared distances.
+ * The farthest neighbor is at the root, so a candidate only needs to be compared with the root to know whether
+ * it belongs among the {@code k} nearest. This lets k-nearest queries run without allocating.
+ * </p>
+ */
+final class NeighborHeap {
+    private NeighborHeap() {}
+
+    /**
+     * Gets the squared distance beyond which a candidate cannot enter the heap.
+     *
+     * @param distances Squared distances of the heap
+     * @param count     Number of neighbors in the heap
+     * @param k         Capacity of the heap
+     * @param max       Squared distance beyond which no neighbor is wanted
+     * @return Pruning bound
+     */
+    static double bound(double[] distances, int count, int k, double max) {
+        return count < k ? max : Math.min(max, distances[0]);
+    }
+
+    /**
+     * Offers a candidate to the heap, replacing the farthest neighbor if the heap is full and the candidate is nearer.
+     *
+     * @param ids       Indices of the heap
+     * @param distances Squared distances of the heap
+     * @param count     Number of neighbors in the heap
+     * @param k         Capacity of the heap
+     * @param id        Index of candidate
+     * @param distance  Squared distance of candidate
+     * @return New number of neighbors in the heap
+     */
+    static int offer(int[] ids, double[] distances, int count, int k, int id, double distance) {
+        if (count < k) {
+            // Sift the new neighbor up from the end
+            int i = count;
+
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (distances[parent] >= distance) break;
+
+                ids[i] = ids[parent];
+                distances[i] = distances[parent];
+                i = parent;
+            }
+
+            ids[i] = id;
+            distances[i] = distance;
+            return count + 1;
+        }
+
+        if (distance < distances[0]) siftDown(ids, distances, count, id, distance);
+        return count;
+    }
+
+    /**
+     * Sorts the heap in place by ascending distance.
+     *
+     * @param ids       Indices of the heap
+     * @param distances Squared distances of the heap
+     * @param count     Number of neighbors in the heap
+     */
+    static void sort(int[] ids, double[] distances, int count) {
+        for (int n = count - 1; n > 0; n--) {
+            final int id = ids[n];
+            final double distance = distances[n];
+
+            // Move the farthest remaining neighbor behind the heap
+            ids[n] = ids[0];
+            distances[n] = distances[0];
+
+            siftDown(ids, distances, n, id, distance);
+        }
+    }
+
+    /**
+     * Places a neighbor at the root and sifts it down to restore the heap.
+     */
+    private static void siftDown(int[] ids, double[] distances, int count, int id, double distance) {
+        int i = 0;
+
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) break;
+
+            if (child + 1 < count && distances[child + 1] > distances[child]) child++;
+            if (distances[child] <= distance) break;
+
+            ids[i] = ids[child];
+            distances[i] = distances[child];
+            i = child;
+        }
+
+        ids[i] = id;
+        distances[i] = distance;
+    }
+}
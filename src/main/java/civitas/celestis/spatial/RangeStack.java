@@ -0,0 +1,51 @@
+package civitas.celestis.spatial;
+
+/**
+ * <h2>RangeStack</h2>
+ * <p>
+ * A traversal stack for the implicit trees of {@link KdTree2} and {@link KdTree3}, where each subtree is
+ * a range {@code [from, to)} of the point arrays, pushed along with a lower bound of its squared distance
+ * from the query. Each thread keeps one stack for reuse, so queries do not allocate.
+ * A query made from within the action of another query on the same thread gets a fresh stack.
+ * </p>
+ */
+final class RangeStack {
+    private static final ThreadLocal<RangeStack> CACHE = new ThreadLocal<>();
+
+    private RangeStack(int capacity) {
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.bounds = new double[capacity];
+    }
+
+    final int[] from;
+    final int[] to;
+    final double[] bounds;
+
+    /**
+     * Takes this thread's stack, if it is free and large enough for a tree of given depth.
+     *
+     * @param depth Number of levels of the tree
+     * @return Stack to use
+     */
+    static RangeStack acquire(int depth) {
+        // A depth-first traversal holds at most one pending sibling per level, plus the subtree being expanded
+        final int capacity = depth + 2;
+        final RangeStack cached = CACHE.get();
+
+        if (cached == null || cached.from.length < capacity) {
+            return new RangeStack(Math.max(capacity, 64));
+        }
+
+        CACHE.set(null);
+        return cached;
+    }
+
+    /**
+     * Returns this stack to its thread for reuse.
+     */
+    void release() {
+        final RangeStack cached = CACHE.get();
+        if (cached == null || cached.from.length < from.length) CACHE.set(this);
+    }
+}
@@ -0,0 +1,631 @@
+package civitas.celestis.spatial;
+
+import civitas.celestis.math.vector.Vector3;
+import civitas.celestis.math.vector.Vector3Array;
+import jakarta.annotation.Nonnull;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * <h2>SpatialHashGrid</h2>
+ * <p>
+ * A uniform grid of cubic cells over three-dimensional space, indexing objects by position
+ * for neighbor queries. Only occupied cells are stored: each is an entry of a hash table keyed by
+ * the quantized cell coordinates packed into a {@code long}, whose value is the head of a linked list
+ * of the objects in that cell.
+ * </p>
+ * <p>
+ * Objects are identified by non-negative {@code int} IDs, typically their index in the caller's arrays.
+ * The lists are intrusive: the links of object {@code i} live at index {@code i} of primitive arrays, so
+ * inserting, removing and moving an object are constant-time and create no objects. Moving an object within
+ * its cell only updates its position, which makes per-frame updates of many slow objects cheap.
+ * </p>
+ * <p>
+ * Queries visit every cell overlapping the query sphere, so the cell size should be close to
+ * the typical query radius. Cell coordinates are limited to {@code ±2^20}, so positions must lie within
+ * about a million cells of the origin.
+ * </p>
+ * <p>
+ * Queries do not modify the grid, so any number of threads may query it concurrently,
+ * as long as no thread modifies it at the same time.
+ * </p>
+ */
+public final class SpatialHashGrid {
+    /**
+     * The number of bits of each cell coordinate in a cell key.
+     */
+    private static final int KEY_BITS = 21;
+
+    private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+    private static final long MAX_CELL = (1L << (KEY_BITS - 1)) - 1;
+    private static final int NONE = -1;
+
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new empty grid.
+     *
+     * @param cellSize Edge length of each cell
+     */
+    public SpatialHashGrid(double cellSize) {
+        this(cellSize, 16);
+    }
+
+    /**
+     * Creates a new empty grid which can hold objects with IDs below {@code expectedSize} without growing.
+     *
+     * @param cellSize     Edge length of each cell
+     * @param expectedSize Expected number of objects
+     */
+    public SpatialHashGrid(double cellSize, int expectedSize) {
+        if (!(cellSize > 0) || !Double.isFinite(cellSize)) {
+            throw new IllegalArgumentException("Cell size must be positive and finite.");
+        }
+
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size cannot be negative.");
+
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1 / cellSize;
+
+        final int capacity = Math.max(16, expectedSize);
+
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+        this.cellOf = new long[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.present = new boolean[capacity];
+
+        allocateCells(16);
+    }
+
+    //
+    // Variables
+    //
+
+    private final double cellSize;
+    private final double inverseCellSize;
+
+    // Objects, indexed by ID
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private long[] cellOf;
+    private int[] next;
+    private int[] prev;
+    private boolean[] present;
+    private int size;
+
+    // Occupied cells, as an open addressing table from cell key to the first object in the cell
+    private long[] keys;
+    private int[] heads;
+    private boolean[] used;
+    private int mask;
+    private int threshold;
+    private int cells;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the edge length of each cell.
+     *
+     * @return Cell size
+     */
+    public double cellSize() {return cellSize;}
+
+    /**
+     * Gets the number of objects in this grid.
+     *
+     * @return Number of objects
+     */
+    public int size() {return size;}
+
+    /**
+     * Checks if this grid is empty.
+     *
+     * @return {@code true} if this grid has no objects
+     */
+    public boolean isEmpty() {return size == 0;}
+
+    /**
+     * Gets the number of occupied cells in this grid.
+     *
+     * @return Number of occupied cells
+     */
+    public int cellCount() {return cells;}
+
+    /**
+     * Checks if this grid contains given object.
+     *
+     * @param id ID of object
+     * @return {@code true} if the object is present
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    /**
+     * Gets the position of an object.
+     *
+     * @param id ID of object
+     * @return Position of the object
+     * @throws IllegalArgumentException When the object is not present
+     */
+    @Nonnull
+    public Vector3 position(int id) {
+        checkPresent(id);
+        return new Vector3(x[id], y[id], z[id]);
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Inserts an object into this grid.
+     *
+     * @param id ID of object
+     * @param x  X position of object
+     * @param y  Y position of object
+     * @param z  Z position of object
+     * @throws IllegalArgumentException When the object is already present, or the position is out of range
+     */
+    public void insert(int id, double x, double y, double z) {
+        if (id < 0) throw new IllegalArgumentException("ID cannot be negative.");
+        if (contains(id)) throw new IllegalArgumentException("Object " + id + " is already present.");
+
+        final long key = key(x, y, z);
+        if (id >= present.length) grow(id);
+
+        this.x[id] = x;
+        this.y[id] = y;
+        this.z[id] = z;
+        present[id] = true;
+        size++;
+
+        link(id, key);
+    }
+
+    /**
+     * Inserts an object into this grid.
+     *
+     * @param id ID of object
+     * @param p  Position of object
+     * @throws IllegalArgumentException When the object is already present, or the position is out of range
+     */
+    public void insert(int id, @Nonnull Vector3 p) {
+        insert(id, p.x(), p.y(), p.z());
+    }
+
+    /**
+     * Moves an object to a new position.
+     *
+     * @param id ID of object
+     * @param x  New X position of object
+     * @param y  New Y position of object
+     * @param z  New Z position of object
+     * @throws IllegalArgumentException When the object is not present, or the position is out of range
+     */
+    public void move(int id, double x, double y, double z) {
+        checkPresent(id);
+
+        final long key = key(x, y, z);
+
+        this.x[id] = x;
+        this.y[id] = y;
+        this.z[id] = z;
+
+        // Most objects stay in their cell from one frame to the next
+        if (key == cellOf[id]) return;
+
+        unlink(id);
+        link(id, key);
+    }
+
+    /**
+     * Moves an object to a new position.
+     *
+     * @param id ID of object
+     * @param p  New position of object
+     * @throws IllegalArgumentException When the object is not present, or the position is out of range
+     */
+    public void move(int id, @Nonnull Vector3 p) {
+        move(id, p.x(), p.y(), p.z());
+    }
+
+    /**
+     * Moves every object of this grid to its position in an array, where the ID of an object is its index.
+     * Objects which are not present are ignored.
+     *
+     * @param positions Array of positions, indexed by ID
+     * @throws IllegalArgumentException When a position is out of range
+     */
+    public void moveAll(@Nonnull Vector3Array positions) {
+        final double[] px = positions.xs();
+        final double[] py = positions.ys();
+        final double[] pz = positions.zs();
+        final int n = Math.min(positions.size(), present.length);
+
+        for (int i = 0; i < n; i++) {
+            if (present[i]) move(i, px[i], py[i], pz[i]);
+        }
+    }
+
+    /**
+     * Removes an object from this grid.
+     *
+     * @param id ID of object
+     * @return {@code true} if the object was present
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+
+        unlink(id);
+        present[id] = false;
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Removes every object from this grid. The capacity is retained.
+     */
+    public void clear() {
+        Arrays.fill(present, false);
+        Arrays.fill(used, false);
+        size = 0;
+        cells = 0;
+    }
+
+    //
+    // Queries
+    //
+
+    /**
+     * Performs an action for every object within given distance of a point, in no particular order.
+     * The action must not modify this grid.
+     *
+     * @param x      X position of point
+     * @param y      Y position of point
+     * @param z      Z position of point
+     * @param radius Maximum distance from the point (inclusive)
+     * @param action Action to perform with the ID of each object
+     */
+    public void forEachWithin(double x, double y, double z, double radius, @Nonnull IntConsumer action) {
+        query(x, y, z, radius, action, null);
+    }
+
+    /**
+     * Performs an action for every object within given distance of a point, in no particular order.
+     * The action must not modify this grid.
+     *
+     * @param p      Point to search around
+     * @param radius Maximum distance from the point (inclusive)
+     * @param action Action to perform with the ID of each object
+     */
+    public void forEachWithin(@Nonnull Vector3 p, double radius, @Nonnull IntConsumer action) {
+        forEachWithin(p.x(), p.y(), p.z(), radius, action);
+    }
+
+    /**
+     * Finds every object within given distance of a point, writing their IDs to an array in no particular order.
+     * If more objects are found than {@code dest} can hold, only the first {@code dest.length} are written,
+     * but all are counted, so the caller can retry with a larger array.
+     *
+     * @param x      X position of point
+     * @param y      Y position of point
+     * @param z      Z position of point
+     * @param radius Maximum distance from the point (inclusive)
+     * @param dest   Array to write IDs to
+     * @return Number of objects found
+     */
+    public int within(double x, double y, double z, double radius, @Nonnull int[] dest) {
+        return query(x, y, z, radius, null, dest);
+    }
+
+    /**
+     * Finds every object within given distance of a point, writing their IDs to an array in no particular order.
+     * If more objects are found than {@code dest} can hold, only the first {@code dest.length} are written,
+     * but all are counted, so the caller can retry with a larger array.
+     *
+     * @param p      Point to search around
+     * @param radius Maximum distance from the point (inclusive)
+     * @param dest   Array to write IDs to
+     * @return Number of objects found
+     */
+    public int within(@Nonnull Vector3 p, double radius, @Nonnull int[] dest) {
+        return within(p.x(), p.y(), p.z(), radius, dest);
+    }
+
+    //
+    // Helpers
+    //
+
+    private void checkPresent(int id) {
+        if (!contains(id)) throw new IllegalArgumentException("Object " + id + " is not present.");
+    }
+
+    private void grow(int id) {
+        final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) id + 1, (long) present.length << 1));
+
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        cellOf = Arrays.copyOf(cellOf, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        present = Arrays.copyOf(present, capacity);
+    }
+
+    /**
+     * Visits every object within given distance of a point, passing each to an action if one is given,
+     * and otherwise writing it to an array. Only locals are used, so queries may run concurrently.
+     *
+     * @return Number of objects found
+     */
+    private int query(double x, double y, double z, double radius, IntConsumer action, int[] dest) {
+        if (!(radius >= 0)) throw new IllegalArgumentException("Radius cannot be negative.");
+        if (size == 0) return 0;
+
+        final double r2 = radius * radius;
+        int count = 0;
+
+        final long minX = cell(x - radius), maxX = cell(x + radius);
+        final long minY = cell(y - radius), maxY = cell(y + radius);
+        final long minZ = cell(z - radius), maxZ = cell(z + radius);
+
+        final double span = (double) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+
+        // For large radii, scanning the occupied cells is cheaper than probing every cell in range
+        if (span > used.length + size) {
+            for (int s = 0; s < used.length; s++) {
+                if (used[s]) count = visit(heads[s], x, y, z, r2, action, dest, count);
+            }
+
+            return count;
+        }
+
+        for (long cx = minX; cx <= maxX; cx++) {
+            final double dx = gap(x, cx);
+
+            for (long cy = minY; cy <= maxY; cy++) {
+                final double dy = gap(y, cy);
+                if (dx * dx + dy * dy > r2) continue;
+
+                for (long cz = minZ; cz <= maxZ; cz++) {
+                    final double dz = gap(z, cz);
+                    if (dx * dx + dy * dy + dz * dz > r2) continue;
+
+                    final int slot = find(pack(cx, cy, cz));
+                    if (slot >= 0) count = visit(heads[slot], x, y, z, r2, action, dest, count);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Visits every object of a cell list within given squared distance of a point.
+     * Objects which do not fit in the array are still counted.
+     *
+     * @return Updated count
+     */
+    private int visit(int head, double px, double py, double pz, double r2, IntConsumer action, int[] dest, int count) {
+        for (int i = head; i != NONE; i = next[i]) {
+            final double dx = x[i] - px;
+            final double dy = y[i] - py;
+            final double dz = z[i] - pz;
+
+            if (dx * dx + dy * dy + dz * dz <= r2) {
+                if (action != null) {
+                    action.accept(i);
+                } else if (count < dest.length) {
+                    dest[count] = i;
+                }
+
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the distance along one axis from a coordinate to the nearest point of a cell.
+     */
+    private double gap(double p, long c) {
+        // Widened slightly, since rounding in cell() may place a position just outside the bounds of its cell
+        final double min = c * cellSize - cellSize * 0x1p-30;
+        final double max = (c + 1) * cellSize + cellSize * 0x1p-30;
+
+        return p < min ? min - p : p > max ? p - max : 0;
+    }
+
+    /**
+     * Gets the cell coordinate of a position along one axis, clamped to the range of cell keys.
+     */
+    private long cell(double p) {
+        return (long) Math.max(-MAX_CELL, Math.min(MAX_CELL, Math.floor(p * inverseCellSize)));
+    }
+
+    /**
+     * Gets the key of the cell containing a position.
+     *
+     * @throws IllegalArgumentException When the position lies outside the range of cell keys
+     */
+    private long key(double x, double y, double z) {
+        final double cx = Math.floor(x * inverseCellSize);
+        final double cy = Math.floor(y * inverseCellSize);
+        final double cz = Math.floor(z * inverseCellSize);
+
+        // Negated comparisons also reject NaN
+        if (!(Math.abs(cx) <= MAX_CELL && Math.abs(cy) <= MAX_CELL && Math.abs(cz) <= MAX_CELL)) {
+            throw new IllegalArgumentException("Position is out of range: (" + x + ", " + y + ", " + z + ")");
+        }
+
+        return pack((long) cx, (long) cy, (long) cz);
+    }
+
+    private static long pack(long cx, long cy, long cz) {
+        return (cx & KEY_MASK) << (2 * KEY_BITS) | (cy & KEY_MASK) << KEY_BITS | (cz & KEY_MASK);
+    }
+
+    /**
+     * Adds an object to the front of the list of a cell.
+     */
+    private void link(int id, long key) {
+        final int slot = slot(key);
+
+        prev[id] = NONE;
+        cellOf[id] = key;
+
+        if (used[slot]) {
+            final int head = heads[slot];
+            prev[head] = id;
+            next[id] = head;
+            heads[slot] = id;
+            return;
+        }
+
+        keys[slot] = key;
+        heads[slot] = id;
+        used[slot] = true;
+        next[id] = NONE;
+
+        if (++cells > threshold) rehash(used.length << 1);
+    }
+
+    /**
+     * Removes an object from the list of its cell, removing the cell once it is empty.
+     */
+    private void unlink(int id) {
+        final int p = prev[id];
+        final int n = next[id];
+
+        if (n != NONE) prev[n] = p;
+
+        if (p != NONE) {
+            next[p] = n;
+            return;
+        }
+
+        final int slot = find(cellOf[id]);
+
+        if (n != NONE) {
+            heads[slot] = n;
+        } else {
+            vacate(slot);
+        }
+    }
+
+    //
+    // Hashing
+    //
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) h;
+    }
+
+    private void allocateCells(int capacity) {
+        keys = new long[capacity];
+        heads = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Finds the slot of given cell.
+     *
+     * @return Slot of the cell, or {@code -1} if the cell is empty
+     */
+    private int find(long key) {
+        for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the slot of given cell, or the empty slot where it should be inserted.
+     */
+    private int slot(long key) {
+        int i = hash(key) & mask;
+
+        while (used[i]) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+
+        return i;
+    }
+
+    /**
+     * Empties given slot, shifting later cells of the same probe run back so that no tombstones are needed.
+     */
+    private void vacate(int slot) {
+        int gap = slot;
+
+        for (int i = (gap + 1) & mask; used[i]; i = (i + 1) & mask) {
+            final int home = hash(keys[i]) & mask;
+
+            // Move the cell into the gap unless its home lies cyclically in (gap, i]
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                heads[gap] = heads[i];
+                gap = i;
+            }
+        }
+
+        used[gap] = false;
+        cells--;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldHeads = heads;
+        final boolean[] oldUsed = used;
+
+        allocateCells(capacity);
+
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+
+            int j = hash(oldKeys[i]) & mask;
+            while (used[j]) j = (j + 1) & mask;
+
+            keys[j] = oldKeys[i];
+            heads[j] = oldHeads[i];
+            used[j] = true;
+        }
+    }
+
+    //
+    // Serialization
+    //
+
+    /**
+     * Serializes this grid to a string.
+     *
+     * @return Stringified grid
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "SpatialHashGrid{" +
+                "cellSize=" + cellSize +
+                ", size=" + size +
+                ", cells=" + cells +
+                '}';
+    }
+}